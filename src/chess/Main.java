@@ -22,7 +22,6 @@ public class Main {
     private static Game currentGame;
     private static ConsoleUI ui;
     private static UndoManager undoManager;
-    private static CheckDetector checkDetector;
     private static GameController gameController;
     private static CommandHandler commandHandler;
     private static Scanner scanner;
@@ -37,13 +36,13 @@ public class Main {
     public static void main(String[] args) {
         ui = new ConsoleUI();
         undoManager = new UndoManager();
-        checkDetector = new CheckDetector();
         gameController = new GameController();
         commandHandler = new CommandHandler(gameController, ui);
         scanner = new Scanner(System.in);
         random = new Random();
 
         ui.displayWelcome();
+        startEnginePool();
         
         // Main game loop
         boolean running = true;
@@ -59,6 +58,25 @@ public class Main {
         ui.close();
     }
 
+    /**
+     * Pre-starts the engine pool if the engine settings ask for one, so bot games
+     * start without waiting for an engine process. Without Stockfish, bot games use
+     * the built-in engine and no pool is needed.
+     */
+    private static void startEnginePool() {
+        try {
+            EngineOptions options = gameController.getEngineOptions();
+            if (options.getPoolSize() > 0) {
+                EnginePool pool = EnginePool.stockfish(options.getPoolSize(), options);
+                gameController.setEnginePool(pool);
+                Runtime.getRuntime().addShutdownHook(new Thread(pool::close));
+                ui.displayMessage("Started " + pool.getSize() + " engine process(es)");
+            }
+        } catch (EngineException | IOException e) {
+            ui.displayError("Engine pool not started: " + e.getMessage());
+        }
+    }
+
     /**
      * Displays the main menu and handles user input.
      */
@@ -170,6 +188,26 @@ public class Main {
         String colorChoice = scanner.nextLine().trim();
         Color playerColor = colorChoice.equals("2") ? Color.BLACK : Color.WHITE;
 
+        System.out.println("\nTime control?");
+        System.out.println("1. Blitz 5+0 (default)");
+        System.out.println("2. Rapid 10+5");
+        System.out.println("3. Classical 90+30");
+        System.out.print("Choice: ");
+
+        String timeChoice = scanner.nextLine().trim();
+        TimeControl timeControl;
+        switch (timeChoice) {
+            case "2":
+                timeControl = TimeControl.rapidGame();
+                break;
+            case "3":
+                timeControl = TimeControl.classicalGame();
+                break;
+            default:
+                timeControl = TimeControl.blitzGame();
+        }
+        gameController.setTimeControl(timeControl);
+
         try {
             boolean botPlayFirst = gameController.setupBotGame(playerName, difficulty, playerColor);
             currentGame = gameController.getGame();
@@ -177,7 +215,11 @@ public class Main {
             undoManager.clear();
             undoManager.saveSnapshot(currentGame);  // Save initial board state
             ui.displayMessage("Bot initialized (" + difficulty.name() + ")");
-            ui.displayMessage("Game started! Playing as " + playerColor.name() + " against " + difficulty.name() + " bot");
+            if (gameController.getLastBenchmark() != null) {
+                ui.displayMessage("Engine benchmark: " + gameController.getLastBenchmark());
+            }
+            ui.displayMessage("Game started! Playing as " + playerColor.name() + " against " + difficulty.name()
+                    + " bot (" + timeControl + ")");
             ui.displayBoard(currentGame.getBoard());
 
             // If bot plays as white, make bot move immediately
@@ -261,6 +303,9 @@ public class Main {
             currentGame.getGameState() != GameState.CHECK) {
             ui.displayGameResult(currentGame);
             currentGame = null;
+            if (gameController.isBotInitialized() && gameController.getBotNodesPerSecond() > 0) {
+                ui.displayMessage(String.format("Bot searched %,d nodes/s on average", gameController.getBotNodesPerSecond()));
+            }
             try {
                 gameController.shutdownBot();
             } catch (Exception e) {
@@ -319,6 +364,10 @@ public class Main {
                 handleUndo();
                 return true;
 
+            case REDO:
+                handleRedo();
+                return true;
+
             case RESIGN:
                 handleResign();
                 return true;
@@ -335,6 +384,11 @@ public class Main {
                 ui.displayHelp();
                 return true;
 
+            case PERFT:
+            case DIVIDE:
+                handlePerft(cmdType == CommandType.DIVIDE, fullInput);
+                return true;
+
             case EXIT:
                 if (currentGame != null && ui.promptYesNo("Game in progress. Exit anyway?")) {
                     currentGame = null;
@@ -348,6 +402,38 @@ public class Main {
         }
     }
 
+    /**
+     * Runs perft (or divide) on a copy of the current position and reports node counts and speed.
+     * Usage: perft &lt;depth&gt; or divide &lt;depth&gt;
+     */
+    private static void handlePerft(boolean divide, String fullInput) {
+        String[] parts = fullInput.trim().split("\\s+");
+        int depth;
+        try {
+            depth = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+        } catch (NumberFormatException e) {
+            depth = 0;
+        }
+        if (depth < 1) {
+            ui.displayError("Usage: " + parts[0] + " <depth>  (depth >= 1)");
+            return;
+        }
+
+        Board board = currentGame.getBoard().copy();
+        Color side = currentGame.getCurrentPlayerColor();
+        if (divide) {
+            long start = System.nanoTime();
+            long total = 0;
+            for (java.util.Map.Entry<String, Long> entry : Perft.divide(board, side, depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+            ui.displayMessage("divide(" + depth + "): " + new Perft.Result(total, System.nanoTime() - start));
+        } else {
+            ui.displayMessage("perft(" + depth + "): " + Perft.run(board, side, depth, false));
+        }
+    }
+
     /**
      * Handles a move input.
      * Supports: e2e4, e2 e4, Nf3, e4
@@ -389,7 +475,7 @@ public class Main {
                 String to = moveInput.substring(2, 4);
                 
                 // Extract promotion piece if present (e.g., "=Q")
-                Class<?> promotionType = null;
+                PieceType promotionType = null;
                 if (moveInput.length() > 4 && moveInput.charAt(4) == '=') {
                     char promotionChar = moveInput.charAt(5);
                     promotionType = chess.rules.PromotionHandler.parsePromotionChoice(promotionChar);
@@ -454,6 +540,27 @@ public class Main {
         }
     }
 
+    /**
+     * Handles redo command.
+     * Replays the moves taken back by undo: the player's own move and the opponent's reply.
+     */
+    private static void handleRedo() {
+        int replayed = 0;
+        while (replayed < 2 && currentGame.canRedo()) {
+            undoManager.saveSnapshot(currentGame);
+            currentGame.redo();
+            replayed++;
+        }
+        if (replayed > 0) {
+            updateGameState();
+            ui.displayRedoSuccess();
+            ui.displayBoard(currentGame.getBoard());
+            ui.displayGameInfo(currentGame);
+        } else {
+            ui.displayRedoUnavailable();
+        }
+    }
+
     /**
      * Handles resignation.
      */
@@ -598,6 +705,9 @@ public class Main {
                     result = "1/2-1/2";
                     break;
                 case DRAW_BY_AGREEMENT:
+                case DRAW_BY_REPETITION:
+                case DRAW_BY_FIFTY_MOVE_RULE:
+                case DRAW_BY_INSUFFICIENT_MATERIAL:
                     result = "1/2-1/2";
                     break;
                 case RESIGNATION:
@@ -631,10 +741,14 @@ public class Main {
                 pgnMoves.add(new PgnMoveRecord(moveNumber, whiteSan, blackSan));
             }
 
-            // Write to file
+            // Write to file, with the explored sidelines if there are any
             PgnWriter writer = new PgnWriter();
             File file = new File(filename);
-            writer.write(file, metadata, pgnMoves);
+            if (currentGame.getVariationTree().hasVariations()) {
+                writer.write(file, metadata, currentGame.getVariationTree());
+            } else {
+                writer.write(file, metadata, pgnMoves);
+            }
 
             ui.displayMessage("Game saved to " + filename);
 
@@ -646,7 +760,7 @@ public class Main {
     }
 
     /**
-     * Updates game state (check, checkmate, stalemate).
+     * Updates game state (check, checkmate, stalemate, draws by rule).
      */
     private static void updateGameState() {
         if (currentGame == null) {
@@ -655,26 +769,12 @@ public class Main {
 
         // Do not overwrite terminal/non-position states set by commands (resign/draw) or previous resolution.
         GameState existing = currentGame.getGameState();
-        if (existing == GameState.RESIGNATION ||
-            existing == GameState.DRAW_BY_AGREEMENT ||
-            existing == GameState.TIME_OUT ||
-            existing == GameState.CHECKMATE ||
-            existing == GameState.STALEMATE) {
+        if (existing != GameState.ONGOING && existing != GameState.CHECK) {
             return;
         }
 
         Color toMove = currentGame.getCurrentPlayerColor();
-        Board board = currentGame.getBoard();
-
-        if (checkDetector.isCheckmate(board, toMove)) {
-            currentGame.setGameState(GameState.CHECKMATE);
-        } else if (checkDetector.isStalemate(board, toMove)) {
-            currentGame.setGameState(GameState.STALEMATE);
-        } else if (checkDetector.isKingInCheck(board, toMove)) {
-            currentGame.setGameState(GameState.CHECK);
-        } else {
-            currentGame.setGameState(GameState.ONGOING);
-        }
+        currentGame.setGameState(currentGame.getStatus().getState());
 
         // Check for time out
         if (currentGame.getClock().isFlagFallen(toMove)) {
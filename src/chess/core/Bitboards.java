@@ -0,0 +1,135 @@
+package chess.core;
+
+/**
+ * Bitboard storage for the board: one 64-bit mask per piece kind and color,
+ * plus per-color and total occupancy masks.
+ * Square indices run from 0 (a1) to 63 (h8), i.e. index = rank * 8 + file.
+ * Mutators are package-private; the Board keeps this in sync with its pieces.
+ */
+public final class Bitboards {
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    private static final int KIND_COUNT = 6;
+
+    // Index = color * KIND_COUNT + kind
+    private final long[] pieces;
+    private final long[] colors;
+    private long occupied;
+
+    /**
+     * Creates an empty set of bitboards.
+     */
+    Bitboards() {
+        this.pieces = new long[2 * KIND_COUNT];
+        this.colors = new long[2];
+        this.occupied = 0L;
+    }
+
+    /**
+     * Sets the bit for a piece on a square.
+     */
+    void add(int kind, Color color, int square) {
+        long bit = 1L << square;
+        pieces[color.ordinal() * KIND_COUNT + kind] |= bit;
+        colors[color.ordinal()] |= bit;
+        occupied |= bit;
+    }
+
+    /**
+     * Clears the bit for a piece on a square.
+     */
+    void remove(int kind, Color color, int square) {
+        long bit = ~(1L << square);
+        pieces[color.ordinal() * KIND_COUNT + kind] &= bit;
+        colors[color.ordinal()] &= bit;
+        occupied &= bit;
+    }
+
+    /**
+     * Moves a piece bit from one square to another. The destination must be empty.
+     */
+    void move(int kind, Color color, int from, int to) {
+        long mask = (1L << from) | (1L << to);
+        pieces[color.ordinal() * KIND_COUNT + kind] ^= mask;
+        colors[color.ordinal()] ^= mask;
+        occupied ^= mask;
+    }
+
+    /**
+     * Clears every bitboard.
+     */
+    void clear() {
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = 0L;
+        }
+        colors[0] = 0L;
+        colors[1] = 0L;
+        occupied = 0L;
+    }
+
+    /**
+     * Copies all masks from another instance into this one.
+     */
+    void copyFrom(Bitboards other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+        colors[0] = other.colors[0];
+        colors[1] = other.colors[1];
+        occupied = other.occupied;
+    }
+
+    /**
+     * Gets the mask of all pieces of a kind and color.
+     *
+     * @param kind the piece kind (PAWN..KING)
+     * @param color the piece color
+     * @return the bitboard of matching pieces
+     */
+    public long getPieces(int kind, Color color) {
+        return pieces[color.ordinal() * KIND_COUNT + kind];
+    }
+
+    /**
+     * Gets the mask of all squares occupied by one color.
+     *
+     * @param color the color
+     * @return the occupancy bitboard for that color
+     */
+    public long getOccupancy(Color color) {
+        return colors[color.ordinal()];
+    }
+
+    /**
+     * Gets the mask of all occupied squares.
+     *
+     * @return the combined occupancy bitboard
+     */
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * Checks whether a square is occupied.
+     *
+     * @param square the square index (0-63)
+     * @return true if any piece stands on the square
+     */
+    public boolean isOccupied(int square) {
+        return (occupied & (1L << square)) != 0;
+    }
+
+    /**
+     * Converts a file and rank to a square index.
+     *
+     * @param file the file (0-7)
+     * @param rank the rank (0-7)
+     * @return the square index (0-63)
+     */
+    public static int square(int file, int rank) {
+        return rank * 8 + file;
+    }
+}
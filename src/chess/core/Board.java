@@ -1,42 +1,80 @@
 package chess.core;
 
 import chess.pieces.*;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Represents the 8x8 chess board.
  * The board is the single source of truth for the game state.
+ * Pieces are stored in a 64-entry square array (index = rank * 8 + file),
+ * mirrored by per-kind/per-color bitboards for fast occupancy and attack queries.
+ * A Zobrist hash of the position (pieces, side to move, castling rights and
+ * en passant file) is maintained incrementally by every mutator; run with
+ * assertions enabled (-ea) to check it against a full recomputation after each change.
+ * The halfmove clock and fullmove number are tracked by makeMove/unmakeMove as in FEN,
+ * but are not part of the hash.
  */
 public class Board {
     private static final int BOARD_SIZE = 8;
+    private static final int SQUARE_COUNT = 64;
+
+    // Castling rights bitmask, derived from whether the king and corner rooks have moved
+    public static final int CASTLE_WHITE_KING_SIDE = 1;
+    public static final int CASTLE_WHITE_QUEEN_SIDE = 2;
+    public static final int CASTLE_BLACK_KING_SIDE = 4;
+    public static final int CASTLE_BLACK_QUEEN_SIDE = 8;
     
-    // Map from Position to Piece. Null position means empty square.
-    private final Map<Position, Piece> pieces;
+    // Square index to Piece. Null entry means empty square.
+    private final Piece[] squares;
+    private final Bitboards bitboards;
     
     private Position whiteKingPosition;
     private Position blackKingPosition;
+    
+    // Square skipped by the last double pawn push, or null
+    private Position enPassantSquare;
+
+    private Color sideToMove;
+
+    // Plies since the last capture or pawn move, and the FEN move number
+    private int halfmoveClock;
+    private int fullmoveNumber;
+
+    // Zobrist key of the current position (see Zobrist)
+    private long hash;
 
     /**
      * Creates a new board with all pieces in starting position.
      */
     public Board() {
-        this.pieces = new HashMap<>();
+        this.squares = new Piece[SQUARE_COUNT];
+        this.bitboards = new Bitboards();
         this.whiteKingPosition = null;
         this.blackKingPosition = null;
+        this.enPassantSquare = null;
+        this.sideToMove = Color.WHITE;
         initializeStartingPosition();
     }
 
     /**
      * Private constructor for deep copy.
      */
-    private Board(Map<Position, Piece> pieces, Position whiteKingPos, Position blackKingPos) {
-        this.pieces = new HashMap<>(pieces.size());
-        for (Map.Entry<Position, Piece> entry : pieces.entrySet()) {
-            this.pieces.put(entry.getKey(), entry.getValue());
+    private Board(Board source) {
+        this.squares = new Piece[SQUARE_COUNT];
+        this.bitboards = new Bitboards();
+        for (int square = 0; square < SQUARE_COUNT; square++) {
+            Piece piece = source.squares[square];
+            if (piece != null) {
+                this.squares[square] = piece.copy(positionOf(square));
+            }
         }
-        this.whiteKingPosition = whiteKingPos;
-        this.blackKingPosition = blackKingPos;
+        this.bitboards.copyFrom(source.bitboards);
+        this.whiteKingPosition = source.whiteKingPosition;
+        this.blackKingPosition = source.blackKingPosition;
+        this.enPassantSquare = source.enPassantSquare;
+        this.sideToMove = source.sideToMove;
+        this.halfmoveClock = source.halfmoveClock;
+        this.fullmoveNumber = source.fullmoveNumber;
+        this.hash = source.hash;
     }
 
     /**
@@ -44,40 +82,41 @@ public class Board {
      */
     private void initializeStartingPosition() {
         // Clear the board
-        pieces.clear();
+        sideToMove = Color.WHITE;
+        clear();
 
         // White pieces (rank 0 and 1)
-        placePiece(new Rook(Color.WHITE, new Position(0, 0)), new Position(0, 0));
-        placePiece(new Knight(Color.WHITE, new Position(1, 0)), new Position(1, 0));
-        placePiece(new Bishop(Color.WHITE, new Position(2, 0)), new Position(2, 0));
-        placePiece(new Queen(Color.WHITE, new Position(3, 0)), new Position(3, 0));
-        King whiteKing = new King(Color.WHITE, new Position(4, 0));
-        placePiece(whiteKing, new Position(4, 0));
-        this.whiteKingPosition = new Position(4, 0);
-        placePiece(new Bishop(Color.WHITE, new Position(5, 0)), new Position(5, 0));
-        placePiece(new Knight(Color.WHITE, new Position(6, 0)), new Position(6, 0));
-        placePiece(new Rook(Color.WHITE, new Position(7, 0)), new Position(7, 0));
+        placePiece(new Rook(Color.WHITE, Position.of(0, 0)), Position.of(0, 0));
+        placePiece(new Knight(Color.WHITE, Position.of(1, 0)), Position.of(1, 0));
+        placePiece(new Bishop(Color.WHITE, Position.of(2, 0)), Position.of(2, 0));
+        placePiece(new Queen(Color.WHITE, Position.of(3, 0)), Position.of(3, 0));
+        King whiteKing = new King(Color.WHITE, Position.of(4, 0));
+        placePiece(whiteKing, Position.of(4, 0));
+        this.whiteKingPosition = Position.of(4, 0);
+        placePiece(new Bishop(Color.WHITE, Position.of(5, 0)), Position.of(5, 0));
+        placePiece(new Knight(Color.WHITE, Position.of(6, 0)), Position.of(6, 0));
+        placePiece(new Rook(Color.WHITE, Position.of(7, 0)), Position.of(7, 0));
 
         // White pawns
         for (int file = 0; file < BOARD_SIZE; file++) {
-            placePiece(new Pawn(Color.WHITE, new Position(file, 1)), new Position(file, 1));
+            placePiece(new Pawn(Color.WHITE, Position.of(file, 1)), Position.of(file, 1));
         }
 
         // Black pieces (rank 7 and 6)
-        placePiece(new Rook(Color.BLACK, new Position(0, 7)), new Position(0, 7));
-        placePiece(new Knight(Color.BLACK, new Position(1, 7)), new Position(1, 7));
-        placePiece(new Bishop(Color.BLACK, new Position(2, 7)), new Position(2, 7));
-        placePiece(new Queen(Color.BLACK, new Position(3, 7)), new Position(3, 7));
-        King blackKing = new King(Color.BLACK, new Position(4, 7));
-        placePiece(blackKing, new Position(4, 7));
-        this.blackKingPosition = new Position(4, 7);
-        placePiece(new Bishop(Color.BLACK, new Position(5, 7)), new Position(5, 7));
-        placePiece(new Knight(Color.BLACK, new Position(6, 7)), new Position(6, 7));
-        placePiece(new Rook(Color.BLACK, new Position(7, 7)), new Position(7, 7));
+        placePiece(new Rook(Color.BLACK, Position.of(0, 7)), Position.of(0, 7));
+        placePiece(new Knight(Color.BLACK, Position.of(1, 7)), Position.of(1, 7));
+        placePiece(new Bishop(Color.BLACK, Position.of(2, 7)), Position.of(2, 7));
+        placePiece(new Queen(Color.BLACK, Position.of(3, 7)), Position.of(3, 7));
+        King blackKing = new King(Color.BLACK, Position.of(4, 7));
+        placePiece(blackKing, Position.of(4, 7));
+        this.blackKingPosition = Position.of(4, 7);
+        placePiece(new Bishop(Color.BLACK, Position.of(5, 7)), Position.of(5, 7));
+        placePiece(new Knight(Color.BLACK, Position.of(6, 7)), Position.of(6, 7));
+        placePiece(new Rook(Color.BLACK, Position.of(7, 7)), Position.of(7, 7));
 
         // Black pawns
         for (int file = 0; file < BOARD_SIZE; file++) {
-            placePiece(new Pawn(Color.BLACK, new Position(file, 6)), new Position(file, 6));
+            placePiece(new Pawn(Color.BLACK, Position.of(file, 6)), Position.of(file, 6));
         }
     }
 
@@ -91,7 +130,27 @@ public class Board {
         if (pos == null) {
             return null;
         }
-        return pieces.get(pos);
+        return squares[squareOf(pos)];
+    }
+
+    /**
+     * Gets the piece on a square index, or null if empty.
+     * 
+     * @param square the square index (0-63, where 0=a1 and 63=h8)
+     * @return the piece on the square, or null if the square is empty
+     */
+    public Piece getPiece(int square) {
+        return squares[square];
+    }
+
+    /**
+     * Gets the bitboards mirroring the current piece placement.
+     * The returned instance is live and must be treated as read-only.
+     * 
+     * @return the board's bitboards
+     */
+    public Bitboards getBitboards() {
+        return bitboards;
     }
 
     /**
@@ -106,10 +165,15 @@ public class Board {
         if (piece == null || position == null) {
             throw new IllegalArgumentException("Piece and position must not be null");
         }
-        pieces.put(position, piece);
+        long stateBefore = stateKey();
+        int square = squareOf(position);
+        removeAt(square);
+        addAt(piece, square);
+        hash ^= stateBefore ^ stateKey();
+        assert hashIsConsistent();
         
         // Update king positions if needed
-        if (piece.getClass().getSimpleName().equals("King")) {
+        if (piece.getType() == PieceType.KING) {
             if (piece.getColor() == Color.WHITE) {
                 this.whiteKingPosition = position;
             } else {
@@ -127,7 +191,10 @@ public class Board {
         if (position == null) {
             return;
         }
-        pieces.remove(position);
+        long stateBefore = stateKey();
+        removeAt(squareOf(position));
+        hash ^= stateBefore ^ stateKey();
+        assert hashIsConsistent();
     }
 
     /**
@@ -144,24 +211,19 @@ public class Board {
             throw new IllegalArgumentException("Positions must not be null");
         }
 
-        Piece piece = pieces.get(from);
+        int fromSquare = squareOf(from);
+        int toSquare = squareOf(to);
+        Piece piece = squares[fromSquare];
         if (piece == null) {
             throw new IllegalArgumentException("No piece at position " + from);
         }
 
-        Piece captured = pieces.get(to);
-        pieces.remove(from);
-        piece.setPosition(to);
-        pieces.put(to, piece);
-
-        // Update king positions
-        if (piece.getClass().getSimpleName().equals("King")) {
-            if (piece.getColor() == Color.WHITE) {
-                this.whiteKingPosition = to;
-            } else {
-                this.blackKingPosition = to;
-            }
-        }
+        long stateBefore = stateKey();
+        Piece captured = squares[toSquare];
+        removeAt(toSquare);
+        relocate(piece, fromSquare, toSquare, to);
+        hash ^= stateBefore ^ stateKey();
+        assert hashIsConsistent();
 
         return captured;
     }
@@ -217,7 +279,7 @@ public class Board {
         if (pos == null) {
             return false;
         }
-        return pieces.get(pos) == null;
+        return !bitboards.isOccupied(squareOf(pos));
     }
 
     /**
@@ -228,8 +290,10 @@ public class Board {
      * @return true if the square contains an enemy piece, false otherwise
      */
     public boolean isEnemyPiece(Position pos, Color color) {
-        Piece piece = getPiece(pos);
-        return piece != null && piece.getColor() != color;
+        if (pos == null) {
+            return false;
+        }
+        return (bitboards.getOccupancy(color.opposite()) & (1L << squareOf(pos))) != 0;
     }
 
     /**
@@ -240,8 +304,10 @@ public class Board {
      * @return true if the square contains a friendly piece, false otherwise
      */
     public boolean isFriendlyPiece(Position pos, Color color) {
-        Piece piece = getPiece(pos);
-        return piece != null && piece.getColor() == color;
+        if (pos == null) {
+            return false;
+        }
+        return (bitboards.getOccupancy(color) & (1L << squareOf(pos))) != 0;
     }
 
     /**
@@ -258,19 +324,449 @@ public class Board {
      * @return a new Board instance that is a deep copy of this board
      */
     public Board copy() {
-        Map<Position, Piece> copiedPieces = new HashMap<>();
-        for (Map.Entry<Position, Piece> entry : pieces.entrySet()) {
-            copiedPieces.put(entry.getKey(), entry.getValue().copy(entry.getKey()));
-        }
-        return new Board(copiedPieces, whiteKingPosition, blackKingPosition);
+        return new Board(this);
     }
 
     /**
-     * Clears the entire board by removing all pieces and resetting king positions.
+     * Clears the entire board by removing all pieces and resetting king positions
+     * and the move counters.
      */
     public void clear() {
-        pieces.clear();
+        for (int square = 0; square < SQUARE_COUNT; square++) {
+            squares[square] = null;
+        }
+        bitboards.clear();
         whiteKingPosition = null;
         blackKingPosition = null;
+        enPassantSquare = null;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        hash = Zobrist.compute(this);
+    }
+
+    /**
+     * Gets the en passant target square created by the last double pawn push.
+     * 
+     * @return the square a capturing pawn would move to, or null if none
+     */
+    public Position getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    /**
+     * Sets the en passant target square (used when loading positions).
+     * 
+     * @param square the en passant target square, or null for none
+     */
+    public void setEnPassantSquare(Position square) {
+        long stateBefore = stateKey();
+        this.enPassantSquare = square;
+        hash ^= stateBefore ^ stateKey();
+        assert hashIsConsistent();
+    }
+
+    /**
+     * Gets the color to move in this position.
+     * makeMove hands the turn to the other side; Game keeps it in sync with its current player.
+     * 
+     * @return the color to move
+     */
+    public Color getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the color to move (used when loading positions and by Game when switching players).
+     * 
+     * @param color the color to move
+     * @throws IllegalArgumentException if color is null
+     */
+    public void setSideToMove(Color color) {
+        if (color == null) {
+            throw new IllegalArgumentException("Color must not be null");
+        }
+        long stateBefore = stateKey();
+        if (color != sideToMove) {
+            hash ^= Zobrist.blackToMove();
+        }
+        this.sideToMove = color;
+        hash ^= stateBefore ^ stateKey();
+        assert hashIsConsistent();
+    }
+
+    /**
+     * Gets the number of plies since the last capture or pawn move (for the fifty-move rule).
+     * 
+     * @return the halfmove clock
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * Sets the halfmove clock (used when loading positions).
+     * 
+     * @param halfmoveClock plies since the last capture or pawn move
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void setHalfmoveClock(int halfmoveClock) {
+        if (halfmoveClock < 0) {
+            throw new IllegalArgumentException("Halfmove clock cannot be negative: " + halfmoveClock);
+        }
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    /**
+     * Gets the fullmove number: 1 at the start, incremented after each Black move.
+     * 
+     * @return the fullmove number
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * Sets the fullmove number (used when loading positions).
+     * 
+     * @param fullmoveNumber the move number, starting at 1
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public void setFullmoveNumber(int fullmoveNumber) {
+        if (fullmoveNumber < 1) {
+            throw new IllegalArgumentException("Fullmove number must be positive: " + fullmoveNumber);
+        }
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    /**
+     * Gets the castling rights of the position, derived from the king and corner
+     * rooks standing unmoved on their original squares.
+     * 
+     * @return a bitmask of the CASTLE_* constants
+     */
+    public int getCastlingRights() {
+        int rights = 0;
+        if (isUnmoved(4, PieceType.KING, Color.WHITE)) {
+            if (isUnmoved(7, PieceType.ROOK, Color.WHITE)) {
+                rights |= CASTLE_WHITE_KING_SIDE;
+            }
+            if (isUnmoved(0, PieceType.ROOK, Color.WHITE)) {
+                rights |= CASTLE_WHITE_QUEEN_SIDE;
+            }
+        }
+        if (isUnmoved(60, PieceType.KING, Color.BLACK)) {
+            if (isUnmoved(63, PieceType.ROOK, Color.BLACK)) {
+                rights |= CASTLE_BLACK_KING_SIDE;
+            }
+            if (isUnmoved(56, PieceType.ROOK, Color.BLACK)) {
+                rights |= CASTLE_BLACK_QUEEN_SIDE;
+            }
+        }
+        return rights;
+    }
+
+    /**
+     * Gets the file of the en passant square if the side to move has a pawn that
+     * could capture onto it. A double push that no pawn can answer does not count,
+     * so otherwise identical positions hash (and repeat) the same.
+     * 
+     * @return the en passant file (0-7), or -1 if no en passant capture is available
+     */
+    public int getEnPassantCaptureFile() {
+        if (enPassantSquare == null) {
+            return -1;
+        }
+        int file = enPassantSquare.getFile();
+        int rank = enPassantSquare.getRank() + (sideToMove == Color.WHITE ? -1 : 1);
+        if (rank < 0 || rank >= BOARD_SIZE) {
+            return -1;
+        }
+        long pawns = bitboards.getPieces(Bitboards.PAWN, sideToMove);
+        long adjacent = 0L;
+        if (file > 0) {
+            adjacent |= 1L << Bitboards.square(file - 1, rank);
+        }
+        if (file < BOARD_SIZE - 1) {
+            adjacent |= 1L << Bitboards.square(file + 1, rank);
+        }
+        return (pawns & adjacent) != 0 ? file : -1;
+    }
+
+    /**
+     * Gets the Zobrist hash of the position: pieces, side to move, castling rights
+     * and en passant file. Equal positions have equal hashes; unequal positions
+     * collide only with negligible probability.
+     * 
+     * @return the 64-bit position key
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Applies a move in place and returns the information needed to take it back.
+     * 
+     * @param move the move to apply
+     * @return a new undo record for {@link #unmakeMove(UndoInfo)}
+     * @throws IllegalArgumentException if the move is null or there is no piece at its source
+     * @see #makeMove(Move, UndoInfo)
+     */
+    public UndoInfo makeMove(Move move) {
+        UndoInfo undo = new UndoInfo();
+        makeMove(move, undo);
+        return undo;
+    }
+
+    /**
+     * Applies a move in place, recording what changed into a caller-supplied undo record.
+     * Handles captures, en passant (a pawn moving diagonally onto an empty square),
+     * castling (a king moving two files, which also moves the corner rook),
+     * promotion (when the move carries a promotion target) and the en passant square.
+     * 
+     * @param move the move to apply
+     * @param undo the record to fill; its previous contents are discarded
+     * @throws IllegalArgumentException if the move is null or there is no piece at its source
+     */
+    public void makeMove(Move move, UndoInfo undo) {
+        if (move == null || undo == null) {
+            throw new IllegalArgumentException("Move and undo record must not be null");
+        }
+        makeMove(PackedMove.fromMove(this, move), undo);
+    }
+
+    /**
+     * Applies a packed move in place, recording what changed into a caller-supplied undo record.
+     * The move flags decide how castling, en passant, double pushes and promotions are played.
+     * 
+     * @param move the packed move to apply (see {@link PackedMove})
+     * @param undo the record to fill; its previous contents are discarded
+     * @throws IllegalArgumentException if there is no piece at the move's source square
+     */
+    public void makeMove(int move, UndoInfo undo) {
+        int fromSquare = PackedMove.from(move);
+        int toSquare = PackedMove.to(move);
+        int flags = PackedMove.flags(move);
+        Piece piece = squares[fromSquare];
+        if (piece == null) {
+            throw new IllegalArgumentException("No piece at position " + positionOf(fromSquare));
+        }
+
+        undo.reset();
+        undo.fromSquare = fromSquare;
+        undo.toSquare = toSquare;
+        undo.movedPiece = piece;
+        undo.movedFromPosition = piece.position;
+        undo.movedHadMoved = piece.hasMoved;
+        undo.previousEnPassantSquare = enPassantSquare;
+        undo.previousHalfmoveClock = halfmoveClock;
+        undo.previousHash = hash;
+        hash ^= stateKey();
+
+        // En passant captures the pawn beside the source square, not on the destination
+        int capturedSquare = flags == PackedMove.EN_PASSANT
+                ? (fromSquare & ~7) | (toSquare & 7)
+                : toSquare;
+        Piece captured = squares[capturedSquare];
+        if (captured != null) {
+            undo.capturedPiece = captured;
+            undo.capturedSquare = capturedSquare;
+            removeAt(capturedSquare);
+        }
+        halfmoveClock = captured != null || piece.type == PieceType.PAWN ? 0 : halfmoveClock + 1;
+        if (sideToMove == Color.BLACK) {
+            fullmoveNumber++;
+        }
+
+        relocate(piece, fromSquare, toSquare, positionOf(toSquare));
+
+        // Castling: the corner rook jumps next to the king
+        if (flags == PackedMove.KING_CASTLE || flags == PackedMove.QUEEN_CASTLE) {
+            boolean kingSide = flags == PackedMove.KING_CASTLE;
+            int rank = fromSquare >>> 3;
+            int rookFromSquare = Bitboards.square(kingSide ? 7 : 0, rank);
+            int rookToSquare = Bitboards.square(kingSide ? 5 : 3, rank);
+            Piece rook = squares[rookFromSquare];
+            if (rook != null) {
+                undo.castlingRook = rook;
+                undo.rookFromSquare = rookFromSquare;
+                undo.rookToSquare = rookToSquare;
+                undo.rookFromPosition = rook.position;
+                undo.rookHadMoved = rook.hasMoved;
+                relocate(rook, rookFromSquare, rookToSquare, positionOf(rookToSquare));
+            }
+        }
+
+        // Promotion replaces the pawn on its destination square
+        if (PackedMove.isPromotion(move)) {
+            Piece promoted = createPiece(PackedMove.promotionKind(move), piece.getColor(), piece.position);
+            removeAt(toSquare);
+            addAt(promoted, toSquare);
+            undo.promotedPiece = promoted;
+        }
+
+        // A double pawn push exposes the skipped square to en passant
+        if (flags == PackedMove.DOUBLE_PUSH) {
+            enPassantSquare = positionOf((fromSquare + toSquare) >>> 1);
+        } else {
+            enPassantSquare = null;
+        }
+
+        sideToMove = sideToMove.opposite();
+        hash ^= Zobrist.blackToMove() ^ stateKey();
+        assert hashIsConsistent();
+    }
+
+    /**
+     * Takes back a move previously applied with makeMove, restoring captured pieces,
+     * the castling rook, the promoted pawn, movement flags and king tracking.
+     * Moves must be unmade in the reverse order they were made.
+     * 
+     * @param undo the record filled by the matching makeMove call
+     * @throws IllegalArgumentException if the undo record is null or empty
+     */
+    public void unmakeMove(UndoInfo undo) {
+        if (undo == null || undo.movedPiece == null) {
+            throw new IllegalArgumentException("Undo record must not be null or empty");
+        }
+
+        Piece piece = undo.movedPiece;
+
+        if (undo.promotedPiece != null) {
+            removeAt(undo.toSquare);
+            addAt(piece, undo.toSquare);
+        }
+
+        if (undo.castlingRook != null) {
+            Piece rook = undo.castlingRook;
+            relocate(rook, undo.rookToSquare, undo.rookFromSquare, undo.rookFromPosition);
+            rook.hasMoved = undo.rookHadMoved;
+        }
+
+        relocate(piece, undo.toSquare, undo.fromSquare, undo.movedFromPosition);
+        piece.hasMoved = undo.movedHadMoved;
+
+        if (undo.capturedPiece != null) {
+            addAt(undo.capturedPiece, undo.capturedSquare);
+        }
+
+        enPassantSquare = undo.previousEnPassantSquare;
+        halfmoveClock = undo.previousHalfmoveClock;
+        sideToMove = sideToMove.opposite();
+        if (sideToMove == Color.BLACK) {
+            fullmoveNumber--;
+        }
+        hash = undo.previousHash;
+        assert hashIsConsistent();
+    }
+
+    /**
+     * Moves a piece between two empty-destination squares, keeping the array,
+     * bitboards, the piece's own position and king tracking in sync.
+     */
+    private void relocate(Piece piece, int fromSquare, int toSquare, Position to) {
+        int kind = kindOf(piece);
+        squares[fromSquare] = null;
+        squares[toSquare] = piece;
+        bitboards.move(kind, piece.getColor(), fromSquare, toSquare);
+        hash ^= Zobrist.piece(kind, piece.getColor(), fromSquare) ^ Zobrist.piece(kind, piece.getColor(), toSquare);
+        piece.setPosition(to);
+        if (piece.getType() == PieceType.KING) {
+            if (piece.getColor() == Color.WHITE) {
+                this.whiteKingPosition = to;
+            } else {
+                this.blackKingPosition = to;
+            }
+        }
+    }
+
+    /**
+     * Removes whatever piece stands on a square from the array and bitboards.
+     */
+    private void removeAt(int square) {
+        Piece existing = squares[square];
+        if (existing != null) {
+            int kind = kindOf(existing);
+            bitboards.remove(kind, existing.getColor(), square);
+            hash ^= Zobrist.piece(kind, existing.getColor(), square);
+            squares[square] = null;
+        }
+    }
+
+    /**
+     * Puts a piece on an empty square in the array and bitboards.
+     */
+    private void addAt(Piece piece, int square) {
+        int kind = kindOf(piece);
+        squares[square] = piece;
+        bitboards.add(kind, piece.getColor(), square);
+        hash ^= Zobrist.piece(kind, piece.getColor(), square);
+    }
+
+    /**
+     * Gets the hash contribution of everything except piece placement and side to move:
+     * castling rights and the en passant file. Mutators XOR it out before a change and
+     * back in afterwards, since either can change as a side effect of moving pieces.
+     */
+    private long stateKey() {
+        long key = Zobrist.castling(getCastlingRights());
+        int file = getEnPassantCaptureFile();
+        return file >= 0 ? key ^ Zobrist.enPassant(file) : key;
+    }
+
+    /**
+     * Checks whether a square holds an unmoved piece of a type and color.
+     */
+    private boolean isUnmoved(int square, PieceType type, Color color) {
+        Piece piece = squares[square];
+        return piece != null && piece.type == type && piece.getColor() == color && !piece.hasMoved;
+    }
+
+    /**
+     * Compares the incremental hash with a full recomputation (only called from assertions).
+     */
+    private boolean hashIsConsistent() {
+        long expected = Zobrist.compute(this);
+        if (hash != expected) {
+            throw new AssertionError("Incremental hash " + Long.toHexString(hash)
+                    + " does not match recomputed " + Long.toHexString(expected));
+        }
+        return true;
+    }
+
+    /**
+     * Converts a square index to a position.
+     */
+    private static Position positionOf(int square) {
+        return Position.of(square);
+    }
+
+    /**
+     * Creates a new piece of a bitboard kind (used for promotions).
+     */
+    private static Piece createPiece(int kind, Color color, Position position) {
+        switch (kind) {
+            case Bitboards.KNIGHT:
+                return new Knight(color, position);
+            case Bitboards.BISHOP:
+                return new Bishop(color, position);
+            case Bitboards.ROOK:
+                return new Rook(color, position);
+            default:
+                return new Queen(color, position);
+        }
+    }
+
+    /**
+     * Converts a position to its square index (rank * 8 + file).
+     */
+    private static int squareOf(Position pos) {
+        return pos.index();
+    }
+
+    /**
+     * Maps a piece to its bitboard kind index (PieceType ordinals match the kinds).
+     */
+    private static int kindOf(Piece piece) {
+        return piece.type.ordinal();
     }
 }
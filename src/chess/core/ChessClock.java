@@ -1,10 +1,12 @@
 package chess.core;
 
 /**
- * Represents a chess clock for tracking per-player time.
+ * Represents a chess clock for tracking per-player time, with an optional
+ * increment added after every completed move (Fischer increment).
  */
 public class ChessClock {
     private final long initialTimeMillis;
+    private final long incrementMillis;
     private long whiteRemainingMillis;
     private long blackRemainingMillis;
     
@@ -17,10 +19,24 @@ public class ChessClock {
      * @param initialTimeMillis the initial time in milliseconds for each player
      */
     public ChessClock(long initialTimeMillis) {
+        this(initialTimeMillis, 0);
+    }
+
+    /**
+     * Creates a chess clock with initial time and an increment per move.
+     * 
+     * @param initialTimeMillis the initial time in milliseconds for each player
+     * @param incrementMillis the time added after each move in milliseconds
+     */
+    public ChessClock(long initialTimeMillis, long incrementMillis) {
         if (initialTimeMillis <= 0) {
             throw new IllegalArgumentException("Initial time must be positive");
         }
+        if (incrementMillis < 0) {
+            throw new IllegalArgumentException("Increment cannot be negative");
+        }
         this.initialTimeMillis = initialTimeMillis;
+        this.incrementMillis = incrementMillis;
         this.whiteRemainingMillis = initialTimeMillis;
         this.blackRemainingMillis = initialTimeMillis;
         this.currentPlayer = null;
@@ -64,6 +80,47 @@ public class ChessClock {
         lastStartTime = 0;
     }
 
+    /**
+     * Adds the increment to a player's clock after they completed a move.
+     * A player whose flag has fallen gets nothing.
+     * 
+     * @return the time added in milliseconds, for removeIncrement if the move is taken back
+     */
+    public long addIncrement(Color player) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player color must not be null");
+        }
+        if (player == Color.WHITE && whiteRemainingMillis > 0) {
+            whiteRemainingMillis += incrementMillis;
+            return incrementMillis;
+        } else if (player == Color.BLACK && blackRemainingMillis > 0) {
+            blackRemainingMillis += incrementMillis;
+            return incrementMillis;
+        }
+        return 0;
+    }
+
+    /**
+     * Takes back time that addIncrement added for a move that was undone.
+     */
+    public void removeIncrement(Color player, long creditedMillis) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player color must not be null");
+        }
+        if (player == Color.WHITE) {
+            whiteRemainingMillis = Math.max(0, whiteRemainingMillis - creditedMillis);
+        } else {
+            blackRemainingMillis = Math.max(0, blackRemainingMillis - creditedMillis);
+        }
+    }
+
+    /**
+     * Gets the time added after each move in milliseconds.
+     */
+    public long getIncrement() {
+        return incrementMillis;
+    }
+
     /**
      * Gets the remaining time for a player in milliseconds.
      */
@@ -1,8 +1,10 @@
 package chess.core;
 
+import chess.engine.FenUtil;
 import chess.rules.*;
 import chess.util.AlgebraicNotationUtil;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -15,10 +17,26 @@ public class Game {
     private final ChessClock clock;
     
     private List<Move> moveHistory;
+    // Board changes of each move in moveHistory (null if the move was only recorded)
+    private final List<UndoInfo> undoLog = new ArrayList<>();
+    // Increment credited to the mover for each move in moveHistory, taken back on undo
+    private long[] creditedIncrements = new long[256];
+    // Position hash after each move in moveHistory, index 0 holding the starting position
+    private long[] positionHashes = new long[256];
+    // Every line explored in this game; moveHistory is the path to its cursor
+    private VariationTree variations;
     private Color currentPlayer;
     private GameState gameState;
     private boolean drawOfferPending;
     private Color drawOfferer;
+    
+    // Reused buffer for legal move generation
+    private final MoveList legalMoves = new MoveList();
+
+    // Status of the current position, computed on first use after each move
+    private final GameStatusEvaluator statusEvaluator = new GameStatusEvaluator();
+    private GameStatusEvaluator.Status status;
+    private int legalMoveCount = -1;
 
     /**
      * Creates a new game with two players and a clock.
@@ -28,6 +46,21 @@ public class Game {
      * @param clock the chess clock
      */
     public Game(Player whitePlayer, Player blackPlayer, ChessClock clock) {
+        this(whitePlayer, blackPlayer, clock, null);
+    }
+
+    /**
+     * Creates a new game with two players and a clock, starting from a FEN position.
+     * The side to move, castling rights, en passant square and move counters are taken
+     * from the FEN, and the clock starts for the side to move.
+     * 
+     * @param whitePlayer the white player
+     * @param blackPlayer the black player
+     * @param clock the chess clock
+     * @param fenString the starting position in FEN, or null for the standard starting position
+     * @throws IllegalArgumentException if an argument is null or the FEN is malformed
+     */
+    public Game(Player whitePlayer, Player blackPlayer, ChessClock clock, String fenString) {
         if (whitePlayer == null || blackPlayer == null || clock == null) {
             throw new IllegalArgumentException("Players and clock must not be null");
         }
@@ -41,18 +74,27 @@ public class Game {
         this.clock = clock;
         
         this.moveHistory = new ArrayList<>();
-        this.currentPlayer = Color.WHITE;
+        this.currentPlayer = fenString == null ? Color.WHITE : FenUtil.loadFEN(board, fenString);
+        this.variations = new VariationTree(fenString);
+        this.positionHashes[0] = board.hash();
         this.gameState = GameState.ONGOING;
         this.drawOfferPending = false;
         this.drawOfferer = null;
         
-        // Start the clock for the initial player (White)
-        this.clock.startTurn(Color.WHITE);
+        // Start the clock for the player to move
+        this.clock.startTurn(currentPlayer);
     }
 
+    /**
+     * Creates a new game starting from a FEN position, with a five-minute clock.
+     * 
+     * @param whitePlayer the white player
+     * @param blackPlayer the black player
+     * @param fenString the starting position in FEN
+     * @throws IllegalArgumentException if an argument is null or the FEN is malformed
+     */
     public Game(Player whitePlayer, Player blackPlayer, String fenString) {
-        this(whitePlayer, blackPlayer, new ChessClock(5 * 60 * 1000));
-        // FEN parsing not yet fully implemented; would need FenUtil enhancement
+        this(whitePlayer, blackPlayer, new ChessClock(5 * 60 * 1000), fenString);
     }
 
     /**
@@ -118,6 +160,15 @@ public class Game {
         return new ArrayList<>(moveHistory);
     }
 
+    /**
+     * Gets the number of moves (plies) played, without copying the history.
+     * 
+     * @return the length of the move history
+     */
+    public int getMoveCount() {
+        return moveHistory.size();
+    }
+
     /**
      * Gets the current state of the game.
      * 
@@ -127,6 +178,54 @@ public class Game {
         return gameState;
     }
 
+    /**
+     * Gets the status of the current position: whether the current player is in
+     * check and whether it is checkmate, stalemate or a draw by repetition, the
+     * fifty-move rule or insufficient material. It is computed once per position
+     * and cached until a move is played or undone through this game.
+     * 
+     * @return the position status for the current player
+     */
+    public GameStatusEvaluator.Status getStatus() {
+        if (status == null) {
+            status = statusEvaluator.evaluate(board, currentPlayer, getRepetitionCount());
+        }
+        return status;
+    }
+
+    /**
+     * Counts how many times the current position has occurred in this game, this
+     * time included. A capture or pawn move can never be undone, so only the
+     * positions since the last one (the halfmove clock) with the same side to move
+     * are compared, by hash.
+     * 
+     * @return the number of occurrences, at least 1
+     */
+    public int getRepetitionCount() {
+        int ply = moveHistory.size();
+        long hash = positionHashes[ply];
+        int first = Math.max(0, ply - board.getHalfmoveClock());
+        int count = 1;
+        for (int i = ply - 2; i >= first; i -= 2) {
+            if (positionHashes[i] == hash) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of legal moves of the current player, cached like getStatus().
+     * 
+     * @return the legal move count, 0 in checkmate or stalemate
+     */
+    public int getLegalMoveCount() {
+        if (legalMoveCount < 0) {
+            legalMoveCount = statusEvaluator.countLegalMoves(board, currentPlayer);
+        }
+        return legalMoveCount;
+    }
+
     /**
      * Sets the game state.
      * 
@@ -190,15 +289,40 @@ public class Game {
      * @throws IllegalArgumentException if move is null
      */
     public void addMove(Move move) {
+        addMove(move, null, true);
+    }
+
+    /**
+     * Adds a move to the history together with the board changes it made, so that
+     * undoLastMove can take it back. A live move is timed and earns the increment;
+     * a replayed move (redo, loading a saved game) only hands the clock over.
+     */
+    private void addMove(Move move, UndoInfo undo, boolean live) {
         if (move == null) {
             throw new IllegalArgumentException("Move must not be null");
         }
         
-        // Stop the clock for the current player
-        clock.stopTurn();
+        // Stop the clock for the current player, who earns the increment for this move
+        long credited = 0;
+        if (live) {
+            clock.stopTurn();
+            credited = clock.addIncrement(currentPlayer);
+        }
+        if (moveHistory.size() == creditedIncrements.length) {
+            creditedIncrements = Arrays.copyOf(creditedIncrements, creditedIncrements.length * 2);
+        }
+        creditedIncrements[moveHistory.size()] = credited;
         
         moveHistory.add(move);
+        undoLog.add(undo);
+        variations.play(move);
+        status = null;
+        legalMoveCount = -1;
         switchPlayer();
+        if (moveHistory.size() == positionHashes.length) {
+            positionHashes = Arrays.copyOf(positionHashes, positionHashes.length * 2);
+        }
+        positionHashes[moveHistory.size()] = board.hash();
         
         // Start the clock for the new current player
         clock.startTurn(currentPlayer);
@@ -217,18 +341,31 @@ public class Game {
      */
     public void switchPlayer() {
         currentPlayer = currentPlayer.opposite();
+        board.setSideToMove(currentPlayer);
     }
 
     /**
      * Undoes the last move from the move history and reverts the current player.
+     * A move played through one of the applyMove methods is also taken back on the
+     * board, in constant time, from the changes recorded when it was made; a move
+     * only added with addMove(Move) leaves the board as it is. The increment the
+     * move earned is taken back from its player's clock.
      * Also clears any pending draw offer.
      */
     public void undoLastMove() {
         if (!moveHistory.isEmpty()) {
             // Stop the clock for the current player
             clock.stopTurn();
+            clock.removeIncrement(currentPlayer.opposite(), creditedIncrements[moveHistory.size() - 1]);
             
             moveHistory.remove(moveHistory.size() - 1);
+            UndoInfo undo = undoLog.remove(undoLog.size() - 1);
+            if (undo != null) {
+                board.unmakeMove(undo);
+            }
+            variations.back();
+            status = null;
+            legalMoveCount = -1;
             switchPlayer();
             drawOfferPending = false;
             drawOfferer = null;
@@ -238,6 +375,70 @@ public class Game {
         }
     }
 
+    /**
+     * Gets the tree of every line played in this game, including lines that were
+     * undone; the current position is its cursor.
+     * 
+     * @return the variation tree
+     */
+    public VariationTree getVariationTree() {
+        return variations;
+    }
+
+    /**
+     * Checks whether a move that was undone can be played again.
+     * 
+     * @return true if the variation tree continues past the current position
+     */
+    public boolean canRedo() {
+        return variations.getRedoMove() != null;
+    }
+
+    /**
+     * Plays again the move that was last undone from the current position, or the
+     * mainline continuation. Undone lines are kept in the variation tree, so redo
+     * works across any number of undos until a different move is played.
+     * A replayed move earns no increment (see replayMove).
+     * 
+     * @return true if a move was replayed, false if there is nothing to redo
+     */
+    public boolean redo() {
+        Move move = variations.getRedoMove();
+        if (move == null) {
+            return false;
+        }
+        addMove(move, board.makeMove(move), false);
+        return true;
+    }
+
+    /**
+     * Moves to a ply of the current line, undoing or redoing moves as needed.
+     * 
+     * @param ply the number of moves from the starting position
+     * @throws IllegalArgumentException if the current line has no such ply
+     */
+    public void jumpToPly(int ply) {
+        if (ply < 0 || ply > moveHistory.size() + variations.getRedoDepth()) {
+            throw new IllegalArgumentException("No ply " + ply + " in the current line");
+        }
+        while (moveHistory.size() > ply) {
+            undoLastMove();
+        }
+        while (moveHistory.size() < ply) {
+            redo();
+        }
+    }
+
+    /**
+     * Promotes the variation being played one level towards the mainline
+     * (see VariationTree#promoteVariation).
+     * 
+     * @return true if a variation was promoted
+     */
+    public boolean promoteVariation() {
+        return variations.promoteVariation();
+    }
+
     /**
      * Applies a move from coordinate notation (e.g., "e2e4").
      * 
@@ -259,6 +460,18 @@ public class Game {
      * @throws IllegalArgumentException if move is invalid
      */
     public void applyMove(Position from, Position to) {
+        applyMove(from, to, null);
+    }
+
+    /**
+     * Applies a move from positions, promoting a pawn that reaches the last rank.
+     * 
+     * @param from the source position
+     * @param to the destination position
+     * @param promotion the piece to promote to, or null for a queen; ignored unless the move promotes
+     * @throws IllegalArgumentException if move is invalid
+     */
+    public void applyMove(Position from, Position to, PieceType promotion) {
         Piece piece = board.getPiece(from);
         if (piece == null) {
             throw new IllegalArgumentException("No piece at " + from);
@@ -271,24 +484,26 @@ public class Game {
         
         // Handle en passant: if a pawn moves diagonally to an empty square,
         // the captured piece is on a different square
-        if (capturedPiece == null && piece instanceof chess.pieces.Pawn && 
+        if (capturedPiece == null && piece.getType() == PieceType.PAWN && 
             from.getFile() != to.getFile() && from.getRank() != to.getRank()) {
             // This might be en passant - check for pawn on same rank as source, same file as destination
-            Position capturedPawnPos = new Position(to.getFile(), from.getRank());
+            Position capturedPawnPos = Position.of(to.getFile(), from.getRank());
             capturedPiece = board.getPiece(capturedPawnPos);
         }
         
-        Move move = new Move.Builder(from, to, piece)
-                .capturedPiece(capturedPiece)
-                .build();
+        Move.Builder builder = new Move.Builder(from, to, piece)
+                .capturedPiece(capturedPiece);
+        if (chess.rules.PromotionHandler.shouldPromote(piece, to)) {
+            builder.promotion(promotion != null ? promotion : PieceType.QUEEN);
+        }
+        Move move = builder.build();
 
         if (!MoveValidator.isValidMove(board, move, currentPlayer)) {
             throw new IllegalArgumentException("Illegal move: " + from + to);
         }
 
-        // Apply the move
-        board.movePiece(from, to);
-        addMove(move);
+        // Apply the move (handles en passant and castling rook movement)
+        addMove(move, board.makeMove(move), true);
     }
 
     /**
@@ -305,44 +520,26 @@ public class Game {
             throw new IllegalArgumentException("Illegal move");
         }
 
-        // Handle castling specially - need to move both king and rook
-        if (move.isCastling()) {
-            Position kingFrom = move.getFrom();
-            Position kingTo = move.getTo();
-            
-            // Determine rook positions
-            int rookFromFile = kingFrom.getFile() < kingTo.getFile() ? 7 : 0; // King-side vs Queen-side
-            Position rookFrom = new Position(rookFromFile, kingFrom.getRank());
-            int rookToFile = kingFrom.getFile() < kingTo.getFile() ? 5 : 3; // Rook lands at f1/f8 or d1/d8
-            Position rookTo = new Position(rookToFile, kingFrom.getRank());
-            
-            // Move both pieces
-            board.movePiece(kingFrom, kingTo);
-            board.movePiece(rookFrom, rookTo);
-        } else {
-            // Normal move
-            board.movePiece(move.getFrom(), move.getTo());
-            
-            // Handle en passant: remove the captured pawn if it's on a different square
-            if (move.isCapture() && move.getCapturedPiece() instanceof chess.pieces.Pawn) {
-                if (move.getFrom().getFile() != move.getTo().getFile() && 
-                    move.getFrom().getRank() != move.getTo().getRank()) {
-                    // This is a diagonal pawn move
-                    Position capturedPawnPos = new Position(move.getTo().getFile(), move.getFrom().getRank());
-                    if (board.getPiece(capturedPawnPos) == move.getCapturedPiece()) {
-                        // This is en passant - remove the pawn
-                        board.removePiece(capturedPawnPos);
-                    }
-                }
-            }
+        // Castling rook, en passant capture and promotion are handled by the board
+        addMove(move, board.makeMove(move), true);
+    }
+
+    /**
+     * Applies a move that was already played before, such as a move of a saved game
+     * being loaded. It is validated like applyMove(Move), but the clock neither
+     * charges the mover nor credits the increment; it just runs for the other side.
+     * 
+     * @param move the move to replay
+     * @throws IllegalArgumentException if move is invalid
+     */
+    public void replayMove(Move move) {
+        if (move == null) {
+            throw new IllegalArgumentException("Move must not be null");
         }
-        
-        // Handle pawn promotion
-        if (move.isPromotion() && move.getPromotionTarget() != null) {
-            chess.rules.PromotionHandler.promotePawn(board, move.getTo(), move.getPromotionTarget());
+        if (!MoveValidator.isValidMove(board, move, currentPlayer)) {
+            throw new IllegalArgumentException("Illegal move");
         }
-        
-        addMove(move);
+        addMove(move, board.makeMove(move), false);
     }
 
     /**
@@ -405,7 +602,7 @@ public class Game {
         san = san.replace("+", "").replace("#", "");
 
         // Extract promotion if present
-        Class<?> promotionType = null;
+        PieceType promotionType = null;
         int promoteIdx = san.indexOf('=');
         if (promoteIdx >= 0) {
             char promotionChar = san.charAt(promoteIdx + 1);
@@ -427,13 +624,16 @@ public class Game {
         try {
             Position toPos = Position.fromAlgebraic(destSquare);
 
-            // Determine if a piece type is specified
-            String targetPieceLetter = "";
+            // Determine if a piece type is specified (no letter means a pawn move)
+            PieceType targetType = PieceType.PAWN;
             String disambiguation = "";
             
             if (hint.length() > 0 && Character.isUpperCase(hint.charAt(0))) {
                 // Piece type is specified (N, B, R, Q, K)
-                targetPieceLetter = String.valueOf(hint.charAt(0));
+                targetType = PieceType.fromLetter(hint.charAt(0));
+                if (targetType == null || targetType == PieceType.PAWN) {
+                    return null;
+                }
                 disambiguation = hint.substring(1);
             } else if (hint.length() > 0) {
                 // No piece type specified - this is either a pawn move with file (exd4)
@@ -441,84 +641,34 @@ public class Game {
                 disambiguation = hint;
             }
 
-            // Find all pieces that can move to destination
+            // Find all legal moves of the requested piece type that reach the destination
             java.util.List<Move> candidates = new java.util.ArrayList<>();
+            int toSquare = toPos.index();
 
-            for (int f = 0; f < 8; f++) {
-                for (int r = 0; r < 8; r++) {
-                    Position pos = new Position(f, r);
-                    Piece piece = board.getPiece(pos);
-
-                    if (piece == null || piece.getColor() != currentPlayer) {
-                        continue;
-                    }
-
-                    // Get piece type for this piece
-                    String className = piece.getClass().getSimpleName();
-                    String pieceLetter;
-                    switch (className) {
-                        case "Knight":
-                            pieceLetter = "N";
-                            break;
-                        case "Bishop":
-                            pieceLetter = "B";
-                            break;
-                        case "Rook":
-                            pieceLetter = "R";
-                            break;
-                        case "Queen":
-                            pieceLetter = "Q";
-                            break;
-                        case "King":
-                            pieceLetter = "K";
-                            break;
-                        case "Pawn":
-                            pieceLetter = "";
-                            break;
-                        default:
-                            pieceLetter = "";
-                    }
+            MoveGenerator.generateLegalMoves(board, currentPlayer, legalMoves);
+            for (int i = 0; i < legalMoves.size(); i++) {
+                int packed = legalMoves.get(i);
+                if (PackedMove.to(packed) != toSquare) {
+                    continue;
+                }
 
-                    // Filter by piece type if specified
-                    if (!targetPieceLetter.isEmpty()) {
-                        // Piece type specified, only match that piece type
-                        if (!pieceLetter.equals(targetPieceLetter)) {
-                            continue;
-                        }
-                    } else {
-                        // No piece type specified
-                        // For simple moves without capture ("e4", "d5", "f3"), prefer pawns
-                        // For captures with file ("exd4", "axb5"), only pawns
-                        // So: only consider pawns if no piece type is specified
-                        if (!className.equals("Pawn")) {
-                            continue;
-                        }
-                    }
+                // Only the requested piece type: "e4", "exd5" and "e8=Q" are all pawn moves
+                if (board.getPiece(PackedMove.from(packed)).getType() != targetType) {
+                    continue;
+                }
 
-                    // Check if piece can move to destination
-                    if (piece.getLegalDestinations(board).contains(toPos)) {
-                        Piece captured = board.getPiece(toPos);
-                        
-                        // Handle en passant: if a pawn moves diagonally to an empty square,
-                        // the captured piece is on a different square
-                        if (captured == null && piece instanceof chess.pieces.Pawn && 
-                            pos.getFile() != toPos.getFile() && pos.getRank() != toPos.getRank()) {
-                            // This is likely an en passant capture
-                            // The captured pawn is on the same file as destination, same rank as source
-                            Position capturedPos = new Position(toPos.getFile(), pos.getRank());
-                            captured = board.getPiece(capturedPos);
-                        }
-                        
-                        Move move = new Move.Builder(pos, toPos, piece)
-                                .capturedPiece(captured)
-                                .promotion(promotionType)
-                                .build();
-
-                        if (MoveValidator.isValidMove(board, move, currentPlayer)) {
-                            candidates.add(move);
-                        }
+                // Promotions must match the requested piece (queen if none was given)
+                Move candidate = PackedMove.toMove(board, packed);
+                if (candidate.isPromotion()) {
+                    PieceType wanted = promotionType != null ? promotionType : PieceType.QUEEN;
+                    if (candidate.getPromotionTarget() != wanted) {
+                        continue;
                     }
+                } else if (promotionType != null) {
+                    continue;
                 }
+
+                candidates.add(candidate);
             }
 
             // Filter by disambiguation if needed
@@ -558,58 +708,6 @@ public class Game {
                 return candidates.get(0);
             }
 
-            // Special case: Check for en passant if no regular move was found
-            // En passant: a pawn moving diagonally to an empty square
-            // The source must be from a pawn, and there must be an enemy pawn on the same rank as the source
-            if (hint.isEmpty() == false) {
-                // hint contains the source file (e.g., "e" in "exf6")
-                // Try to find a pawn on that file that can do en passant
-                try {
-                    int sourceFile = Character.getNumericValue(hint.charAt(0)) - Character.getNumericValue('a');
-                    if (sourceFile >= 0 && sourceFile <= 7) {
-                        // Look for a white pawn on rank 5 (index 4) or black pawn on rank 4 (index 3)
-                        // These are the only ranks where en passant is possible
-                        int[] possibleRanks = currentPlayer == Color.WHITE ? new int[]{4} : new int[]{3};
-                        
-                        for (int rankIdx : possibleRanks) {
-                            Position pawnPos = new Position(sourceFile, rankIdx);
-                            Piece pawn = board.getPiece(pawnPos);
-                            
-                            if (pawn instanceof chess.pieces.Pawn && pawn.getColor() == currentPlayer) {
-                                // Check if target is diagonal to pawn
-                                int targetFile = toPos.getFile();
-                                int targetRank = toPos.getRank();
-                                int pawnFile = pawnPos.getFile();
-                                int rankDirection = currentPlayer == Color.WHITE ? 1 : -1;
-                                
-                                // En passant target should be one rank forward and one file to the side
-                                if (Math.abs(targetFile - pawnFile) == 1 && 
-                                    targetRank - rankIdx == rankDirection) {
-                                    
-                                    // Check if there's an enemy pawn on the same rank as our pawn
-                                    Position capturedPawnPos = new Position(targetFile, rankIdx);
-                                    Piece capturedPawn = board.getPiece(capturedPawnPos);
-                                    
-                                    if (capturedPawn instanceof chess.pieces.Pawn && capturedPawn.getColor() != currentPlayer) {
-                                        // This is a valid en passant move
-                                        Move enPassantMove = new Move.Builder(pawnPos, toPos, pawn)
-                                                .capturedPiece(capturedPawn)
-                                                .build();
-                                        
-                                        // Validate it
-                                        if (MoveValidator.isValidMove(board, enPassantMove, currentPlayer)) {
-                                            return enPassantMove;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    // Ignore and continue
-                }
-            }
-
             return null;
         } catch (IllegalArgumentException e) {
             return null;
@@ -627,7 +725,7 @@ public class Game {
         }
 
         int targetFile = kingSide ? 7 : 0;
-        Position rookPos = new Position(targetFile, kingPos.getRank());
+        Position rookPos = Position.of(targetFile, kingPos.getRank());
 
         Piece king = board.getPiece(kingPos);
         Piece rook = board.getPiece(rookPos);
@@ -638,7 +736,7 @@ public class Game {
 
         // Castling target position
         int kingNewFile = kingSide ? 6 : 2;
-        Position kingNewPos = new Position(kingNewFile, kingPos.getRank());
+        Position kingNewPos = Position.of(kingNewFile, kingPos.getRank());
 
         return new Move.Builder(kingPos, kingNewPos, king).isCastling(true).build();
     }
@@ -709,8 +807,8 @@ public class Game {
     }
 
     /**
-     * Undoes the last move with full game state restoration.
-     * Note: This method doesn't restore board state; use UndoManager for that.
+     * Undoes the last move, restoring the board (see undoLastMove).
+     * The game state is left as it is; UndoManager restores it as well.
      */
     public void undo() {
         undoLastMove();
@@ -723,6 +821,11 @@ public class Game {
     public void reset() {
         board.reset();
         moveHistory.clear();
+        undoLog.clear();
+        variations = new VariationTree(null);
+        positionHashes[0] = board.hash();
+        status = null;
+        legalMoveCount = -1;
         currentPlayer = Color.WHITE;
         gameState = GameState.ONGOING;
         drawOfferPending = false;
@@ -753,14 +856,12 @@ public class Game {
         Piece piece = move.getMovedPiece();
         
         // Add piece symbol (except for pawns)
-        if (!piece.getClass().getSimpleName().equals("Pawn")) {
-            san.append(getPieceSymbol(piece));
-        }
+        san.append(piece.getType().getSanSymbol());
 
         // Add capture symbol
         if (move.isCapture()) {
             // For pawns, add the file of origin
-            if (piece.getClass().getSimpleName().equals("Pawn")) {
+            if (piece.getType() == PieceType.PAWN) {
                 san.append(AlgebraicNotationUtil.fileToLetter(move.getFrom().getFile()));
             }
             san.append("x");
@@ -772,43 +873,12 @@ public class Game {
         // Add promotion
         if (move.isPromotion() && move.getPromotionTarget() != null) {
             san.append("=");
-            san.append(getPieceSymbol(move.getPromotionTarget()));
+            san.append(move.getPromotionTarget().getSanSymbol());
         }
 
         return san.toString();
     }
 
-    /**
-     * Gets the symbol for a piece class.
-     */
-    private String getPieceSymbol(Piece piece) {
-        if (piece == null) return "";
-        return getPieceSymbol(piece.getClass());
-    }
-
-    /**
-     * Gets the symbol for a piece class.
-     */
-    private String getPieceSymbol(Class<?> pieceClass) {
-        String className = pieceClass.getSimpleName();
-        switch (className) {
-            case "Knight":
-                return "N";
-            case "Bishop":
-                return "B";
-            case "Rook":
-                return "R";
-            case "Queen":
-                return "Q";
-            case "King":
-                return "K";
-            case "Pawn":
-                return "";
-            default:
-                return "?";
-        }
-    }
-
     @Override
     public String toString() {
         return whitePlayer.getName() + " (WHITE) vs " + blackPlayer.getName() + " (BLACK)";
@@ -9,6 +9,9 @@ public enum GameState {
     CHECKMATE,
     STALEMATE,
     DRAW_BY_AGREEMENT,
+    DRAW_BY_REPETITION,
+    DRAW_BY_FIFTY_MOVE_RULE,
+    DRAW_BY_INSUFFICIENT_MATERIAL,
     RESIGNATION,
     TIME_OUT
 }
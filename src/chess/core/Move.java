@@ -14,7 +14,7 @@ public class Move {
     private final boolean isCastling;
     private final boolean isEnPassant;
     private final boolean isPromotion;
-    private final Class<?> promotionTarget;
+    private final PieceType promotionTarget;
 
     /**
      * Private constructor for Move. Use the Builder pattern via the inner Builder class.
@@ -116,10 +116,10 @@ public class Move {
     /**
      * Gets the promotion target piece type if this is a promotion.
      * 
-     * @return the Class of the piece to promote to (Queen, Rook, Bishop, Knight),
+     * @return the type to promote to (QUEEN, ROOK, BISHOP or KNIGHT),
      *         or null if this is not a promotion
      */
-    public Class<?> getPromotionTarget() {
+    public PieceType getPromotionTarget() {
         return promotionTarget;
     }
 
@@ -141,7 +141,7 @@ public class Move {
         private boolean isCastling = false;
         private boolean isEnPassant = false;
         private boolean isPromotion = false;
-        private Class<?> promotionTarget = null;
+        private PieceType promotionTarget = null;
 
         /**
          * Creates a new Move builder with source, destination, and piece.
@@ -195,10 +195,10 @@ public class Move {
          * Sets the pawn promotion target piece type.
          * Automatically sets isPromotion to true if targetPiece is not null.
          * 
-         * @param targetPiece the piece class to promote to (Queen, Rook, Bishop, Knight)
+         * @param targetPiece the type to promote to (QUEEN, ROOK, BISHOP or KNIGHT)
          * @return this builder for chaining
          */
-        public Builder promotion(Class<?> targetPiece) {
+        public Builder promotion(PieceType targetPiece) {
             this.isPromotion = targetPiece != null;
             this.promotionTarget = targetPiece;
             return this;
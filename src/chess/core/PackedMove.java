@@ -0,0 +1,226 @@
+package chess.core;
+
+/**
+ * Compact 16-bit move encoding used on hot paths (move generation, search, perft).
+ * Layout: bits 0-5 source square, bits 6-11 destination square, bits 12-15 flags.
+ * Squares use the board's index scheme (rank * 8 + file).
+ *
+ * Flags:
+ *   0 quiet, 1 double pawn push, 2 king-side castle, 3 queen-side castle,
+ *   4 capture, 5 en passant capture,
+ *   8-11 promotion to knight/bishop/rook/queen, 12-15 the same with capture.
+ */
+public final class PackedMove {
+    public static final int NONE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+
+    private PackedMove() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Encodes a move.
+     *
+     * @param from the source square (0-63)
+     * @param to the destination square (0-63)
+     * @param flags the move flags (see class description)
+     * @return the packed move
+     */
+    public static int of(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    /**
+     * Encodes a promotion.
+     *
+     * @param from the source square
+     * @param to the destination square
+     * @param promotionKind the Bitboards kind to promote to (KNIGHT..QUEEN)
+     * @param capture true if the promotion also captures
+     * @return the packed move
+     */
+    public static int promotion(int from, int to, int promotionKind, boolean capture) {
+        int flags = PROMOTION | (promotionKind - Bitboards.KNIGHT) | (capture ? CAPTURE : 0);
+        return of(from, to, flags);
+    }
+
+    /**
+     * Gets the source square of a move.
+     *
+     * @param move the packed move
+     * @return the source square (0-63)
+     */
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * Gets the destination square of a move.
+     *
+     * @param move the packed move
+     * @return the destination square (0-63)
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * Gets the flags of a move (see class description).
+     *
+     * @param move the packed move
+     * @return the 4-bit flags
+     */
+    public static int flags(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    /**
+     * Checks whether a move captures, including en passant and capturing promotions.
+     *
+     * @param move the packed move
+     * @return true for captures
+     */
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    /**
+     * Checks whether a move is an en passant capture.
+     *
+     * @param move the packed move
+     * @return true for en passant
+     */
+    public static boolean isEnPassant(int move) {
+        return flags(move) == EN_PASSANT;
+    }
+
+    /**
+     * Checks whether a move castles on either side.
+     *
+     * @param move the packed move
+     * @return true for castling
+     */
+    public static boolean isCastling(int move) {
+        int flags = flags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    /**
+     * Checks whether a move promotes a pawn.
+     *
+     * @param move the packed move
+     * @return true for promotions
+     */
+    public static boolean isPromotion(int move) {
+        return (flags(move) & PROMOTION) != 0;
+    }
+
+    /**
+     * Gets the Bitboards kind a promotion produces.
+     *
+     * @param move the packed move
+     * @return KNIGHT, BISHOP, ROOK or QUEEN, or -1 if the move is not a promotion
+     */
+    public static int promotionKind(int move) {
+        return isPromotion(move) ? Bitboards.KNIGHT + (flags(move) & 3) : -1;
+    }
+
+    /**
+     * Formats a move in UCI coordinate notation (e.g., "e2e4", "a7a8q").
+     *
+     * @param move the packed move
+     * @return the UCI string
+     */
+    public static String toUci(int move) {
+        StringBuilder sb = new StringBuilder(5);
+        appendSquare(sb, from(move));
+        appendSquare(sb, to(move));
+        if (isPromotion(move)) {
+            sb.append("nbrq".charAt(flags(move) & 3));
+        }
+        return sb.toString();
+    }
+
+    private static void appendSquare(StringBuilder sb, int square) {
+        sb.append((char) ('a' + (square & 7)));
+        sb.append((char) ('1' + (square >>> 3)));
+    }
+
+    /**
+     * Encodes a Move object against the board it is about to be played on.
+     * Castling, en passant and double pushes are inferred from the board the same
+     * way Board.makeMove always has; promotion is only encoded if the move carries
+     * a promotion target.
+     *
+     * @param board the board before the move
+     * @param move the move to encode
+     * @return the packed move
+     * @throws IllegalArgumentException if there is no piece on the source square
+     */
+    public static int fromMove(Board board, Move move) {
+        Position from = move.getFrom();
+        Position to = move.getTo();
+        int fromSquare = from.index();
+        int toSquare = to.index();
+        Piece piece = board.getPiece(fromSquare);
+        if (piece == null) {
+            throw new IllegalArgumentException("No piece at position " + from);
+        }
+        boolean capture = board.getPiece(toSquare) != null;
+
+        if (piece.getType() == PieceType.KING && Math.abs(to.getFile() - from.getFile()) == 2) {
+            return of(fromSquare, toSquare, to.getFile() > from.getFile() ? KING_CASTLE : QUEEN_CASTLE);
+        }
+        if (piece.getType() == PieceType.PAWN) {
+            if (!capture && from.getFile() != to.getFile()) {
+                return of(fromSquare, toSquare, EN_PASSANT);
+            }
+            PieceType target = move.getPromotionTarget();
+            if (move.isPromotion() && target != null && target.isPromotionTarget()) {
+                return promotion(fromSquare, toSquare, target.ordinal(), capture);
+            }
+            if (Math.abs(to.getRank() - from.getRank()) == 2) {
+                return of(fromSquare, toSquare, DOUBLE_PUSH);
+            }
+        }
+        return of(fromSquare, toSquare, capture ? CAPTURE : QUIET);
+    }
+
+    /**
+     * Builds a Move object for a packed move on the board it is about to be played on.
+     *
+     * @param board the board before the move
+     * @param move the packed move
+     * @return the equivalent Move
+     */
+    public static Move toMove(Board board, int move) {
+        int fromSquare = from(move);
+        int toSquare = to(move);
+        Position from = Position.of(fromSquare);
+        Position to = Position.of(toSquare);
+        Piece piece = board.getPiece(fromSquare);
+
+        Piece captured;
+        if (isEnPassant(move)) {
+            captured = board.getPiece(Bitboards.square(toSquare & 7, fromSquare >>> 3));
+        } else {
+            captured = board.getPiece(toSquare);
+        }
+
+        Move.Builder builder = new Move.Builder(from, to, piece)
+                .capturedPiece(captured)
+                .isCastling(isCastling(move))
+                .isEnPassant(isEnPassant(move));
+        if (isPromotion(move)) {
+            builder.promotion(PieceType.ofKind(promotionKind(move)));
+        }
+        return builder.build();
+    }
+}
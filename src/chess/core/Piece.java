@@ -7,28 +7,43 @@ import java.util.List;
  * Each piece type implements its own movement pattern.
  */
 public abstract class Piece {
+    protected final PieceType type;
     protected Color color;
     protected Position position;
     protected boolean hasMoved;
 
     /**
-     * Constructs a piece with a color and initial position.
+     * Constructs a piece with a type, color and initial position.
      * 
+     * @param type the kind of piece (set by each subclass)
      * @param color the color of the piece
      * @param position the initial position
      */
-    protected Piece(Color color, Position position) {
+    protected Piece(PieceType type, Color color, Position position) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type must not be null");
+        }
         if (color == null) {
             throw new IllegalArgumentException("Color must not be null");
         }
         if (position == null) {
             throw new IllegalArgumentException("Position must not be null");
         }
+        this.type = type;
         this.color = color;
         this.position = position;
         this.hasMoved = false;
     }
 
+    /**
+     * Gets the kind of this piece.
+     * 
+     * @return the piece type
+     */
+    public PieceType getType() {
+        return type;
+    }
+
     /**
      * Gets the color of this piece.
      * 
@@ -68,6 +83,19 @@ public abstract class Piece {
         this.hasMoved = true;
     }
 
+    /**
+     * Overrides the movement history flag without moving the piece.
+     * Used when setting up positions (e.g. from FEN) where castling rights
+     * are expressed by whether the king and rooks have moved.
+     * Set it before placing the piece: the board's hash includes castling rights
+     * and is only updated when the board itself changes.
+     * 
+     * @param hasMoved true to treat the piece as having moved
+     */
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
+
     /**
      * Returns all pseudo-legal destinations for this piece from its current position.
      * Pseudo-legal means: respects piece movement rules, but doesn't check if it leaves
@@ -0,0 +1,85 @@
+package chess.core;
+
+/**
+ * Enum representing the six kinds of chess pieces.
+ * The ordinal of each constant equals the matching Bitboards kind index
+ * (PAWN = 0 ... KING = 5), so a type converts to a kind without a lookup.
+ */
+public enum PieceType {
+    PAWN('P'),
+    KNIGHT('N'),
+    BISHOP('B'),
+    ROOK('R'),
+    QUEEN('Q'),
+    KING('K');
+
+    private static final PieceType[] VALUES = values();
+
+    private final char letter;
+
+    PieceType(char letter) {
+        this.letter = letter;
+    }
+
+    /**
+     * Gets the upper-case letter used for this type in FEN and promotion suffixes.
+     *
+     * @return the letter (P, N, B, R, Q or K)
+     */
+    public char getLetter() {
+        return letter;
+    }
+
+    /**
+     * Gets the prefix used for this type in standard algebraic notation.
+     *
+     * @return the piece letter, or an empty string for pawns
+     */
+    public String getSanSymbol() {
+        return this == PAWN ? "" : String.valueOf(letter);
+    }
+
+    /**
+     * Checks whether a pawn may promote to this type.
+     *
+     * @return true for knight, bishop, rook and queen
+     */
+    public boolean isPromotionTarget() {
+        return this == KNIGHT || this == BISHOP || this == ROOK || this == QUEEN;
+    }
+
+    /**
+     * Gets the type for a Bitboards kind index.
+     *
+     * @param kind the kind index (0-5)
+     * @return the matching type
+     */
+    public static PieceType ofKind(int kind) {
+        return VALUES[kind];
+    }
+
+    /**
+     * Parses a piece letter (case-insensitive).
+     *
+     * @param letter the letter (P, N, B, R, Q or K)
+     * @return the matching type, or null if the letter is not a piece
+     */
+    public static PieceType fromLetter(char letter) {
+        switch (Character.toUpperCase(letter)) {
+            case 'P':
+                return PAWN;
+            case 'N':
+                return KNIGHT;
+            case 'B':
+                return BISHOP;
+            case 'R':
+                return ROOK;
+            case 'Q':
+                return QUEEN;
+            case 'K':
+                return KING;
+            default:
+                return null;
+        }
+    }
+}
@@ -4,24 +4,58 @@ package chess.core;
  * Represents a square on the chess board.
  * File: 0-7 (a-h)
  * Rank: 0-7 (1-8)
+ * Square index: rank * 8 + file (0=a1, 63=h8), matching the board's bitboards.
+ *
+ * Positions are immutable flyweights: there is exactly one instance per square,
+ * obtained through {@link #of(int, int)} or {@link #of(int)}, so move generation
+ * never allocates them.
  */
-public class Position {
+public final class Position {
+    private static final Position[] SQUARES = new Position[64];
+
+    static {
+        for (int square = 0; square < SQUARES.length; square++) {
+            SQUARES[square] = new Position(square & 7, square >>> 3);
+        }
+    }
+
     private final int file;
     private final int rank;
+    private final int index;
+
+    private Position(int file, int rank) {
+        this.file = file;
+        this.rank = rank;
+        this.index = rank * 8 + file;
+    }
 
     /**
-     * Creates a position at the given file and rank.
+     * Gets the position at the given file and rank.
      * 
      * @param file the file (0-7, where 0=a, 1=b, ..., 7=h)
      * @param rank the rank (0-7, where 0=1, 1=2, ..., 7=8)
+     * @return the shared Position instance for that square
      * @throws IllegalArgumentException if position is invalid
      */
-    public Position(int file, int rank) {
+    public static Position of(int file, int rank) {
         if (!isValidCoordinates(file, rank)) {
             throw new IllegalArgumentException("Invalid position: file=" + file + ", rank=" + rank);
         }
-        this.file = file;
-        this.rank = rank;
+        return SQUARES[rank * 8 + file];
+    }
+
+    /**
+     * Gets the position for a square index.
+     * 
+     * @param square the square index (0-63, where 0=a1 and 63=h8)
+     * @return the shared Position instance for that square
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public static Position of(int square) {
+        if (square < 0 || square >= SQUARES.length) {
+            throw new IllegalArgumentException("Invalid square index: " + square);
+        }
+        return SQUARES[square];
     }
 
     /**
@@ -42,6 +76,15 @@ public class Position {
         return rank;
     }
 
+    /**
+     * Gets the square index of this position (rank * 8 + file).
+     * 
+     * @return the square index (0-63)
+     */
+    public int index() {
+        return index;
+    }
+
     /**
      * Checks if the position is within valid board boundaries.
      */
@@ -83,7 +126,7 @@ public class Position {
         int file = fileLetter - 'a';
         int rank = rankLetter - '1';
         
-        return new Position(file, rank);
+        return SQUARES[rank * 8 + file];
     }
 
     private static boolean isValidCoordinates(int file, int rank) {
@@ -92,11 +135,14 @@ public class Position {
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (!(obj instanceof Position)) {
             return false;
         }
         Position other = (Position) obj;
-        return this.file == other.file && this.rank == other.rank;
+        return this.index == other.index;
     }
 
     @Override
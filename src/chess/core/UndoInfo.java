@@ -0,0 +1,87 @@
+package chess.core;
+
+/**
+ * Records everything Board.makeMove changed so that Board.unmakeMove can
+ * restore the previous position exactly: the moved piece and its prior state,
+ * any captured piece (including en passant), the castling rook and the
+ * promoted piece, plus the en passant square, halfmove clock and position hash before the move.
+ * Instances may be reused across calls to avoid allocation on hot paths.
+ */
+public final class UndoInfo {
+    int fromSquare;
+    int toSquare;
+    Piece movedPiece;
+    Position movedFromPosition;
+    boolean movedHadMoved;
+
+    Piece capturedPiece;
+    int capturedSquare;
+
+    Piece castlingRook;
+    int rookFromSquare;
+    int rookToSquare;
+    Position rookFromPosition;
+    boolean rookHadMoved;
+
+    Piece promotedPiece;
+
+    Position previousEnPassantSquare;
+    int previousHalfmoveClock;
+    long previousHash;
+
+    /**
+     * Creates an empty undo record.
+     */
+    public UndoInfo() {
+        reset();
+    }
+
+    /**
+     * Clears all recorded state so the instance can be reused.
+     */
+    void reset() {
+        fromSquare = -1;
+        toSquare = -1;
+        movedPiece = null;
+        movedFromPosition = null;
+        movedHadMoved = false;
+        capturedPiece = null;
+        capturedSquare = -1;
+        castlingRook = null;
+        rookFromSquare = -1;
+        rookToSquare = -1;
+        rookFromPosition = null;
+        rookHadMoved = false;
+        promotedPiece = null;
+        previousEnPassantSquare = null;
+        previousHalfmoveClock = 0;
+        previousHash = 0L;
+    }
+
+    /**
+     * Gets the piece that was moved.
+     *
+     * @return the moved piece
+     */
+    public Piece getMovedPiece() {
+        return movedPiece;
+    }
+
+    /**
+     * Gets the piece removed from the board by the move, if any.
+     *
+     * @return the captured piece, or null if the move was not a capture
+     */
+    public Piece getCapturedPiece() {
+        return capturedPiece;
+    }
+
+    /**
+     * Gets the piece a pawn was promoted to, if any.
+     *
+     * @return the promoted piece, or null if the move was not a promotion
+     */
+    public Piece getPromotedPiece() {
+        return promotedPiece;
+    }
+}
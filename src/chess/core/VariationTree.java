@@ -0,0 +1,241 @@
+package chess.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The moves of a game as a tree: the mainline plus any sidelines explored from it.
+ * Each node is one move and its children are the alternatives that follow it; the
+ * first child continues the mainline and the others are variations. Lines share
+ * their common moves, so exploring a new branch only costs the moves that differ.
+ *
+ * A cursor marks the current position. Playing a move follows the matching child if
+ * there is one and otherwise adds a variation; going back keeps the line, and each
+ * node remembers which child was visited last so it can be followed again (redo).
+ */
+public class VariationTree {
+
+    /**
+     * One move in the tree.
+     */
+    public static final class Node {
+        private final Move move;
+        private final Node parent;
+        private final int ply;
+        private List<Node> children;
+        private int selected;  // Child followed by redo
+
+        private Node(Move move, Node parent) {
+            this.move = move;
+            this.parent = parent;
+            this.ply = parent == null ? 0 : parent.ply + 1;
+        }
+
+        /**
+         * Gets the move that leads to this node.
+         *
+         * @return the move, or null for the root (the starting position)
+         */
+        public Move getMove() {
+            return move;
+        }
+
+        /**
+         * Gets the move this one follows.
+         *
+         * @return the parent node, or null for the root
+         */
+        public Node getParent() {
+            return parent;
+        }
+
+        /**
+         * Gets the number of moves from the starting position to this node.
+         *
+         * @return the ply, 0 for the root
+         */
+        public int getPly() {
+            return ply;
+        }
+
+        /**
+         * Gets the moves that can follow this one, mainline continuation first.
+         *
+         * @return an unmodifiable list of child nodes
+         */
+        public List<Node> getChildren() {
+            return children == null ? Collections.emptyList() : Collections.unmodifiableList(children);
+        }
+
+        /**
+         * Checks whether this move continues its parent's mainline rather than starting a variation.
+         *
+         * @return true for the root and for first children
+         */
+        public boolean isMainline() {
+            return parent == null || parent.children.get(0) == this;
+        }
+
+        private Node find(Move candidate) {
+            if (children != null) {
+                for (int i = 0; i < children.size(); i++) {
+                    Move existing = children.get(i).move;
+                    if (existing.getFrom().equals(candidate.getFrom()) && existing.getTo().equals(candidate.getTo())
+                            && existing.getPromotionTarget() == candidate.getPromotionTarget()) {
+                        selected = i;
+                        return children.get(i);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private Node add(Move candidate) {
+            if (children == null) {
+                children = new ArrayList<>(1);
+            }
+            Node child = new Node(candidate, this);
+            selected = children.size();
+            children.add(child);
+            return child;
+        }
+    }
+
+    private final String startingFen;
+    private final Node root;
+    private Node current;
+
+    /**
+     * Creates an empty tree.
+     *
+     * @param startingFen the starting position in FEN, or null for the standard starting position
+     */
+    public VariationTree(String startingFen) {
+        this.startingFen = startingFen;
+        this.root = new Node(null, null);
+        this.current = root;
+    }
+
+    /**
+     * Gets the position the tree starts from.
+     *
+     * @return the FEN, or null for the standard starting position
+     */
+    public String getStartingFen() {
+        return startingFen;
+    }
+
+    /**
+     * Gets the node of the starting position, from which every line begins.
+     *
+     * @return the root node
+     */
+    public Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets the node of the current position.
+     *
+     * @return the current node, the root before any move
+     */
+    public Node getCurrent() {
+        return current;
+    }
+
+    /**
+     * Moves the cursor forward along a move, adding it as a new variation if it
+     * was not played from the current position before.
+     *
+     * @param move the move played
+     * @return the node of the move
+     * @throws IllegalArgumentException if move is null
+     */
+    public Node play(Move move) {
+        if (move == null) {
+            throw new IllegalArgumentException("Move must not be null");
+        }
+        Node next = current.find(move);
+        current = next != null ? next : current.add(move);
+        return current;
+    }
+
+    /**
+     * Moves the cursor back one move, keeping the line for redo.
+     *
+     * @return true if the cursor moved, false at the root
+     */
+    public boolean back() {
+        if (current == root) {
+            return false;
+        }
+        current = current.parent;
+        return true;
+    }
+
+    /**
+     * Gets the move redo would play: the child of the current node visited last,
+     * or the mainline continuation if none was.
+     *
+     * @return the move, or null at the end of the line
+     */
+    public Move getRedoMove() {
+        List<Node> children = current.children;
+        return children == null ? null : children.get(current.selected).move;
+    }
+
+    /**
+     * Counts the moves redo can replay from the current position.
+     *
+     * @return the number of plies in the line ahead of the cursor
+     */
+    public int getRedoDepth() {
+        int depth = 0;
+        for (Node node = current; node.children != null; node = node.children.get(node.selected)) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Makes the variation containing the current position one level more important:
+     * at the nearest branch point above the cursor where the line is a variation, it
+     * swaps places with the mainline continuation there. Repeat to make it the mainline.
+     *
+     * @return true if a variation was promoted, false if the current line already is the mainline
+     */
+    public boolean promoteVariation() {
+        for (Node node = current; node.parent != null; node = node.parent) {
+            List<Node> siblings = node.parent.children;
+            int index = siblings.indexOf(node);
+            if (index > 0) {
+                Node mainline = siblings.get(0);
+                siblings.set(0, node);
+                siblings.set(index, mainline);
+                if (node.parent.selected == index) {
+                    node.parent.selected = 0;
+                } else if (node.parent.selected == 0) {
+                    node.parent.selected = index;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any sideline was explored.
+     *
+     * @return true if some position has more than one continuation
+     */
+    public boolean hasVariations() {
+        // Any branch point is reachable along the mainline, where the first branch starts
+        for (Node node = root; node.children != null; node = node.children.get(0)) {
+            if (node.children.size() > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,120 @@
+package chess.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hashing keys for board positions.
+ * A position's key is the XOR of one random number per (piece, square), one for
+ * black to move, one per castling-rights combination and one per en passant file.
+ * The Board keeps its key up to date incrementally; {@link #compute(Board)} builds
+ * it from scratch and is used to verify the incremental value.
+ *
+ * Keys come from a fixed seed, so hashes are stable across runs.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5EED_C0FF_EE15_F00DL;
+
+    // Index = (color * 6 + kind) * 64 + square, matching the Bitboards kind/color layout
+    private static final long[] PIECE_SQUARE = new long[12 * 64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < PIECE_SQUARE.length; i++) {
+            PIECE_SQUARE[i] = random.nextLong();
+        }
+        // Each castling combination is the XOR of its individual rights, so losing one
+        // right changes the key the same way regardless of the others
+        long[] rights = new long[4];
+        for (int i = 0; i < rights.length; i++) {
+            rights[i] = random.nextLong();
+        }
+        for (int mask = 0; mask < CASTLING.length; mask++) {
+            for (int i = 0; i < rights.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    CASTLING[mask] ^= rights[i];
+                }
+            }
+        }
+        for (int i = 0; i < EN_PASSANT_FILE.length; i++) {
+            EN_PASSANT_FILE[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Gets the key for a piece of a kind and color on a square.
+     *
+     * @param kind the Bitboards kind (PAWN..KING)
+     * @param color the piece color
+     * @param square the square index (0-63)
+     * @return the key
+     */
+    public static long piece(int kind, Color color, int square) {
+        return PIECE_SQUARE[((color.ordinal() * 6 + kind) << 6) | square];
+    }
+
+    /**
+     * Gets the key for a set of castling rights.
+     *
+     * @param rights the rights bitmask (see Board.CASTLE_* constants)
+     * @return the key
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * Gets the key for an en passant capture being available on a file.
+     *
+     * @param file the file (0-7)
+     * @return the key
+     */
+    public static long enPassant(int file) {
+        return EN_PASSANT_FILE[file];
+    }
+
+    /**
+     * Gets the key toggled when black is to move.
+     *
+     * @return the key
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    /**
+     * Computes a board's key from scratch.
+     *
+     * @param board the board
+     * @return the Zobrist key of the position
+     */
+    public static long compute(Board board) {
+        Bitboards bitboards = board.getBitboards();
+        long hash = 0L;
+        for (Color color : Color.values()) {
+            for (int kind = Bitboards.PAWN; kind <= Bitboards.KING; kind++) {
+                long pieces = bitboards.getPieces(kind, color);
+                while (pieces != 0) {
+                    hash ^= piece(kind, color, Long.numberOfTrailingZeros(pieces));
+                    pieces &= pieces - 1;
+                }
+            }
+        }
+        if (board.getSideToMove() == Color.BLACK) {
+            hash ^= BLACK_TO_MOVE;
+        }
+        hash ^= CASTLING[board.getCastlingRights()];
+        int file = board.getEnPassantCaptureFile();
+        if (file >= 0) {
+            hash ^= EN_PASSANT_FILE[file];
+        }
+        return hash;
+    }
+}
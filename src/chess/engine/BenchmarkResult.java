@@ -0,0 +1,78 @@
+package chess.engine;
+
+/**
+ * Outcome of an engine's startup benchmark: how many nodes it searched in how long,
+ * with the settings it was running under.
+ */
+public final class BenchmarkResult {
+    private final String engineName;
+    private final EngineOptions options;
+    private final long nodes;
+    private final long elapsedMs;
+
+    /**
+     * Creates a BenchmarkResult.
+     *
+     * @param engineName the name of the engine that ran the benchmark
+     * @param options the settings the engine was configured with
+     * @param nodes the number of nodes searched
+     * @param elapsedMs the wall-clock time taken in milliseconds
+     */
+    public BenchmarkResult(String engineName, EngineOptions options, long nodes, long elapsedMs) {
+        this.engineName = engineName;
+        this.options = options;
+        this.nodes = nodes;
+        this.elapsedMs = elapsedMs;
+    }
+
+    /**
+     * Gets the name of the engine that ran the benchmark.
+     *
+     * @return the engine name
+     */
+    public String getEngineName() {
+        return engineName;
+    }
+
+    /**
+     * Gets the settings the engine was configured with.
+     *
+     * @return the engine options
+     */
+    public EngineOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Gets the number of nodes searched.
+     *
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the wall-clock time the benchmark took.
+     *
+     * @return the elapsed milliseconds
+     */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Gets the search speed.
+     *
+     * @return nodes per second (0 if the run was too short to measure)
+     */
+    public long getNodesPerSecond() {
+        return elapsedMs > 0 ? nodes * 1000 / elapsedMs : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d nodes in %,d ms (%,d nodes/s) with %s",
+                engineName, nodes, elapsedMs, getNodesPerSecond(), options);
+    }
+}
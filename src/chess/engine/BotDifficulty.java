@@ -73,6 +73,35 @@ public enum BotDifficulty {
         }
     }
 
+    /**
+     * Gets the most search threads worth giving the engine at this difficulty.
+     * Lower levels are handicapped by skill level anyway and gain nothing from more cores.
+     * 
+     * @return the thread cap
+     */
+    public int getMaxThreads() {
+        switch (this) {
+            case BEGINNER:
+            case NOVICE:
+            case INTERMEDIATE:
+                return 1;
+            case ADVANCED:
+                return 4;
+            default:
+                return EngineOptions.MAX_THREADS;
+        }
+    }
+
+    /**
+     * Adapts configured engine settings to this difficulty by capping the thread count.
+     * 
+     * @param options the configured settings
+     * @return the settings to use at this difficulty
+     */
+    public EngineOptions limitOptions(EngineOptions options) {
+        return options.withMaxThreads(getMaxThreads());
+    }
+
     /**
      * Returns a user-friendly description of the difficulty.
      */
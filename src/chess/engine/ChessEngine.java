@@ -4,6 +4,8 @@ import chess.core.Board;
 import chess.core.Color;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Generic interface for anything that can produce chess moves (Stockfish, random bot, minimax bot, etc.)
@@ -31,6 +33,67 @@ public interface ChessEngine extends AutoCloseable {
      */
     default void setSkillLevel(int level) throws IOException { /* optional */ }
 
+    /**
+     * Applies resource settings such as threads and hash size (optional method).
+     * Engines apply the settings they support and ignore the rest.
+     * 
+     * @param options the settings to apply
+     * @throws IOException if communication with engine fails
+     */
+    default void configure(EngineOptions options) throws IOException { /* optional */ }
+
+    /**
+     * Searches a fixed position for a fixed time to measure the engine's speed
+     * under its current settings (optional method).
+     * 
+     * @param durationMs how long to search in milliseconds
+     * @return the nodes searched and the time taken
+     * @throws IOException if the engine does not support benchmarking or the run fails
+     */
+    default BenchmarkResult benchmark(long durationMs) throws IOException {
+        throw new IOException(getName() + " does not support benchmarking");
+    }
+
+    /**
+     * Resets per-game state such as hash tables before a new game (optional method).
+     * 
+     * @throws IOException if communication with engine fails
+     */
+    default void newGame() throws IOException { /* optional */ }
+
+    /**
+     * Checks that the engine is running and responsive.
+     * 
+     * @return true if the engine can accept a search now
+     */
+    default boolean isReady() {
+        return true;
+    }
+
+    /**
+     * Registers a listener for search progress reports (optional method). Engines that
+     * do not report progress ignore it.
+     * 
+     * @param listener the listener, called on the engine's thread
+     */
+    default void addSearchInfoListener(SearchInfoListener listener) { /* optional */ }
+
+    /**
+     * Removes a listener registered with {@link #addSearchInfoListener(SearchInfoListener)}.
+     * 
+     * @param listener the listener
+     */
+    default void removeSearchInfoListener(SearchInfoListener listener) { /* optional */ }
+
+    /**
+     * Gets a display name for the engine, used to name bot players.
+     * 
+     * @return the engine name
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
     /**
      * Calculates and returns the best move for a given position.
      * The move is returned in UCI format (e.g., "e2e4", "g8f6", "a7a8q" for promotion).
@@ -44,6 +107,58 @@ public interface ChessEngine extends AutoCloseable {
      */
     String bestMove(Board board, Color sideToMove, int depth) throws IOException;
 
+    /**
+     * Starts a search without waiting for it. The future completes with the engine's move;
+     * {@link #stopSearch()} makes it complete early with the best move found so far.
+     * The default implementation runs bestMove on a pool thread, cannot be stopped early
+     * and ignores the move time; ponder requests fail unless {@link #supportsPonder()}.
+     * 
+     * @param request the position and limits
+     * @return the future result; it completes exceptionally with an IOException if the search fails
+     */
+    default CompletableFuture<SearchResult> search(SearchRequest request) {
+        if (request.isPonder()) {
+            CompletableFuture<SearchResult> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IOException(getName() + " does not support pondering"));
+            return failed;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return new SearchResult(bestMove(request.getBoard(), request.getSideToMove(), request.getDepth()), null);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Ends the running search early (optional method). A normal search completes with the
+     * best move found so far; a ponder search is abandoned. Does nothing if no search runs.
+     * 
+     * @throws IOException if communication with engine fails
+     */
+    default void stopSearch() throws IOException { /* optional */ }
+
+    /**
+     * Checks whether the engine accepts ponder requests.
+     * 
+     * @return true if {@link #search(SearchRequest)} can ponder
+     */
+    default boolean supportsPonder() {
+        return false;
+    }
+
+    /**
+     * Tells the engine that the opponent played the ponder move, turning the running ponder
+     * search into a normal search of the current position (optional method). Its future then
+     * completes like any other search, usually sooner since the engine has been thinking already.
+     * 
+     * @throws IOException if no ponder search is running or communication with engine fails
+     */
+    default void ponderHit() throws IOException {
+        throw new IOException(getName() + " does not support pondering");
+    }
+
     /**
      * Stops the chess engine and releases all resources.
      * After calling this, the engine should not be used unless start() is called again.
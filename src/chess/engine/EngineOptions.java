@@ -0,0 +1,384 @@
+package chess.engine;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Resource settings for a chess engine: search threads, hash table size, number of
+ * principal variations and an optional NUMA policy hint. Engines apply the settings
+ * they support through {@link ChessEngine#configure(EngineOptions)} and ignore the rest.
+ *
+ * Settings can be read from a properties file (see {@link #load(File)}):
+ * <pre>
+ * threads = auto      # or a number; auto uses every available processor
+ * hash = 256          # transposition table size in MB
+ * multipv = 1         # principal variations reported per search
+ * numa = auto         # NUMA policy passed to engines that support one (optional)
+ * bench = 1000        # startup benchmark length in ms, 0 to skip
+ * pool = 4            # external engine processes to pre-start, 0 for none (see EnginePool)
+ * ponder = true       # let the bot think during the opponent's turn
+ * </pre>
+ */
+public final class EngineOptions {
+    public static final String CONFIG_FILE = "engine.properties";
+    public static final String CONFIG_ENV = "ENGINE_CONFIG";
+
+    public static final int DEFAULT_THREADS = 1;
+    public static final int DEFAULT_HASH_MB = 16;
+    public static final int DEFAULT_MULTI_PV = 1;
+    public static final int MAX_THREADS = 1024;
+    public static final int MAX_HASH_MB = 1 << 20;
+    public static final int MAX_MULTI_PV = 500;
+    public static final int MAX_POOL_SIZE = 256;
+
+    private final int threads;
+    private final int hashMb;
+    private final int multiPv;
+    private final String numaPolicy;
+    private final long benchmarkMs;
+    private final int poolSize;
+    private final boolean ponder;
+
+    private EngineOptions(Builder builder) {
+        this.threads = builder.threads;
+        this.hashMb = builder.hashMb;
+        this.multiPv = builder.multiPv;
+        this.numaPolicy = builder.numaPolicy;
+        this.benchmarkMs = builder.benchmarkMs;
+        this.poolSize = builder.poolSize;
+        this.ponder = builder.ponder;
+    }
+
+    /**
+     * Gets the default settings: one thread, a 16 MB hash, one PV, no benchmark, no pool
+     * and pondering on.
+     *
+     * @return the default options
+     */
+    public static EngineOptions defaults() {
+        return new Builder().build();
+    }
+
+    /**
+     * Reads settings from a properties file. Missing keys keep their defaults.
+     *
+     * @param file the properties file
+     * @return the options
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a value is malformed or out of range
+     */
+    public static EngineOptions load(File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Reads the settings file named by the ENGINE_CONFIG environment variable, or
+     * engine.properties in the working directory, if either exists.
+     *
+     * @return the options from the file, or the defaults if there is no file
+     * @throws IOException if the file exists but cannot be read
+     * @throws IllegalArgumentException if a value is malformed or out of range
+     */
+    public static EngineOptions loadDefault() throws IOException {
+        String envPath = System.getenv(CONFIG_ENV);
+        File file = envPath != null && !envPath.trim().isEmpty() ? new File(envPath.trim()) : new File(CONFIG_FILE);
+        return file.isFile() ? load(file) : defaults();
+    }
+
+    /**
+     * Builds options from properties using the keys described in the class comment.
+     *
+     * @param properties the properties
+     * @return the options
+     * @throws IllegalArgumentException if a value is malformed or out of range
+     */
+    public static EngineOptions fromProperties(Properties properties) {
+        Builder builder = new Builder();
+        String threads = properties.getProperty("threads");
+        if (threads != null) {
+            threads = threads.trim();
+            builder.threads(threads.equalsIgnoreCase("auto")
+                    ? Runtime.getRuntime().availableProcessors()
+                    : parseInt("threads", threads));
+        }
+        String hash = properties.getProperty("hash");
+        if (hash != null) {
+            builder.hashMb(parseInt("hash", hash.trim()));
+        }
+        String multiPv = properties.getProperty("multipv");
+        if (multiPv != null) {
+            builder.multiPv(parseInt("multipv", multiPv.trim()));
+        }
+        String numa = properties.getProperty("numa");
+        if (numa != null && !numa.trim().isEmpty()) {
+            builder.numaPolicy(numa.trim());
+        }
+        String bench = properties.getProperty("bench");
+        if (bench != null) {
+            builder.benchmarkMs(parseInt("bench", bench.trim()));
+        }
+        String pool = properties.getProperty("pool");
+        if (pool != null) {
+            builder.poolSize(parseInt("pool", pool.trim()));
+        }
+        String ponder = properties.getProperty("ponder");
+        if (ponder != null) {
+            builder.ponder(parseBoolean("ponder", ponder.trim()));
+        }
+        return builder.build();
+    }
+
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    private static boolean parseBoolean(String key, String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+    }
+
+    /**
+     * Gets the number of search threads.
+     *
+     * @return the thread count
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the transposition table size.
+     *
+     * @return the hash size in megabytes
+     */
+    public int getHashMb() {
+        return hashMb;
+    }
+
+    /**
+     * Gets how many principal variations a search reports.
+     *
+     * @return the MultiPV count
+     */
+    public int getMultiPv() {
+        return multiPv;
+    }
+
+    /**
+     * Gets the NUMA policy hint (e.g., "auto", "system", "none").
+     *
+     * @return the policy, or null to leave the engine's default
+     */
+    public String getNumaPolicy() {
+        return numaPolicy;
+    }
+
+    /**
+     * Gets how long the startup benchmark should run.
+     *
+     * @return the benchmark length in milliseconds, 0 if disabled
+     */
+    public long getBenchmarkMs() {
+        return benchmarkMs;
+    }
+
+    /**
+     * Gets how many external engine processes to start ahead of time.
+     *
+     * @return the pool size, 0 if engines are started per game
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Checks whether the bot may keep searching while its opponent thinks
+     * (see ChessEngine#search with a ponder request).
+     *
+     * @return true if pondering is enabled
+     */
+    public boolean isPonder() {
+        return ponder;
+    }
+
+    /**
+     * Returns a copy with the thread count capped.
+     *
+     * @param maxThreads the maximum number of threads
+     * @return these options if already within the cap, otherwise a capped copy
+     */
+    public EngineOptions withMaxThreads(int maxThreads) {
+        return threads <= maxThreads ? this : new Builder(this).threads(maxThreads).build();
+    }
+
+    /**
+     * Checks whether configuring an engine with other options would change nothing,
+     * i.e. threads, hash, MultiPV and NUMA policy all match.
+     *
+     * @param other the options to compare with
+     * @return true if the engine-facing settings are the same
+     */
+    public boolean hasSameEngineSettings(EngineOptions other) {
+        return other != null && threads == other.threads && hashMb == other.hashMb
+                && multiPv == other.multiPv && Objects.equals(numaPolicy, other.numaPolicy);
+    }
+
+    @Override
+    public String toString() {
+        return "threads=" + threads + ", hash=" + hashMb + " MB, multipv=" + multiPv
+                + (numaPolicy != null ? ", numa=" + numaPolicy : "");
+    }
+
+    /**
+     * Builder for EngineOptions.
+     */
+    public static final class Builder {
+        private int threads = DEFAULT_THREADS;
+        private int hashMb = DEFAULT_HASH_MB;
+        private int multiPv = DEFAULT_MULTI_PV;
+        private String numaPolicy;
+        private long benchmarkMs;
+        private int poolSize;
+        private boolean ponder = true;
+
+        /**
+         * Creates a builder with the default settings.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Creates a builder starting from existing options.
+         *
+         * @param options the options to copy
+         */
+        public Builder(EngineOptions options) {
+            this.threads = options.threads;
+            this.hashMb = options.hashMb;
+            this.multiPv = options.multiPv;
+            this.numaPolicy = options.numaPolicy;
+            this.benchmarkMs = options.benchmarkMs;
+            this.poolSize = options.poolSize;
+            this.ponder = options.ponder;
+        }
+
+        /**
+         * Sets the number of search threads (1-MAX_THREADS).
+         *
+         * @param threads the thread count
+         * @return this builder for chaining
+         */
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the transposition table size (1-MAX_HASH_MB).
+         *
+         * @param hashMb the hash size in megabytes
+         * @return this builder for chaining
+         */
+        public Builder hashMb(int hashMb) {
+            this.hashMb = hashMb;
+            return this;
+        }
+
+        /**
+         * Sets how many principal variations a search reports (1-MAX_MULTI_PV).
+         *
+         * @param multiPv the MultiPV count
+         * @return this builder for chaining
+         */
+        public Builder multiPv(int multiPv) {
+            this.multiPv = multiPv;
+            return this;
+        }
+
+        /**
+         * Sets the NUMA policy hint.
+         *
+         * @param numaPolicy the policy, or null to leave the engine's default
+         * @return this builder for chaining
+         */
+        public Builder numaPolicy(String numaPolicy) {
+            this.numaPolicy = numaPolicy;
+            return this;
+        }
+
+        /**
+         * Sets how long the startup benchmark runs.
+         *
+         * @param benchmarkMs the benchmark length in milliseconds, 0 to skip it
+         * @return this builder for chaining
+         */
+        public Builder benchmarkMs(long benchmarkMs) {
+            this.benchmarkMs = benchmarkMs;
+            return this;
+        }
+
+        /**
+         * Sets how many external engine processes to start ahead of time (0-MAX_POOL_SIZE).
+         *
+         * @param poolSize the pool size, 0 to start engines per game
+         * @return this builder for chaining
+         */
+        public Builder poolSize(int poolSize) {
+            this.poolSize = poolSize;
+            return this;
+        }
+
+        /**
+         * Sets whether the bot may think during its opponent's turn.
+         *
+         * @param ponder true to enable pondering
+         * @return this builder for chaining
+         */
+        public Builder ponder(boolean ponder) {
+            this.ponder = ponder;
+            return this;
+        }
+
+        /**
+         * Builds the EngineOptions.
+         *
+         * @return the options
+         * @throws IllegalArgumentException if a value is out of range
+         */
+        public EngineOptions build() {
+            if (threads < 1 || threads > MAX_THREADS) {
+                throw new IllegalArgumentException("Threads must be 1-" + MAX_THREADS + ": " + threads);
+            }
+            if (hashMb < 1 || hashMb > MAX_HASH_MB) {
+                throw new IllegalArgumentException("Hash must be 1-" + MAX_HASH_MB + " MB: " + hashMb);
+            }
+            if (multiPv < 1 || multiPv > MAX_MULTI_PV) {
+                throw new IllegalArgumentException("MultiPV must be 1-" + MAX_MULTI_PV + ": " + multiPv);
+            }
+            if (benchmarkMs < 0) {
+                throw new IllegalArgumentException("Benchmark time cannot be negative: " + benchmarkMs);
+            }
+            if (poolSize < 0 || poolSize > MAX_POOL_SIZE) {
+                throw new IllegalArgumentException("Pool size must be 0-" + MAX_POOL_SIZE + ": " + poolSize);
+            }
+            return new EngineOptions(this);
+        }
+    }
+}
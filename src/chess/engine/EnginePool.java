@@ -0,0 +1,399 @@
+package chess.engine;
+
+import chess.core.Board;
+import chess.core.Color;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pool of engines started ahead of time, so games do not pay for process startup and
+ * the UCI handshake on their first move.
+ *
+ * {@link #acquire(long)} hands out an idle engine after checking that it still responds
+ * (a crashed one is replaced) and resetting it with {@link ChessEngine#newGame()}. The
+ * returned engine is a lease: calling stop() or close() on it returns the engine to the
+ * pool instead of shutting it down, so callers use it exactly like an engine they own.
+ * While the pool runs, a background thread also checks the idle engines every
+ * HEALTH_CHECK_INTERVAL_MS, so an engine that dies while waiting is replaced before
+ * a game asks for it.
+ *
+ * Thread-safe: any number of games may acquire and release engines concurrently.
+ */
+public final class EnginePool implements AutoCloseable {
+
+    /** Time between health checks of the idle engines, in milliseconds. */
+    public static final long HEALTH_CHECK_INTERVAL_MS = 30_000;
+
+    private final int size;
+    private final Supplier<ChessEngine> factory;
+    private final EngineOptions options;
+    private final BlockingQueue<ChessEngine> idle = new LinkedBlockingQueue<>();
+    private final Set<ChessEngine> engines = ConcurrentHashMap.newKeySet();
+    private final AtomicLong replacements = new AtomicLong();
+    private ScheduledExecutorService healthChecker;
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool. No engine is started until {@link #start()}.
+     *
+     * @param size the number of engines to keep
+     * @param factory creates a new, unstarted engine
+     * @param options the settings every pooled engine is configured with
+     * @throws IllegalArgumentException if size is not positive
+     */
+    public EnginePool(int size, Supplier<ChessEngine> factory, EngineOptions options) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + size);
+        }
+        this.size = size;
+        this.factory = factory;
+        this.options = options;
+    }
+
+    /**
+     * Creates and starts a pool of Stockfish processes.
+     *
+     * @param size the number of processes
+     * @param options the settings every process is configured with
+     * @return the started pool
+     * @throws IOException if any process fails to start
+     */
+    public static EnginePool stockfish(int size, EngineOptions options) throws IOException {
+        EnginePool pool = new EnginePool(size, StockfishEngine::new, options);
+        pool.start();
+        return pool;
+    }
+
+    /**
+     * Starts every engine in the pool and the periodic health check.
+     *
+     * @throws IOException if an engine fails to start; engines already started are stopped
+     */
+    public synchronized void start() throws IOException {
+        try {
+            while (engines.size() < size) {
+                idle.add(startEngine());
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        if (healthChecker == null) {
+            healthChecker = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "engine-pool-health");
+                thread.setDaemon(true);
+                return thread;
+            });
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, HEALTH_CHECK_INTERVAL_MS,
+                    HEALTH_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ChessEngine startEngine() throws IOException {
+        ChessEngine engine = factory.get();
+        try {
+            engine.start();
+            engine.configure(options);
+        } catch (IOException e) {
+            stopQuietly(engine);
+            throw e;
+        }
+        engines.add(engine);
+        return engine;
+    }
+
+    /**
+     * Takes an idle engine, waiting if all are in use. The engine is health-checked
+     * (and replaced if it no longer responds) and reset for a new game.
+     *
+     * @param timeoutMs how long to wait for an engine to become free
+     * @return a lease on the engine; stop() or close() returns it to the pool
+     * @throws IOException if the pool is closed, no engine frees up in time, or a replacement fails to start
+     */
+    public ChessEngine acquire(long timeoutMs) throws IOException {
+        if (closed) {
+            throw new IOException("Engine pool is closed");
+        }
+        ChessEngine engine;
+        try {
+            engine = idle.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an engine", e);
+        }
+        if (engine == null) {
+            throw new IOException("No engine available within " + timeoutMs + " ms");
+        }
+
+        try {
+            if (!engine.isReady()) {
+                engine = replace(engine);
+            }
+            engine.newGame();
+        } catch (IOException e) {
+            // Keep the pool at full size for the next caller even though this one fails
+            discard(engine);
+            refill();
+            throw e;
+        }
+        return new Lease(engine);
+    }
+
+    /**
+     * Returns an engine to the pool, restoring the pool's settings. An engine that
+     * no longer responds is replaced.
+     */
+    private void release(ChessEngine engine) {
+        if (closed) {
+            discard(engine);
+            return;
+        }
+        try {
+            engine.stopSearch();  // e.g. a ponder search the game left running
+            if (!engine.isReady()) {
+                engine = replace(engine);
+            }
+            engine.configure(options);
+            idle.add(engine);
+        } catch (IOException e) {
+            discard(engine);
+            refill();
+        }
+    }
+
+    /**
+     * Replaces crashed idle engines. The pool runs this every HEALTH_CHECK_INTERVAL_MS;
+     * engines are taken out one at a time, so the others stay available meanwhile.
+     *
+     * @return the number of engines replaced
+     */
+    public int checkHealth() {
+        int replaced = 0;
+        for (int i = idle.size(); i > 0 && !closed; i--) {
+            ChessEngine engine = idle.poll();
+            if (engine == null) {
+                break;
+            }
+            try {
+                if (!engine.isReady()) {
+                    engine = replace(engine);
+                    replaced++;
+                }
+                idle.add(engine);
+                if (closed && idle.remove(engine)) {
+                    discard(engine);  // close() ran while this engine was being checked
+                }
+            } catch (IOException e) {
+                discard(engine);
+            }
+        }
+        refill();
+        return replaced;
+    }
+
+    private ChessEngine replace(ChessEngine engine) throws IOException {
+        discard(engine);
+        replacements.incrementAndGet();
+        return startEngine();
+    }
+
+    private void discard(ChessEngine engine) {
+        engines.remove(engine);
+        stopQuietly(engine);
+    }
+
+    /**
+     * Starts engines until the pool is back at full size, if it can.
+     */
+    private void refill() {
+        while (!closed && engines.size() < size) {
+            try {
+                idle.add(startEngine());
+                replacements.incrementAndGet();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private static void stopQuietly(ChessEngine engine) {
+        try {
+            engine.stop();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Gets the number of engines the pool keeps.
+     *
+     * @return the pool size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of engines waiting to be acquired.
+     *
+     * @return the idle count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets how many engines have been started to replace crashed ones.
+     *
+     * @return the replacement count
+     */
+    public long getReplacementCount() {
+        return replacements.get();
+    }
+
+    /**
+     * Stops the health check and every engine. Leased engines are stopped when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (healthChecker != null) {
+                healthChecker.shutdownNow();
+            }
+        }
+        List<ChessEngine> remaining = new ArrayList<>();
+        idle.drainTo(remaining);
+        for (ChessEngine engine : remaining) {
+            discard(engine);
+        }
+    }
+
+    /**
+     * A pooled engine handed to one user. Stopping it returns the engine to the pool;
+     * after that the lease can no longer be used.
+     */
+    private final class Lease implements ChessEngine {
+        private final ChessEngine engine;
+        private final List<SearchInfoListener> infoListeners = new ArrayList<>();
+        private boolean released;
+
+        Lease(ChessEngine engine) {
+            this.engine = engine;
+        }
+
+        private ChessEngine engine() throws IOException {
+            if (released) {
+                throw new IOException("Engine was returned to the pool");
+            }
+            return engine;
+        }
+
+        /**
+         * Pooled engines are already running, so this does nothing.
+         */
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void setSkillLevel(int level) throws IOException {
+            engine().setSkillLevel(level);
+        }
+
+        @Override
+        public void configure(EngineOptions options) throws IOException {
+            engine().configure(options);
+        }
+
+        @Override
+        public BenchmarkResult benchmark(long durationMs) throws IOException {
+            return engine().benchmark(durationMs);
+        }
+
+        @Override
+        public void newGame() throws IOException {
+            engine().newGame();
+        }
+
+        @Override
+        public boolean isReady() {
+            return !released && engine.isReady();
+        }
+
+        @Override
+        public String getName() {
+            return engine.getName();
+        }
+
+        @Override
+        public String bestMove(Board board, Color sideToMove, int depth) throws IOException {
+            return engine().bestMove(board, sideToMove, depth);
+        }
+
+        @Override
+        public CompletableFuture<SearchResult> search(SearchRequest request) {
+            if (released) {
+                CompletableFuture<SearchResult> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new IOException("Engine was returned to the pool"));
+                return failed;
+            }
+            return engine.search(request);
+        }
+
+        @Override
+        public void stopSearch() throws IOException {
+            engine().stopSearch();
+        }
+
+        @Override
+        public synchronized void addSearchInfoListener(SearchInfoListener listener) {
+            if (!released) {
+                infoListeners.add(listener);
+                engine.addSearchInfoListener(listener);
+            }
+        }
+
+        @Override
+        public synchronized void removeSearchInfoListener(SearchInfoListener listener) {
+            infoListeners.remove(listener);
+            engine.removeSearchInfoListener(listener);
+        }
+
+        @Override
+        public boolean supportsPonder() {
+            return engine.supportsPonder();
+        }
+
+        @Override
+        public void ponderHit() throws IOException {
+            engine().ponderHit();
+        }
+
+        /**
+         * Returns the engine to the pool, detaching this user's listeners.
+         */
+        @Override
+        public synchronized void stop() {
+            if (!released) {
+                released = true;
+                for (SearchInfoListener listener : infoListeners) {
+                    engine.removeSearchInfoListener(listener);
+                }
+                infoListeners.clear();
+                release(engine);
+            }
+        }
+    }
+}
@@ -1,36 +1,268 @@
 package chess.engine;
 
+import chess.core.Bitboards;
 import chess.core.Board;
 import chess.core.Color;
 import chess.core.Piece;
+import chess.core.PieceType;
 import chess.core.Position;
 import chess.pieces.*;
 
 /**
  * Utility class for FEN (Forsyth-Edwards Notation) conversion.
- * Provides methods to generate FEN strings from chess positions.
+ * Provides methods to generate FEN strings from chess positions and to load them onto a board.
+ * Both directions cover all six fields (placement, side to move, castling rights,
+ * en passant square, halfmove clock and fullmove number), so a FEN loaded and written
+ * back comes out unchanged. The parser reads the characters in place without splitting
+ * or copying the string, as FENs are bulk-loaded for analysis.
  */
 public class FenUtil {
 
+    /** The standard starting position. */
+    public static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /**
+     * Loads a FEN position onto a board, replacing its contents.
+     * Reads all six fields and sets the board's side to move, en passant square and
+     * move counters. The halfmove clock and fullmove number may be omitted (as in EPD)
+     * and default to 0 and 1; castling and en passant may be omitted too.
+     * Castling rights are applied through the pieces' movement flags: kings and rooks
+     * that still have a matching right are left unmoved, all others are marked as moved.
+     * If the FEN is malformed the board is left in an unspecified state.
+     * 
+     * @param board the board to load the position onto
+     * @param fen the FEN string
+     * @return the side to move
+     * @throws IllegalArgumentException if the FEN is malformed
+     */
+    public static Color loadFEN(Board board, CharSequence fen) {
+        if (board == null || fen == null) {
+            throw new IllegalArgumentException("Board and FEN must not be null");
+        }
+        int end = fen.length();
+        while (end > 0 && Character.isWhitespace(fen.charAt(end - 1))) {
+            end--;
+        }
+
+        // Locate the fields first: the castling field decides the pieces' movement flags
+        int placementStart = skipSpaces(fen, 0, end);
+        int placementEnd = skipField(fen, placementStart, end);
+        int sideStart = skipSpaces(fen, placementEnd, end);
+        int sideEnd = skipField(fen, sideStart, end);
+        int castlingStart = skipSpaces(fen, sideEnd, end);
+        int castlingEnd = skipField(fen, castlingStart, end);
+        int enPassantStart = skipSpaces(fen, castlingEnd, end);
+        int enPassantEnd = skipField(fen, enPassantStart, end);
+        int halfmoveStart = skipSpaces(fen, enPassantEnd, end);
+        int halfmoveEnd = skipField(fen, halfmoveStart, end);
+        int fullmoveStart = skipSpaces(fen, halfmoveEnd, end);
+        int fullmoveEnd = skipField(fen, fullmoveStart, end);
+        if (sideStart == sideEnd || fullmoveEnd != end) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+
+        Color sideToMove;
+        if (sideEnd - sideStart == 1 && fen.charAt(sideStart) == 'w') {
+            sideToMove = Color.WHITE;
+        } else if (sideEnd - sideStart == 1 && fen.charAt(sideStart) == 'b') {
+            sideToMove = Color.BLACK;
+        } else {
+            throw new IllegalArgumentException("Invalid side to move: " + fen.subSequence(sideStart, sideEnd));
+        }
+        int castling = parseCastling(fen, castlingStart, castlingEnd);
+
+        board.clear();
+        int rank = 7;
+        int file = 0;
+        for (int i = placementStart; i < placementEnd; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (file != 8 || rank == 0) {
+                    throw new IllegalArgumentException("Invalid FEN placement: " + fen.subSequence(placementStart, placementEnd));
+                }
+                rank--;
+                file = 0;
+            } else if (c >= '1' && c <= '8') {
+                file += c - '0';
+                if (file > 8) {
+                    throw new IllegalArgumentException("Invalid FEN placement: " + fen.subSequence(placementStart, placementEnd));
+                }
+            } else {
+                if (file > 7) {
+                    throw new IllegalArgumentException("Invalid FEN placement: " + fen.subSequence(placementStart, placementEnd));
+                }
+                Position pos = Position.of(file, rank);
+                Piece piece = fenCharToPiece(c, pos);
+                piece.setHasMoved(!keepsCastlingRight(piece, Bitboards.square(file, rank), castling));
+                board.placePiece(piece, pos);
+                file++;
+            }
+        }
+        if (rank != 0 || file != 8) {
+            throw new IllegalArgumentException("Invalid FEN placement: " + fen.subSequence(placementStart, placementEnd));
+        }
+
+        board.setSideToMove(sideToMove);
+        board.setEnPassantSquare(parseEnPassant(fen, enPassantStart, enPassantEnd, sideToMove));
+        if (halfmoveStart < halfmoveEnd) {
+            board.setHalfmoveClock(parseCounter(fen, halfmoveStart, halfmoveEnd));
+        }
+        if (fullmoveStart < fullmoveEnd) {
+            // Some tools write move number 0; treat it as the first move
+            board.setFullmoveNumber(Math.max(1, parseCounter(fen, fullmoveStart, fullmoveEnd)));
+        }
+
+        return sideToMove;
+    }
+
+    private static int skipSpaces(CharSequence fen, int index, int end) {
+        while (index < end && Character.isWhitespace(fen.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipField(CharSequence fen, int index, int end) {
+        while (index < end && !Character.isWhitespace(fen.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Parses the castling field ("-" or any of "KQkq") into a bitmask of Board.CASTLE_* constants.
+     */
+    private static int parseCastling(CharSequence fen, int start, int end) {
+        if (start == end || (end - start == 1 && fen.charAt(start) == '-')) {
+            return 0;
+        }
+        int rights = 0;
+        for (int i = start; i < end; i++) {
+            int right;
+            switch (fen.charAt(i)) {
+                case 'K': right = Board.CASTLE_WHITE_KING_SIDE; break;
+                case 'Q': right = Board.CASTLE_WHITE_QUEEN_SIDE; break;
+                case 'k': right = Board.CASTLE_BLACK_KING_SIDE; break;
+                case 'q': right = Board.CASTLE_BLACK_QUEEN_SIDE; break;
+                default: right = 0;
+            }
+            if (right == 0 || (rights & right) != 0) {
+                throw new IllegalArgumentException("Invalid castling rights: " + fen.subSequence(start, end));
+            }
+            rights |= right;
+        }
+        return rights;
+    }
+
+    /**
+     * Parses the en passant field: "-" or the skipped square, which must be on the
+     * third rank from the point of view of the side that just moved.
+     */
+    private static Position parseEnPassant(CharSequence fen, int start, int end, Color sideToMove) {
+        if (start == end || (end - start == 1 && fen.charAt(start) == '-')) {
+            return null;
+        }
+        char fileChar = end - start == 2 ? fen.charAt(start) : 0;
+        char rankChar = end - start == 2 ? fen.charAt(start + 1) : 0;
+        if (fileChar < 'a' || fileChar > 'h' || rankChar != (sideToMove == Color.WHITE ? '6' : '3')) {
+            throw new IllegalArgumentException("Invalid en passant square: " + fen.subSequence(start, end));
+        }
+        return Position.of(fileChar - 'a', rankChar - '1');
+    }
+
+    /**
+     * Parses a non-negative move counter.
+     */
+    private static int parseCounter(CharSequence fen, int start, int end) {
+        if (end - start > 9) {
+            throw new IllegalArgumentException("Invalid move counter: " + fen.subSequence(start, end));
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid move counter: " + fen.subSequence(start, end));
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Checks whether a king or rook on its original square still holds a castling right.
+     */
+    private static boolean keepsCastlingRight(Piece piece, int square, int castling) {
+        if (piece.getType() == PieceType.KING) {
+            return piece.getColor() == Color.WHITE
+                    ? square == 4 && (castling & (Board.CASTLE_WHITE_KING_SIDE | Board.CASTLE_WHITE_QUEEN_SIDE)) != 0
+                    : square == 60 && (castling & (Board.CASTLE_BLACK_KING_SIDE | Board.CASTLE_BLACK_QUEEN_SIDE)) != 0;
+        }
+        if (piece.getType() == PieceType.ROOK) {
+            if (piece.getColor() == Color.WHITE) {
+                return (square == 7 && (castling & Board.CASTLE_WHITE_KING_SIDE) != 0)
+                        || (square == 0 && (castling & Board.CASTLE_WHITE_QUEEN_SIDE) != 0);
+            }
+            return (square == 63 && (castling & Board.CASTLE_BLACK_KING_SIDE) != 0)
+                    || (square == 56 && (castling & Board.CASTLE_BLACK_QUEEN_SIDE) != 0);
+        }
+        return false;
+    }
+
+    /**
+     * Creates a piece from its FEN character.
+     */
+    private static Piece fenCharToPiece(char c, Position pos) {
+        Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+        switch (Character.toLowerCase(c)) {
+            case 'p': return new Pawn(color, pos);
+            case 'n': return new Knight(color, pos);
+            case 'b': return new Bishop(color, pos);
+            case 'r': return new Rook(color, pos);
+            case 'q': return new Queen(color, pos);
+            case 'k': return new King(color, pos);
+            default:
+                throw new IllegalArgumentException("Invalid FEN piece: " + c);
+        }
+    }
+
+    /**
+     * Generates a FEN string from a board position, with the board's own side to move.
+     * 
+     * @param board the chess board to convert
+     * @return the full FEN string
+     */
+    public static String generateFEN(Board board) {
+        return generateFEN(board, board.getSideToMove());
+    }
+
     /**
      * Generates a FEN string from a board position and side to move.
-     * Only includes the piece placement portion of the full FEN (no castling, en passant, etc.).
+     * Castling rights, en passant square and move counters are taken from the board.
      * 
      * @param board the chess board to convert
      * @param sideToMove the color of the player to move (WHITE or BLACK)
-     * @return a FEN string representing the board position
+     * @return the full FEN string
      */
     public static String generateFEN(Board board, Color sideToMove) {
-        StringBuilder fen = new StringBuilder();
+        return appendFEN(new StringBuilder(90), board, sideToMove).toString();
+    }
 
+    /**
+     * Appends the FEN of a board position to a buffer, so bulk writers can reuse one buffer.
+     * 
+     * @param fen the buffer to append to
+     * @param board the chess board to convert
+     * @param sideToMove the color of the player to move (WHITE or BLACK)
+     * @return the buffer
+     */
+    public static StringBuilder appendFEN(StringBuilder fen, Board board, Color sideToMove) {
         // Ranks: 8 down to 1  →  y = 7 down to 0
         for (int rank = 7; rank >= 0; rank--) {
             int emptyCount = 0;
 
             // Files: a..h → x = 0..7
             for (int file = 0; file < 8; file++) {
-                Position pos = new Position(file, rank);
-                Piece piece = board.getPiece(pos);
+                Piece piece = board.getPiece(Bitboards.square(file, rank));
 
                 if (piece == null) {
                     emptyCount++;
@@ -56,14 +288,32 @@ public class FenUtil {
         fen.append(' ');
         fen.append(sideToMove == Color.WHITE ? 'w' : 'b');
 
-        // Simplified for now:
-        // - No castling rights
-        // - No en passant square
-        // - Halfmove clock = 0
-        // - Fullmove number = 1
-        fen.append(" - - 0 1");
+        // Castling rights
+        fen.append(' ');
+        int castling = board.getCastlingRights();
+        if (castling == 0) {
+            fen.append('-');
+        } else {
+            if ((castling & Board.CASTLE_WHITE_KING_SIDE) != 0) fen.append('K');
+            if ((castling & Board.CASTLE_WHITE_QUEEN_SIDE) != 0) fen.append('Q');
+            if ((castling & Board.CASTLE_BLACK_KING_SIDE) != 0) fen.append('k');
+            if ((castling & Board.CASTLE_BLACK_QUEEN_SIDE) != 0) fen.append('q');
+        }
+
+        // En passant square
+        fen.append(' ');
+        Position enPassant = board.getEnPassantSquare();
+        if (enPassant == null) {
+            fen.append('-');
+        } else {
+            fen.append((char) ('a' + enPassant.getFile())).append((char) ('1' + enPassant.getRank()));
+        }
+
+        // Move counters
+        fen.append(' ').append(board.getHalfmoveClock());
+        fen.append(' ').append(board.getFullmoveNumber());
 
-        return fen.toString();
+        return fen;
     }
 
     /**
@@ -74,15 +324,7 @@ public class FenUtil {
      * @return the FEN character (p,n,b,r,q,k for black; P,N,B,R,Q,K for white)
      */
     private static char pieceToFenChar(chess.core.Piece piece) {
-        char c;
-
-        if (piece instanceof Pawn)        c = 'p';
-        else if (piece instanceof Knight) c = 'n';
-        else if (piece instanceof Bishop) c = 'b';
-        else if (piece instanceof Rook)   c = 'r';
-        else if (piece instanceof Queen)  c = 'q';
-        else if (piece instanceof King)   c = 'k';
-        else                              c = '?';
+        char c = piece.getType().getLetter();
 
         if (piece.getColor() == Color.WHITE) {
             c = Character.toUpperCase(c);
@@ -1,13 +1,20 @@
 package chess.engine;
 
 import chess.core.*;
+import chess.engine.search.SearchEngine;
 import chess.pgn.*;
+import chess.rules.MoveGenerator;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Manages the chess game state, move application, and PGN (Portable Game Notation) handling.
@@ -25,6 +32,26 @@ public class GameController
     
     private ChessEngine engine;
     private BotDifficulty botDifficulty;
+    private EngineOptions engineOptions;
+    private BenchmarkResult lastBenchmark;
+    private EnginePool enginePool;
+    private TimeControl timeControl = TimeControl.blitzGame();
+
+    private boolean ponderEnabled;
+    private SearchResult lastBotResult;
+    private CompletableFuture<SearchResult> ponderSearch;
+    private long ponderKey;  // Position hash expected after the predicted move
+
+    private final List<SearchInfoListener> infoListeners = new CopyOnWriteArrayList<>();
+    private final SearchInfoListener infoForwarder = this::forwardSearchInfo;
+    private volatile SearchInfo lastSearchInfo;
+    private long botSearchNodes;   // Totals over the bot's searches this game
+    private long botSearchTimeMs;
+
+    // How long a bot game waits for a pooled engine before giving up
+    private static final long POOL_ACQUIRE_TIMEOUT_MS = 10000;
+    // How long a stopped search may take to report its move
+    private static final long STOP_GRACE_MS = 5000;
 
     /**
      * Creates a GameController with default PGN writer and parser.
@@ -63,11 +90,11 @@ public class GameController
 
         try
         {
-            chess.core.ChessClock clock = new chess.core.ChessClock(5 * 60 * 1000); // 5 minutes
+            chess.core.ChessClock clock = timeControl.createClock();
             if (startingFen == null || startingFen.trim().isEmpty()) {
                 this.game = new Game(white, black, clock);
             } else {
-                this.game = new Game(white, black, startingFen);
+                this.game = new Game(white, black, clock, startingFen);
             }
         }
         catch (Exception ex)
@@ -76,6 +103,27 @@ public class GameController
         }
     }
 
+    /**
+     * Sets the time control for games started with {@link #newGame(Player, Player, String)}.
+     * The bot budgets its thinking time from the clock.
+     * 
+     * @param timeControl the time control
+     */
+    public synchronized void setTimeControl(TimeControl timeControl)
+    {
+        this.timeControl = Objects.requireNonNull(timeControl, "timeControl must not be null");
+    }
+
+    /**
+     * Gets the time control used for new games.
+     * 
+     * @return the time control
+     */
+    public synchronized TimeControl getTimeControl()
+    {
+        return timeControl;
+    }
+
     private String nonEmptyOrDefault(String s, String def)
     {
         if (s == null || s.trim().isEmpty()) return def;
@@ -116,26 +164,7 @@ public class GameController
                 }
             }
 
-            boolean whiteToMove = isWhiteToMoveAccordingToGame();
-            if (whiteToMove)
-            {
-                int moveNumber = pgnMoves.size() + 1;
-                pgnMoves.add(new PgnMoveRecord(moveNumber, san, null));
-            }
-            else
-            {
-                if (pgnMoves.isEmpty())
-                {
-                    int moveNumber = 1;
-                    pgnMoves.add(new PgnMoveRecord(moveNumber, null, san));
-                }
-                else
-                {
-                    PgnMoveRecord last = pgnMoves.get(pgnMoves.size() - 1);
-                    PgnMoveRecord updated = new PgnMoveRecord(last.getMoveNumber(), last.getWhiteSan(), san);
-                    pgnMoves.set(pgnMoves.size() - 1, updated);
-                }
-            }
+            recordSan(san);
         }
         catch (EngineException ee)
         {
@@ -148,6 +177,52 @@ public class GameController
         updateResultTagFromGameState();
     }
 
+    /**
+     * Replays a SAN move of a game being loaded, without running the clock or
+     * crediting the increment (see Game.replayMove).
+     */
+    private void replayAlgebraicMove(String san) throws EngineException
+    {
+        Move move = game.resolveSan(san);
+        if (move == null) throw new EngineException("Could not resolve SAN to a legal move: " + san);
+        try
+        {
+            game.replayMove(move);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new EngineException("Failed to apply SAN move: " + e.getMessage(), e);
+        }
+        recordSan(san.trim());
+        updateResultTagFromGameState();
+    }
+
+    /**
+     * Adds a move that was just applied to the PGN move record.
+     */
+    private void recordSan(String san)
+    {
+        boolean whiteToMove = isWhiteToMoveAccordingToGame();
+        if (whiteToMove)
+        {
+            int moveNumber = pgnMoves.size() + 1;
+            pgnMoves.add(new PgnMoveRecord(moveNumber, san, null));
+        }
+        else
+        {
+            if (pgnMoves.isEmpty())
+            {
+                pgnMoves.add(new PgnMoveRecord(1, null, san));
+            }
+            else
+            {
+                PgnMoveRecord last = pgnMoves.get(pgnMoves.size() - 1);
+                PgnMoveRecord updated = new PgnMoveRecord(last.getMoveNumber(), last.getWhiteSan(), san);
+                pgnMoves.set(pgnMoves.size() - 1, updated);
+            }
+        }
+    }
+
     private boolean tryApplySanOnGame(String san) throws Exception
     {
         try
@@ -206,26 +281,7 @@ public class GameController
             }
 
             String san = tryGetLastMoveSanFromGame();
-            boolean whiteToMove = isWhiteToMoveAccordingToGame();
-            if (whiteToMove)
-            {
-                int moveNumber = pgnMoves.size() + 1;
-                pgnMoves.add(new PgnMoveRecord(moveNumber, san != null ? san : fromSquare + "-" + toSquare, null));
-            }
-            else
-            {
-                if (pgnMoves.isEmpty())
-                {
-                    pgnMoves.add(new PgnMoveRecord(1, null, san != null ? san : fromSquare + "-" + toSquare));
-                }
-                else
-                {
-                    PgnMoveRecord last = pgnMoves.get(pgnMoves.size() - 1);
-                    PgnMoveRecord updated = new PgnMoveRecord(last.getMoveNumber(), last.getWhiteSan(), san != null ? san : fromSquare + "-" + toSquare);
-                    pgnMoves.set(pgnMoves.size() - 1, updated);
-                }
-            }
-
+            recordSan(san != null ? san : fromSquare + "-" + toSquare);
         }
         catch (EngineException ee)
         {
@@ -297,14 +353,14 @@ public class GameController
             {
                 if (rec.getWhiteSan() != null) {
                     try {
-                        applyAlgebraicMove(rec.getWhiteSan());
+                        replayAlgebraicMove(rec.getWhiteSan());
                     } catch (Exception e) {
                         throw new EngineException("Failed to apply white move " + rec.getMoveNumber() + ": " + rec.getWhiteSan() + " - " + e.getMessage(), e);
                     }
                 }
                 if (rec.getBlackSan() != null) {
                     try {
-                        applyAlgebraicMove(rec.getBlackSan());
+                        replayAlgebraicMove(rec.getBlackSan());
                     } catch (Exception e) {
                         throw new EngineException("Failed to apply black move " + rec.getMoveNumber() + ": " + rec.getBlackSan() + " - " + e.getMessage(), e);
                     }
@@ -318,6 +374,52 @@ public class GameController
         }
     }
 
+    /**
+     * Loads one game from a .cgb binary archive (see PgnToBinary).
+     * The stored moves are already resolved, so they are played without SAN parsing.
+     * 
+     * @param archive the .cgb file
+     * @param index the game number in the archive, from 0
+     * @throws EngineException if the archive cannot be read, has no such game, or holds an illegal move
+     */
+    public synchronized void loadGame(File archive, int index) throws EngineException
+    {
+        Objects.requireNonNull(archive, "archive must not be null");
+        CgbReader.StoredGame stored;
+        try (CgbReader reader = new CgbReader(archive))
+        {
+            stored = reader.readGame(index);
+        }
+        catch (IOException | IndexOutOfBoundsException e)
+        {
+            throw new EngineException("Failed to read game " + index + " from archive: " + e.getMessage(), e);
+        }
+
+        PgnGameMetadata meta = stored.getMetadata();
+        Player white = new Player(nonEmptyOrDefault(meta.getTag("White"), "White"), chess.core.Color.WHITE, false);
+        Player black = new Player(nonEmptyOrDefault(meta.getTag("Black"), "Black"), chess.core.Color.BLACK, false);
+        newGame(white, black, stored.getStartingFen());
+        this.metadata = meta;
+        this.pgnMoves.clear();
+
+        for (int ply = 0; ply < stored.getPlyCount(); ply++)
+        {
+            try
+            {
+                Move move = PackedMove.toMove(game.getBoard(), stored.getMove(ply));
+                String san = game.moveToSan(move);
+                game.replayMove(move);
+                recordSan(san);
+            }
+            catch (RuntimeException e)
+            {
+                throw new EngineException("Failed to apply archived move " + (ply + 1) + ": "
+                        + PackedMove.toUci(stored.getMove(ply)) + " - " + e.getMessage(), e);
+            }
+        }
+        updateResultTagFromGameState();
+    }
+
     /**
      * Records resignation of a player in the game.
      * Updates game state to RESIGNATION and sets the Result tag accordingly.
@@ -410,6 +512,7 @@ public class GameController
     public synchronized void undo() throws EngineException
     {
         ensureGameLoaded();
+        stopPondering();
         try
         {
             java.lang.reflect.Method undoMethod = game.getClass().getMethod("undo");
@@ -556,6 +659,9 @@ public class GameController
                         break;
                     case STALEMATE:
                     case DRAW_BY_AGREEMENT:
+                    case DRAW_BY_REPETITION:
+                    case DRAW_BY_FIFTY_MOVE_RULE:
+                    case DRAW_BY_INSUFFICIENT_MATERIAL:
                         metadata.setResult("1/2-1/2");
                         break;
                     case RESIGNATION:
@@ -580,46 +686,342 @@ public class GameController
     }
 
     /**
-     * Initializes the bot engine with the given difficulty level.
-     * Starts the Stockfish process and sets the appropriate skill level.
+     * Initializes the bot engine with the given difficulty level, using the engine
+     * settings from {@link #getEngineOptions()}.
      * 
      * @param difficulty the BotDifficulty level (BEGINNER to GRANDMASTER)
-     * @throws EngineException if engine startup fails
+     * @throws EngineException if engine startup fails or the settings file is invalid
      */
     public synchronized void initializeBot(BotDifficulty difficulty) throws EngineException {
+        initializeBot(difficulty, getEngineOptions());
+    }
+
+    /**
+     * Initializes the bot engine with the given difficulty level and engine settings.
+     * Takes an engine from the engine pool if one is set, otherwise starts the Stockfish
+     * process; if Stockfish is not available, falls back to the built-in SearchEngine, which
+     * budgets its time from the game clock but never thinks longer per move than the
+     * difficulty's thinking time. Any previous bot engine is
+     * released first. The settings are capped for the difficulty (see BotDifficulty.limitOptions).
+     * Pondering is enabled if the settings allow it and the engine supports it.
+     *
+     * If the settings ask for a startup benchmark, it is run once the engine is configured.
+     * A failed benchmark means the engine cannot run with these settings (e.g., the hash
+     * could not be allocated), so the engine is restarted with the default settings.
+     * 
+     * @param difficulty the BotDifficulty level (BEGINNER to GRANDMASTER)
+     * @param options the engine settings
+     * @throws EngineException if engine startup fails
+     */
+    public synchronized void initializeBot(BotDifficulty difficulty, EngineOptions options) throws EngineException {
         try {
+            if (engine != null) {
+                stopPondering();
+                engine.removeSearchInfoListener(infoForwarder);
+                closeQuietly(engine);
+                engine = null;
+            }
             this.botDifficulty = difficulty;
-            this.engine = new StockfishEngine();
-            this.engine.start();
+            this.lastBenchmark = null;
+            this.lastBotResult = null;
+            this.lastSearchInfo = null;
+            this.botSearchNodes = 0;
+            this.botSearchTimeMs = 0;
+            EngineOptions effective = difficulty.limitOptions(options);
+            this.engine = enginePool != null
+                    ? enginePool.acquire(POOL_ACQUIRE_TIMEOUT_MS)
+                    : startStockfishOrFallback(difficulty);
+            this.engine.configure(effective);
             this.engine.setSkillLevel(difficulty.getSkillLevel());
+
+            if (effective.getBenchmarkMs() > 0) {
+                try {
+                    this.lastBenchmark = engine.benchmark(effective.getBenchmarkMs());
+                    if (lastBenchmark.getNodes() == 0) {
+                        throw new IOException("Benchmark searched no nodes");
+                    }
+                } catch (IOException e) {
+                    closeQuietly(engine);
+                    this.engine = startStockfishOrFallback(difficulty);
+                    this.engine.setSkillLevel(difficulty.getSkillLevel());
+                    this.lastBenchmark = null;
+                }
+            }
+            this.ponderEnabled = effective.isPonder() && engine.supportsPonder();
+            this.engine.addSearchInfoListener(infoForwarder);
         } catch (IOException e) {
             throw new EngineException("Failed to initialize bot: " + e.getMessage(), e);
         }
     }
 
+    private static void closeQuietly(ChessEngine engine) {
+        try {
+            engine.stop();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Gets the engine settings used by {@link #initializeBot(BotDifficulty)}. Unless set
+     * explicitly, they are read once from the engine settings file (see EngineOptions.loadDefault).
+     * 
+     * @return the engine settings
+     * @throws EngineException if the settings file cannot be read or is invalid
+     */
+    public synchronized EngineOptions getEngineOptions() throws EngineException {
+        if (engineOptions == null) {
+            try {
+                engineOptions = EngineOptions.loadDefault();
+            } catch (IOException | IllegalArgumentException e) {
+                throw new EngineException("Invalid engine settings: " + e.getMessage(), e);
+            }
+        }
+        return engineOptions;
+    }
+
+    /**
+     * Sets the engine settings used for subsequent bot initializations.
+     * 
+     * @param options the engine settings
+     */
+    public synchronized void setEngineOptions(EngineOptions options) {
+        this.engineOptions = Objects.requireNonNull(options, "options must not be null");
+    }
+
+    /**
+     * Sets a pool of pre-started engines for bot games to draw from. Engines are returned
+     * to the pool by {@link #shutdownBot()} or when the next bot game starts.
+     * 
+     * @param pool the engine pool, or null to start an engine per game
+     */
+    public synchronized void setEnginePool(EnginePool pool) {
+        this.enginePool = pool;
+    }
+
+    /**
+     * Gets the result of the startup benchmark of the current bot engine.
+     * 
+     * @return the benchmark result, or null if none was run or it failed
+     */
+    public synchronized BenchmarkResult getLastBenchmark() {
+        return lastBenchmark;
+    }
+
+    /**
+     * Starts Stockfish, or the built-in engine if Stockfish cannot be started.
+     * 
+     * @param difficulty the BotDifficulty level
+     * @return the started engine
+     */
+    private ChessEngine startStockfishOrFallback(BotDifficulty difficulty) {
+        StockfishEngine stockfish = new StockfishEngine();
+        try {
+            stockfish.start();
+            return stockfish;
+        } catch (IOException e) {
+            SearchEngine builtIn = new SearchEngine();
+            builtIn.setMaxMoveTime(difficulty.getThinkingTimeMs());
+            builtIn.start();
+            return builtIn;
+        }
+    }
+
     /**
      * Gets the best move from the bot for the current game position.
-     * Calculates appropriate search depth based on difficulty and queries the engine.
+     * The engine gets both clocks and budgets its own time for the move (see TimeManager);
+     * the difficulty only caps the search depth.
+     * If the bot has been pondering on the move that was actually played, the ponder
+     * search is converted into the real one and usually answers at once.
+     *
+     * The controller is only locked while the search is started, not while waiting for
+     * it, so other calls (undo, resign, save) are not blocked by a thinking bot.
      * 
      * @return the best move in UCI format (e.g., "e2e4")
      * @throws EngineException if bot is not initialized or move calculation fails
      */
-    public synchronized String getBotMove() throws EngineException {
-        if (engine == null) {
-            throw new EngineException("Bot not initialized");
+    public String getBotMove() throws EngineException {
+        ChessEngine searchingEngine;
+        CompletableFuture<SearchResult> future;
+        long timeoutMs;
+        synchronized (this) {
+            if (engine == null) {
+                throw new EngineException("Bot not initialized");
+            }
+            if (game == null) {
+                throw new EngineException("No active game");
+            }
+
+            Color sideToMove = game.getCurrentPlayerColor();
+            SearchRequest request = clockedRequest(game.getBoard(), sideToMove).build();
+            searchingEngine = engine;
+            future = takePonderHit(sideToMove);
+            if (future == null) {
+                stopPondering();
+                lastSearchInfo = null;
+                future = engine.search(request);
+            }
+            // The engine should stop by itself well before; this guards against one that does not
+            timeoutMs = TimeManager.allocate(request, sideToMove).getHardLimitMs() + TimeManager.MOVE_OVERHEAD_MS;
         }
-        if (game == null) {
-            throw new EngineException("No active game");
+
+        SearchResult result = awaitSearch(searchingEngine, future, timeoutMs);
+        synchronized (this) {
+            lastBotResult = result;
+            SearchInfo info = lastSearchInfo;
+            if (info != null) {
+                botSearchNodes += info.getNodes();
+                botSearchTimeMs += info.getTimeMs();
+            }
+        }
+        return result.getBestMove();
+    }
+
+    private void forwardSearchInfo(SearchInfo info) {
+        lastSearchInfo = info;
+        for (SearchInfoListener listener : infoListeners) {
+            listener.onSearchInfo(info);
         }
+    }
+
+    /**
+     * Registers a listener for the bot's search progress. It stays registered across
+     * bot games and is called on the engine's thread, also while the bot ponders.
+     * 
+     * @param listener the listener
+     */
+    public void addSearchInfoListener(SearchInfoListener listener) {
+        infoListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addSearchInfoListener(SearchInfoListener)}.
+     * 
+     * @param listener the listener
+     */
+    public void removeSearchInfoListener(SearchInfoListener listener) {
+        infoListeners.remove(listener);
+    }
 
+    /**
+     * Gets the latest progress report of the bot's engine.
+     * 
+     * @return the report, or null if none arrived since the last search started
+     */
+    public SearchInfo getLastSearchInfo() {
+        return lastSearchInfo;
+    }
+
+    /**
+     * Gets the bot's average search speed over its moves in the current bot game.
+     * 
+     * @return nodes per second, or 0 if the engine reported no progress
+     */
+    public synchronized long getBotNodesPerSecond() {
+        return botSearchTimeMs > 0 ? botSearchNodes * 1000 / botSearchTimeMs : 0;
+    }
+
+    /**
+     * Waits for a search. If it runs past the timeout, the engine is told to stop,
+     * which makes it report the best move found so far.
+     */
+    private static SearchResult awaitSearch(ChessEngine engine, CompletableFuture<SearchResult> future,
+                                            long timeoutMs) throws EngineException {
         try {
-            int depth = calculateDepthFromDifficulty(botDifficulty);
-            Color sideToMove = game.getCurrentPlayerColor();
-            String move = engine.bestMove(game.getBoard(), sideToMove, depth);
-            return move;
+            try {
+                return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                engine.stopSearch();
+                return future.get(STOP_GRACE_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException e) {
+            throw new EngineException("Bot failed to calculate move: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new EngineException("Bot failed to calculate move: no move found (timeout)", e);
         } catch (IOException e) {
             throw new EngineException("Bot failed to calculate move: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new EngineException("Interrupted while waiting for the bot", e);
+        }
+    }
+
+    /**
+     * Starts pondering on the reply the bot expects, if pondering is enabled and the
+     * engine predicted one with its last move. Call this after the bot's move has been
+     * applied to the game, while the opponent is to move.
+     */
+    public synchronized void startPondering() {
+        stopPondering();
+        if (!ponderEnabled || engine == null || game == null || lastBotResult == null
+                || lastBotResult.getPonderMove() == null) {
+            return;
+        }
+        Color opponent = game.getCurrentPlayerColor();
+        Board board = game.getBoard().copy();
+        board.setSideToMove(opponent);
+        int predicted = MoveGenerator.findLegalMove(board, opponent, lastBotResult.getPonderMove());
+        if (predicted == PackedMove.NONE) {
+            return;
         }
+        SearchRequest request = clockedRequest(game.getBoard(), opponent)
+                .ponder(lastBotResult.getPonderMove())
+                .build();
+        board.makeMove(predicted, new UndoInfo());
+        ponderKey = board.hash();
+        ponderSearch = engine.search(request);
+    }
+
+    /**
+     * Returns the running ponder search converted into a normal search if the game
+     * reached the position it was pondering on, or null if there is no such search.
+     */
+    private CompletableFuture<SearchResult> takePonderHit(Color sideToMove) {
+        CompletableFuture<SearchResult> pondered = ponderSearch;
+        if (pondered == null || pondered.isDone()) {
+            return null;
+        }
+        Board board = game.getBoard().copy();
+        board.setSideToMove(sideToMove);
+        if (board.hash() != ponderKey) {
+            return null;
+        }
+        try {
+            engine.ponderHit();
+        } catch (IOException e) {
+            return null;
+        }
+        ponderSearch = null;
+        return pondered;
+    }
+
+    /**
+     * Abandons the running ponder search, if any.
+     */
+    private void stopPondering() {
+        CompletableFuture<SearchResult> pondered = ponderSearch;
+        ponderSearch = null;
+        if (pondered != null && !pondered.isDone()) {
+            pondered.cancel(false);
+            try {
+                engine.stopSearch();
+            } catch (IOException ignored) {
+                // The engine is gone; the next search reports the error
+            }
+        }
+    }
+
+    /**
+     * Starts a request for a bot search with the difficulty's depth cap and the game clocks.
+     */
+    private SearchRequest.Builder clockedRequest(Board board, Color sideToMove) {
+        ChessClock clock = game.getClock();
+        long increment = clock.getIncrement();
+        // An empty clock would read as "no clock"; ask for the quickest move instead
+        return new SearchRequest.Builder(board, sideToMove)
+                .depth(calculateDepthFromDifficulty(botDifficulty))
+                .clock(Math.max(1, clock.getRemainingTime(Color.WHITE)),
+                        Math.max(1, clock.getRemainingTime(Color.BLACK)), increment, increment);
     }
 
     /**
@@ -656,6 +1058,8 @@ public class GameController
      */
     public synchronized void shutdownBot() throws EngineException {
         if (engine != null) {
+            stopPondering();
+            engine.removeSearchInfoListener(infoForwarder);
             try {
                 engine.stop();
                 engine = null;
@@ -729,18 +1133,17 @@ public class GameController
         playerName = playerName.trim();
 
         try {
+            // Initialize the bot first so the bot player is named after the engine actually used
+            initializeBot(difficulty);
+
             Player human = new Player(playerName, playerColor, false);
-            Player bot = new Player("Stockfish " + difficulty.name(), playerColor.opposite(), true);
+            Player bot = new Player(engine.getName() + " " + difficulty.name(), playerColor.opposite(), true);
 
             Player white = playerColor == Color.WHITE ? human : bot;
             Player black = playerColor == Color.BLACK ? human : bot;
 
-            // Set up the game first
             newGame(white, black, null);
 
-            // Then initialize the bot
-            initializeBot(difficulty);
-
             // Return true if bot is playing white (i.e., should move first)
             return bot.getColor() == Color.WHITE;
         } catch (EngineException e) {
@@ -0,0 +1,416 @@
+package chess.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Progress report of a running search, as sent in a UCI "info" line:
+ * depth, selective depth, score, nodes, speed, hash usage and principal variation.
+ * Scores are from the point of view of the side to move in the searched position.
+ *
+ * Fields the engine did not report are 0 (hashfull: -1) and the PV is empty.
+ */
+public final class SearchInfo {
+    private final int depth;
+    private final int selDepth;
+    private final int multiPv;
+    private final int scoreCp;
+    private final int mateIn;
+    private final boolean hasScore;
+    private final boolean mateScore;
+    private final boolean lowerBound;
+    private final boolean upperBound;
+    private final long nodes;
+    private final long nodesPerSecond;
+    private final long timeMs;
+    private final int hashFull;
+    private final List<String> pv;
+
+    private SearchInfo(Builder builder) {
+        this.depth = builder.depth;
+        this.selDepth = builder.selDepth;
+        this.multiPv = builder.multiPv;
+        this.scoreCp = builder.scoreCp;
+        this.mateIn = builder.mateIn;
+        this.hasScore = builder.hasScore;
+        this.mateScore = builder.mateScore;
+        this.lowerBound = builder.lowerBound;
+        this.upperBound = builder.upperBound;
+        this.nodes = builder.nodes;
+        this.nodesPerSecond = builder.nodesPerSecond;
+        this.timeMs = builder.timeMs;
+        this.hashFull = builder.hashFull;
+        this.pv = Collections.unmodifiableList(new ArrayList<>(builder.pv));
+    }
+
+    /**
+     * Parses a UCI info line such as
+     * "info depth 12 seldepth 18 multipv 1 score cp 35 nodes 120000 nps 900000 hashfull 12 time 133 pv e2e4 e7e5".
+     * Unknown fields are skipped.
+     *
+     * @param line the line from the engine
+     * @return the parsed info, or null if the line is not an info line or carries no
+     *         score or node count (e.g., "info string ..." or current-move updates)
+     */
+    public static SearchInfo parse(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        if (tokens.length < 2 || !tokens[0].equals("info")) {
+            return null;
+        }
+        Builder builder = new Builder();
+        boolean hasNodes = false;
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                switch (tokens[i]) {
+                    case "depth":
+                        builder.depth(Integer.parseInt(tokens[++i]));
+                        break;
+                    case "seldepth":
+                        builder.selDepth(Integer.parseInt(tokens[++i]));
+                        break;
+                    case "multipv":
+                        builder.multiPv(Integer.parseInt(tokens[++i]));
+                        break;
+                    case "score":
+                        String kind = tokens[++i];
+                        int value = Integer.parseInt(tokens[++i]);
+                        if (kind.equals("mate")) {
+                            builder.mate(value);
+                        } else {
+                            builder.score(value);
+                        }
+                        break;
+                    case "lowerbound":
+                        builder.lowerBound = true;
+                        break;
+                    case "upperbound":
+                        builder.upperBound = true;
+                        break;
+                    case "nodes":
+                        builder.nodes(Long.parseLong(tokens[++i]));
+                        hasNodes = true;
+                        break;
+                    case "nps":
+                        builder.nodesPerSecond(Long.parseLong(tokens[++i]));
+                        break;
+                    case "time":
+                        builder.timeMs(Long.parseLong(tokens[++i]));
+                        break;
+                    case "hashfull":
+                        builder.hashFull(Integer.parseInt(tokens[++i]));
+                        break;
+                    case "pv":
+                        while (i + 1 < tokens.length) {
+                            builder.pv.add(tokens[++i]);
+                        }
+                        break;
+                    case "string":
+                        return null;  // Free text for humans, not search progress
+                    default:
+                        break;  // currmove, tbhits, wdl, ...: not tracked
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return null;  // Malformed line
+        }
+        return builder.hasScore || hasNodes ? builder.build() : null;
+    }
+
+    /**
+     * Gets the nominal search depth reached.
+     *
+     * @return the depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the selective depth, the deepest line searched including extensions.
+     *
+     * @return the depth in plies, 0 if not reported
+     */
+    public int getSelDepth() {
+        return selDepth;
+    }
+
+    /**
+     * Gets which principal variation this is when the engine reports several (MultiPV).
+     *
+     * @return the 1-based line number
+     */
+    public int getMultiPv() {
+        return multiPv;
+    }
+
+    /**
+     * Checks whether the report carries a score; speed-only reports do not.
+     *
+     * @return true if a centipawn or mate score was reported
+     */
+    public boolean hasScore() {
+        return hasScore;
+    }
+
+    /**
+     * Gets the score in centipawns. Meaningless if {@link #isMateScore()}.
+     *
+     * @return the score from the side to move's point of view
+     */
+    public int getScoreCp() {
+        return scoreCp;
+    }
+
+    /**
+     * Checks whether the score is a distance to mate rather than centipawns.
+     *
+     * @return true for mate scores (see getMateIn)
+     */
+    public boolean isMateScore() {
+        return mateScore;
+    }
+
+    /**
+     * Gets the distance to mate in moves.
+     *
+     * @return positive if the side to move mates, negative (or 0 if already mated) if it gets mated
+     */
+    public int getMateIn() {
+        return mateIn;
+    }
+
+    /**
+     * Checks whether the score is only a bound (the search failed high or low and is re-searching).
+     *
+     * @return true for a lower or upper bound
+     */
+    public boolean isBound() {
+        return lowerBound || upperBound;
+    }
+
+    /**
+     * Gets the number of nodes searched so far.
+     *
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the search speed.
+     *
+     * @return nodes per second as reported, or computed from nodes and time if not reported
+     */
+    public long getNodesPerSecond() {
+        if (nodesPerSecond > 0 || timeMs <= 0) {
+            return nodesPerSecond;
+        }
+        return nodes * 1000 / timeMs;
+    }
+
+    /**
+     * Gets the time the search has been running.
+     *
+     * @return the elapsed milliseconds
+     */
+    public long getTimeMs() {
+        return timeMs;
+    }
+
+    /**
+     * Gets how full the engine's hash table is.
+     *
+     * @return the fill in permille (0-1000), or -1 if not reported
+     */
+    public int getHashFull() {
+        return hashFull;
+    }
+
+    /**
+     * Gets the principal variation.
+     *
+     * @return the moves in UCI format, best move first (unmodifiable)
+     */
+    public List<String> getPv() {
+        return pv;
+    }
+
+    /**
+     * Formats the score the way chess GUIs do, e.g. "+0.35", "-1.20", "#3" or "#-2".
+     *
+     * @return the formatted score
+     */
+    public String formatScore() {
+        if (isMateScore()) {
+            return "#" + mateIn;
+        }
+        return String.format("%+.2f", scoreCp / 100.0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("depth ").append(depth);
+        if (selDepth > 0) {
+            sb.append('/').append(selDepth);
+        }
+        if (hasScore) {
+            sb.append(" score ").append(formatScore());
+        }
+        sb.append(String.format(" nodes %,d nps %,d", nodes, getNodesPerSecond()));
+        if (hashFull >= 0) {
+            sb.append(" hashfull ").append(hashFull);
+        }
+        if (!pv.isEmpty()) {
+            sb.append(" pv ").append(String.join(" ", pv));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builder for SearchInfo, used by engines that report progress without going through UCI text.
+     */
+    public static final class Builder {
+        private int depth;
+        private int selDepth;
+        private int multiPv = 1;
+        private int scoreCp;
+        private int mateIn;
+        private boolean hasScore;
+        private boolean mateScore;
+        private boolean lowerBound;
+        private boolean upperBound;
+        private long nodes;
+        private long nodesPerSecond;
+        private long timeMs;
+        private int hashFull = -1;
+        private final List<String> pv = new ArrayList<>();
+
+        /**
+         * Sets the nominal search depth.
+         *
+         * @param depth the depth in plies
+         * @return this builder for chaining
+         */
+        public Builder depth(int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        /**
+         * Sets the selective depth.
+         *
+         * @param selDepth the depth in plies
+         * @return this builder for chaining
+         */
+        public Builder selDepth(int selDepth) {
+            this.selDepth = selDepth;
+            return this;
+        }
+
+        /**
+         * Sets which principal variation this is.
+         *
+         * @param multiPv the 1-based line number
+         * @return this builder for chaining
+         */
+        public Builder multiPv(int multiPv) {
+            this.multiPv = multiPv;
+            return this;
+        }
+
+        /**
+         * Sets a centipawn score, replacing any mate score.
+         *
+         * @param scoreCp the score from the side to move's point of view
+         * @return this builder for chaining
+         */
+        public Builder score(int scoreCp) {
+            this.scoreCp = scoreCp;
+            this.mateIn = 0;
+            this.mateScore = false;
+            this.hasScore = true;
+            return this;
+        }
+
+        /**
+         * Sets a mate score.
+         *
+         * @param mateIn the distance to mate in moves, negative if the side to move gets mated
+         * @return this builder for chaining
+         */
+        public Builder mate(int mateIn) {
+            this.mateIn = mateIn;
+            this.mateScore = true;
+            this.hasScore = true;
+            return this;
+        }
+
+        /**
+         * Sets the number of nodes searched.
+         *
+         * @param nodes the node count
+         * @return this builder for chaining
+         */
+        public Builder nodes(long nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        /**
+         * Sets the search speed.
+         *
+         * @param nodesPerSecond nodes per second
+         * @return this builder for chaining
+         */
+        public Builder nodesPerSecond(long nodesPerSecond) {
+            this.nodesPerSecond = nodesPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets the time the search has been running.
+         *
+         * @param timeMs the elapsed milliseconds
+         * @return this builder for chaining
+         */
+        public Builder timeMs(long timeMs) {
+            this.timeMs = timeMs;
+            return this;
+        }
+
+        /**
+         * Sets how full the hash table is.
+         *
+         * @param hashFull the fill in permille (0-1000)
+         * @return this builder for chaining
+         */
+        public Builder hashFull(int hashFull) {
+            this.hashFull = hashFull;
+            return this;
+        }
+
+        /**
+         * Sets the principal variation.
+         *
+         * @param pv the moves in UCI format, best move first
+         * @return this builder for chaining
+         */
+        public Builder pv(List<String> pv) {
+            this.pv.clear();
+            this.pv.addAll(pv);
+            return this;
+        }
+
+        /**
+         * Builds the SearchInfo.
+         *
+         * @return the info
+         */
+        public SearchInfo build() {
+            return new SearchInfo(this);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package chess.engine;
+
+/**
+ * Receives progress reports from a running search (see ChessEngine#addSearchInfoListener).
+ * Called on the engine's own thread, so implementations must be quick and thread-safe.
+ */
+@FunctionalInterface
+public interface SearchInfoListener {
+
+    /**
+     * Called whenever the engine reports progress, typically once per completed depth.
+     *
+     * @param info the progress report
+     */
+    void onSearchInfo(SearchInfo info);
+}
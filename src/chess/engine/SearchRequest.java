@@ -0,0 +1,245 @@
+package chess.engine;
+
+import chess.core.Board;
+import chess.core.Color;
+
+import java.util.Objects;
+
+/**
+ * A position to search and the limits of the search, passed to
+ * {@link ChessEngine#search(SearchRequest)}.
+ *
+ * With clock times set, the engine budgets its own time for the move (see TimeManager),
+ * the way "go wtime ... btime ..." works in UCI; an explicit move time takes precedence.
+ *
+ * A ponder request searches the position that arises after the expected reply
+ * (the ponder move) while the opponent is still thinking. It does not finish on its
+ * own: the engine keeps searching until {@link ChessEngine#ponderHit()} turns it into
+ * a normal search or {@link ChessEngine#stopSearch()} abandons it.
+ */
+public final class SearchRequest {
+    private final Board board;
+    private final Color sideToMove;
+    private final int depth;
+    private final long moveTimeMs;
+    private final long whiteTimeMs;
+    private final long blackTimeMs;
+    private final long whiteIncrementMs;
+    private final long blackIncrementMs;
+    private final String ponderMove;
+
+    private SearchRequest(Builder builder) {
+        this.board = builder.board.copy();
+        this.sideToMove = builder.sideToMove;
+        this.depth = builder.depth;
+        this.moveTimeMs = builder.moveTimeMs;
+        this.whiteTimeMs = builder.whiteTimeMs;
+        this.blackTimeMs = builder.blackTimeMs;
+        this.whiteIncrementMs = builder.whiteIncrementMs;
+        this.blackIncrementMs = builder.blackIncrementMs;
+        this.ponderMove = builder.ponderMove;
+    }
+
+    /**
+     * Gets the position to search. This is the request's own copy; engines must not modify it.
+     *
+     * @return the board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the color to find a move for.
+     *
+     * @return WHITE or BLACK
+     */
+    public Color getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Gets the maximum search depth.
+     *
+     * @return the depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the time budget for the move.
+     *
+     * @return the budget in milliseconds, or 0 to let the engine decide
+     */
+    public long getMoveTimeMs() {
+        return moveTimeMs;
+    }
+
+    /**
+     * Checks whether clock times were given.
+     *
+     * @return true if the engine should budget its time from the clocks
+     */
+    public boolean hasClock() {
+        return whiteTimeMs > 0 || blackTimeMs > 0;
+    }
+
+    /**
+     * Gets the time left on White's clock.
+     *
+     * @return the time in milliseconds, 0 if no clock was given
+     */
+    public long getWhiteTimeMs() {
+        return whiteTimeMs;
+    }
+
+    /**
+     * Gets the time left on Black's clock.
+     *
+     * @return the time in milliseconds, 0 if no clock was given
+     */
+    public long getBlackTimeMs() {
+        return blackTimeMs;
+    }
+
+    /**
+     * Gets White's increment per move.
+     *
+     * @return the increment in milliseconds
+     */
+    public long getWhiteIncrementMs() {
+        return whiteIncrementMs;
+    }
+
+    /**
+     * Gets Black's increment per move.
+     *
+     * @return the increment in milliseconds
+     */
+    public long getBlackIncrementMs() {
+        return blackIncrementMs;
+    }
+
+    /**
+     * Gets the expected reply to ponder on.
+     *
+     * @return the move in UCI format, or null for a normal search
+     */
+    public String getPonderMove() {
+        return ponderMove;
+    }
+
+    /**
+     * Checks whether this is a ponder search on the expected reply.
+     *
+     * @return true if a ponder move was given
+     */
+    public boolean isPonder() {
+        return ponderMove != null;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + depth + (moveTimeMs > 0 ? ", movetime " + moveTimeMs : "")
+                + (hasClock() ? ", wtime " + whiteTimeMs + ", btime " + blackTimeMs
+                        + ", winc " + whiteIncrementMs + ", binc " + blackIncrementMs : "")
+                + (ponderMove != null ? ", ponder " + ponderMove : "");
+    }
+
+    /**
+     * Builder for SearchRequest.
+     */
+    public static final class Builder {
+        private final Board board;
+        private final Color sideToMove;
+        private int depth;
+        private long moveTimeMs;
+        private long whiteTimeMs;
+        private long blackTimeMs;
+        private long whiteIncrementMs;
+        private long blackIncrementMs;
+        private String ponderMove;
+
+        /**
+         * Creates a builder for a position. The board is copied when the request is built.
+         *
+         * @param board the position
+         * @param sideToMove the color to move
+         */
+        public Builder(Board board, Color sideToMove) {
+            this.board = Objects.requireNonNull(board, "board must not be null");
+            this.sideToMove = Objects.requireNonNull(sideToMove, "sideToMove must not be null");
+        }
+
+        /**
+         * Sets the maximum search depth.
+         *
+         * @param depth the depth in plies
+         * @return this builder for chaining
+         */
+        public Builder depth(int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        /**
+         * Sets the time budget for the move.
+         *
+         * @param moveTimeMs the budget in milliseconds, or 0 to let the engine decide
+         * @return this builder for chaining
+         */
+        public Builder moveTime(long moveTimeMs) {
+            this.moveTimeMs = moveTimeMs;
+            return this;
+        }
+
+        /**
+         * Sets the time left on both clocks and the increments, for engines to budget their own time.
+         *
+         * @param whiteTimeMs White's remaining time in milliseconds
+         * @param blackTimeMs Black's remaining time in milliseconds
+         * @param whiteIncrementMs White's increment per move in milliseconds
+         * @param blackIncrementMs Black's increment per move in milliseconds
+         * @return this builder
+         */
+        public Builder clock(long whiteTimeMs, long blackTimeMs, long whiteIncrementMs, long blackIncrementMs) {
+            this.whiteTimeMs = whiteTimeMs;
+            this.blackTimeMs = blackTimeMs;
+            this.whiteIncrementMs = whiteIncrementMs;
+            this.blackIncrementMs = blackIncrementMs;
+            return this;
+        }
+
+        /**
+         * Makes this a ponder request: the engine searches the position after the given
+         * move of sideToMove, from the point of view of the opponent.
+         *
+         * @param ponderMove the expected move in UCI format
+         * @return this builder
+         */
+        public Builder ponder(String ponderMove) {
+            this.ponderMove = ponderMove;
+            return this;
+        }
+
+        /**
+         * Builds the SearchRequest.
+         *
+         * @return the request
+         * @throws IllegalArgumentException if the depth is not positive or a time is negative
+         */
+        public SearchRequest build() {
+            if (depth < 1) {
+                throw new IllegalArgumentException("Depth must be positive: " + depth);
+            }
+            if (moveTimeMs < 0) {
+                throw new IllegalArgumentException("Move time cannot be negative: " + moveTimeMs);
+            }
+            if (whiteTimeMs < 0 || blackTimeMs < 0 || whiteIncrementMs < 0 || blackIncrementMs < 0) {
+                throw new IllegalArgumentException("Clock times cannot be negative");
+            }
+            return new SearchRequest(this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package chess.engine;
+
+/**
+ * Outcome of a search: the move to play and, if the engine has one, the reply it expects.
+ */
+public final class SearchResult {
+    private final String bestMove;
+    private final String ponderMove;
+
+    /**
+     * Creates a SearchResult.
+     *
+     * @param bestMove the best move in UCI format
+     * @param ponderMove the expected reply in UCI format, or null if the engine gave none
+     */
+    public SearchResult(String bestMove, String ponderMove) {
+        this.bestMove = bestMove;
+        this.ponderMove = ponderMove;
+    }
+
+    /**
+     * Gets the move the engine chose.
+     *
+     * @return the move in UCI format
+     */
+    public String getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Gets the reply the engine expects, to ponder on during the opponent's turn.
+     *
+     * @return the move in UCI format, or null if unknown
+     */
+    public String getPonderMove() {
+        return ponderMove;
+    }
+
+    @Override
+    public String toString() {
+        return ponderMove != null ? bestMove + " (expects " + ponderMove + ")" : bestMove;
+    }
+}
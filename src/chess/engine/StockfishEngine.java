@@ -4,18 +4,54 @@ import chess.core.Board;
 import chess.core.Color;
 
 import java.io.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Stockfish UCI engine implementation.
  * Communicates with Stockfish via UCI protocol.
+ *
+ * A daemon reader thread consumes the engine's output as it arrives. A "bestmove" line
+ * completes the oldest pending search future immediately; every other line is queued for
+ * the command that is waiting for it (uciok, readyok). Search progress ("info" lines with
+ * a score or node count) is parsed and passed to the listeners instead. UCI answers every "go"
+ * with exactly one "bestmove", so a search that was cancelled still consumes its own answer
+ * and a late reply can never be mistaken for the result of the next search.
  */
 public class StockfishEngine implements ChessEngine {
 
+    // Upper bound on how long to wait for a bestmove after sending "stop"
+    private static final long STOP_GRACE_MS = 5000;
+    // Queued by the reader thread when the engine's output ends (compared by identity)
+    private static final String END_OF_OUTPUT = new String("<end of output>");
+
+    // Executable found by probing the common install locations, shared by all instances
+    private static volatile String cachedPath;
+
     private Process engine;
     private BufferedWriter writer;
     private BufferedReader reader;
-    private boolean isRunning;
+    private Thread readerThread;
+    private final BlockingQueue<String> outputLines = new LinkedBlockingQueue<>();
+    private final Queue<CompletableFuture<SearchResult>> pendingSearches = new ConcurrentLinkedQueue<>();
+    private volatile boolean pondering;
+    private final List<SearchInfoListener> infoListeners = new CopyOnWriteArrayList<>();
+    private volatile SearchInfo lastInfo;
+    private volatile boolean isRunning;
     private int skillLevel = 10;  // Default skill level
+    private EngineOptions options = EngineOptions.defaults();
+    private final Set<String> supportedOptions = new HashSet<>();  // Lower-case option names from the uci handshake
 
     /**
      * Starts the Stockfish engine process.
@@ -38,10 +74,15 @@ public class StockfishEngine implements ChessEngine {
 
             writer = new BufferedWriter(new OutputStreamWriter(engine.getOutputStream()));
             reader = new BufferedReader(new InputStreamReader(engine.getInputStream()));
+            outputLines.clear();
+            readerThread = new Thread(this::readOutput, "stockfish-reader");
+            readerThread.setDaemon(true);
+            readerThread.start();
 
             sendCommand("uci");
             waitForUciOk();
             isRunning = true;
+            applyOptions();
 
         } catch (Exception e) {
             throw new IOException("Failed to start Stockfish: " + e.getMessage(), e);
@@ -62,6 +103,12 @@ public class StockfishEngine implements ChessEngine {
             return envPath;
         }
 
+        // Probing forks a process per candidate, so reuse the result of an earlier search
+        String cached = cachedPath;
+        if (cached != null) {
+            return cached;
+        }
+
         // Check common macOS paths
         String[] paths = {
             "/usr/local/bin/stockfish",
@@ -78,6 +125,7 @@ public class StockfishEngine implements ChessEngine {
                 String line = br.readLine();
                 br.close();
                 if (line != null && line.contains("Stockfish")) {
+                    cachedPath = path;
                     return path;
                 }
             } catch (Exception ignored) {
@@ -107,6 +155,100 @@ public class StockfishEngine implements ChessEngine {
         }
     }
 
+    @Override
+    public String getName() {
+        return "Stockfish";
+    }
+
+    /**
+     * Applies Threads, Hash, MultiPV and NumaPolicy. Options the running Stockfish
+     * build does not advertise (e.g., NumaPolicy before Stockfish 17) are skipped.
+     * Settings given before start() are applied when the engine starts.
+     * 
+     * @param options the settings to apply
+     * @throws IOException if communication with engine fails
+     */
+    @Override
+    public void configure(EngineOptions options) throws IOException {
+        boolean changed = !options.hasSameEngineSettings(this.options);
+        this.options = options;
+        if (isRunning && changed) {
+            applyOptions();
+        }
+    }
+
+    /**
+     * Clears Stockfish's hash and history with ucinewgame and waits until it is ready.
+     * 
+     * @throws IOException if the engine is not running or does not respond
+     */
+    @Override
+    public void newGame() throws IOException {
+        if (!isRunning) {
+            throw new IOException("Engine not running");
+        }
+        sendCommand("ucinewgame");
+        waitReady();
+    }
+
+    /**
+     * Checks that the process is alive and answers isready.
+     * 
+     * @return true if the engine responded with readyok
+     */
+    @Override
+    public boolean isReady() {
+        if (!isRunning || engine == null || !engine.isAlive()) {
+            return false;
+        }
+        try {
+            waitReady();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void applyOptions() throws IOException {
+        setOptionIfSupported("Threads", String.valueOf(options.getThreads()));
+        setOptionIfSupported("Hash", String.valueOf(options.getHashMb()));
+        setOptionIfSupported("MultiPV", String.valueOf(options.getMultiPv()));
+        if (options.getNumaPolicy() != null) {
+            setOptionIfSupported("NumaPolicy", options.getNumaPolicy());
+        }
+        // Hash allocation happens here; readyok confirms the engine survived it
+        waitReady();
+    }
+
+    /**
+     * Searches the starting position for a fixed time and reports Stockfish's own node count.
+     * The hash is cleared afterwards with ucinewgame so the game starts fresh.
+     * 
+     * @param durationMs how long to search in milliseconds
+     * @return the nodes searched and the time taken
+     * @throws IOException if the engine is not running or no result arrives in time
+     */
+    @Override
+    public BenchmarkResult benchmark(long durationMs) throws IOException {
+        if (!isRunning) {
+            throw new IOException("Engine not running");
+        }
+        sendCommand("ucinewgame");
+        sendCommand("position startpos");
+        waitReady();
+
+        lastInfo = null;
+        long start = System.currentTimeMillis();
+        awaitBestMove(requestBestMove("go movetime " + durationMs), durationMs + STOP_GRACE_MS);
+        long elapsedMs = System.currentTimeMillis() - start;
+
+        // The last report before bestmove carries the total
+        SearchInfo info = lastInfo;
+        long nodes = info != null ? info.getNodes() : 0;
+        sendCommand("ucinewgame");
+        return new BenchmarkResult(getName(), options, nodes, elapsedMs);
+    }
+
     /**
      * Gets the best move for a position using UCI protocol.
      * Sends position in FEN format and searches to specified depth.
@@ -120,43 +262,266 @@ public class StockfishEngine implements ChessEngine {
      */
     @Override
     public String bestMove(Board board, Color sideToMove, int depth) throws IOException {
+        // Use depth search; the wait is only an upper bound, the move is returned as soon as it arrives
+        long waitTimeMs = Math.min(30000, Math.max(3000, depth * 500)); // dynamic timeout with caps
+        SearchRequest request = new SearchRequest.Builder(board, sideToMove).depth(depth).build();
+        return awaitBestMove(startSearch(request), waitTimeMs).getBestMove();
+    }
+
+    /**
+     * Starts a search and returns immediately. Cancelling the returned future stops the search.
+     * A ponder request is sent as "go ponder" on the position after the ponder move.
+     * 
+     * @param request the position and limits
+     * @return the future result; it fails if the engine is not running or busy with another search
+     */
+    @Override
+    public CompletableFuture<SearchResult> search(SearchRequest request) {
+        try {
+            CompletableFuture<SearchResult> future = startSearch(request);
+            future.whenComplete((result, error) -> {
+                if (future.isCancelled()) {
+                    try {
+                        stopSearch();
+                    } catch (IOException ignored) {
+                        // The engine is gone; nothing left to stop
+                    }
+                }
+            });
+            return future;
+        } catch (IOException e) {
+            CompletableFuture<SearchResult> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private synchronized CompletableFuture<SearchResult> startSearch(SearchRequest request) throws IOException {
         if (!isRunning) {
             throw new IOException("Engine not running");
         }
 
-        String fen = FenUtil.generateFEN(board, sideToMove);
-        
+        String fen = FenUtil.generateFEN(request.getBoard(), request.getSideToMove());
+
         // Send position and wait until engine is ready
-        sendCommand("position fen " + fen);
+        sendCommand("position fen " + fen + (request.isPonder() ? " moves " + request.getPonderMove() : ""));
         waitReady();
 
-        // Use depth search; allow more time for deeper searches
-        sendCommand("go depth " + depth);
+        StringBuilder go = new StringBuilder("go");
+        if (request.isPonder()) {
+            go.append(" ponder");
+        }
+        go.append(" depth ").append(request.getDepth());
+        if (request.getMoveTimeMs() > 0) {
+            go.append(" movetime ").append(request.getMoveTimeMs());
+        } else if (request.hasClock()) {
+            // Stockfish runs its own time management from the clocks
+            go.append(" wtime ").append(request.getWhiteTimeMs())
+                    .append(" btime ").append(request.getBlackTimeMs())
+                    .append(" winc ").append(request.getWhiteIncrementMs())
+                    .append(" binc ").append(request.getBlackIncrementMs());
+        }
+        CompletableFuture<SearchResult> future = requestBestMove(go.toString());
+        pondering = request.isPonder();
+        return future;
+    }
+
+    @Override
+    public boolean supportsPonder() {
+        return true;
+    }
 
-        long waitTimeMs = Math.min(30000, Math.max(3000, depth * 500)); // dynamic timeout with caps
-        String output = getOutput(waitTimeMs);
+    /**
+     * Sends "stop" if a search is running, including one whose future was cancelled.
+     * Stockfish answers with its best move so far.
+     * 
+     * @throws IOException if writing to engine fails
+     */
+    @Override
+    public void stopSearch() throws IOException {
+        if (!pendingSearches.isEmpty()) {
+            pondering = false;
+            sendCommand("stop");
+        }
+    }
 
-        for (String line : output.split("\n")) {
-            if (line.trim().startsWith("bestmove")) {
-                String[] parts = line.split("\\s+");
-                if (parts.length >= 2) {
-                    return parts[1];  // returns "e2e4"
-                }
+    /**
+     * Sends "ponderhit": the predicted move was played and the ponder search continues as a
+     * normal search of the position it was already analysing.
+     * 
+     * @throws IOException if no ponder search is running or writing to engine fails
+     */
+    @Override
+    public synchronized void ponderHit() throws IOException {
+        if (!pondering || !isSearching()) {
+            throw new IOException("Not pondering");
+        }
+        pondering = false;
+        sendCommand("ponderhit");
+    }
+
+    private boolean isSearching() {
+        for (CompletableFuture<SearchResult> pending : pendingSearches) {
+            if (!pending.isDone()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends a go command and returns a future that the reader thread completes with the
+     * move from the engine's "bestmove" line.
+     * 
+     * @param goCommand the full go command (e.g., "go depth 12")
+     * @return the future result
+     * @throws IOException if a search is already running or writing to engine fails
+     */
+    private synchronized CompletableFuture<SearchResult> requestBestMove(String goCommand) throws IOException {
+        if (isSearching()) {
+            throw new IOException("A search is already running");
+        }
+        CompletableFuture<SearchResult> future = new CompletableFuture<>();
+        pendingSearches.add(future);
+        sendCommand(goCommand);
+        return future;
+    }
+
+    /**
+     * Waits for a search to finish. If it runs past the timeout, the engine is told to
+     * stop, which makes it report the best move found so far.
+     * 
+     * @param future the future from requestBestMove
+     * @param timeoutMs how long to let the search run
+     * @return the best move in UCI format
+     * @throws IOException if the engine exits, or sends no bestmove even after being stopped
+     */
+    private SearchResult awaitBestMove(CompletableFuture<SearchResult> future, long timeoutMs) throws IOException {
+        try {
+            return getBestMove(future, timeoutMs);
+        } catch (TimeoutException e) {
+            sendCommand("stop");
+            try {
+                return getBestMove(future, STOP_GRACE_MS);
+            } catch (TimeoutException stillWaiting) {
+                throw new IOException("No bestmove found in engine output (timeout)");
             }
         }
+    }
 
-        // As a fallback, try one more read with a longer timeout
-        output = getOutput(5000);
-        for (String line : output.split("\n")) {
-            if (line.trim().startsWith("bestmove")) {
-                String[] parts = line.split("\\s+");
-                if (parts.length >= 2) {
-                    return parts[1];
+    private SearchResult getBestMove(CompletableFuture<SearchResult> future, long timeoutMs) throws IOException, TimeoutException {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendCommand("stop");
+            throw new IOException("Interrupted while waiting for bestmove", e);
+        }
+    }
+
+    /**
+     * Body of the reader thread. Completes the oldest pending search on "bestmove",
+     * publishes search progress and queues all other lines; when the engine's output
+     * ends, fails every pending search.
+     */
+    private void readOutput() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("bestmove")) {
+                    completeBestMove(line);
+                } else if (!line.startsWith("info ") || !publishInfo(line)) {
+                    outputLines.offer(line);
                 }
             }
+        } catch (IOException ignored) {
+            // Stream closed: the process exited or stop() destroyed it
+        } finally {
+            outputLines.offer(END_OF_OUTPUT);
+            CompletableFuture<SearchResult> pending;
+            while ((pending = pendingSearches.poll()) != null) {
+                pending.completeExceptionally(new IOException("Engine process exited"));
+            }
         }
+    }
+
+    /**
+     * Parses an info line and passes it to the listeners.
+     * 
+     * @param line the info line
+     * @return true if the line was search progress, false if it should be queued like other output
+     */
+    private boolean publishInfo(String line) {
+        SearchInfo info = SearchInfo.parse(line);
+        if (info == null) {
+            return false;
+        }
+        lastInfo = info;
+        for (SearchInfoListener listener : infoListeners) {
+            try {
+                listener.onSearchInfo(info);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not stop the reader thread
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void addSearchInfoListener(SearchInfoListener listener) {
+        infoListeners.add(listener);
+    }
+
+    @Override
+    public void removeSearchInfoListener(SearchInfoListener listener) {
+        infoListeners.remove(listener);
+    }
 
-        throw new IOException("No bestmove found in engine output (timeout)");
+    private void completeBestMove(String line) {
+        CompletableFuture<SearchResult> pending = pendingSearches.poll();
+        if (pending == null) {
+            return; // An answer to a search sent before this engine object took over
+        }
+        if (pendingSearches.isEmpty()) {
+            pondering = false;
+        }
+        String[] parts = line.trim().split("\\s+");
+        if (parts.length >= 2) {
+            // "bestmove e2e4 ponder e7e5"
+            String ponderMove = parts.length >= 4 && parts[2].equals("ponder") ? parts[3] : null;
+            pending.complete(new SearchResult(parts[1], ponderMove));
+        } else {
+            pending.completeExceptionally(new IOException("Malformed bestmove line: " + line));
+        }
+    }
+
+    /**
+     * Takes the next queued output line, waiting until the deadline.
+     * 
+     * @param deadline the System.currentTimeMillis() value to give up at
+     * @param what the awaited response, for the timeout message
+     * @return the line
+     * @throws IOException if the deadline passes or the engine's output has ended
+     */
+    private String nextLine(long deadline, String what) throws IOException {
+        String line;
+        try {
+            line = outputLines.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + what, e);
+        }
+        if (line == null) {
+            throw new IOException(what + " timeout");
+        }
+        if (line == END_OF_OUTPUT) {
+            outputLines.offer(END_OF_OUTPUT);  // Keep it visible to later waits
+            throw new IOException("Engine process exited");
+        }
+        return line;
     }
 
     /**
@@ -166,7 +531,7 @@ public class StockfishEngine implements ChessEngine {
      * @param command the UCI command to send
      * @throws IOException if writing to engine fails
      */
-    private void sendCommand(String command) throws IOException {
+    private synchronized void sendCommand(String command) throws IOException {
         if (writer == null) throw new IOException("Engine not initialized");
         writer.write(command + "\n");
         writer.flush();
@@ -180,64 +545,65 @@ public class StockfishEngine implements ChessEngine {
      * @throws IOException if timeout occurs or engine communication fails
      */
     private void waitForUciOk() throws IOException {
-        String line;
-        long timeout = System.currentTimeMillis() + 5000;
-        while ((line = reader.readLine()) != null) {
+        long deadline = System.currentTimeMillis() + 5000;
+        supportedOptions.clear();
+        while (true) {
+            String line = nextLine(deadline, "UCI initialization");
             if (line.contains("uciok")) return;
-            if (System.currentTimeMillis() > timeout) {
-                throw new IOException("UCI initialization timeout");
-            }
+            recordOption(line);
         }
     }
 
     /**
-     * Waits for Stockfish to return "readyok" response.
-     * Used to synchronize before sending move search commands.
-     * Times out after 5 seconds.
+     * Records the name of an option advertised as "option name &lt;name&gt; type ...".
      * 
-     * @throws IOException if timeout occurs or engine communication fails
+     * @param line a line of the uci handshake
      */
-    private void waitReady() throws IOException {
-        sendCommand("isready");
-        String line;
-        long timeout = System.currentTimeMillis() + 5000;
-        while ((line = reader.readLine()) != null) {
-            if (line.contains("readyok")) return;
-            if (System.currentTimeMillis() > timeout) {
-                throw new IOException("readyok timeout");
-            }
+    private void recordOption(String line) {
+        String trimmed = line.trim();
+        int typeIndex = trimmed.indexOf(" type ");
+        if (trimmed.startsWith("option name ") && typeIndex > 0) {
+            supportedOptions.add(trimmed.substring("option name ".length(), typeIndex).trim().toLowerCase(Locale.ROOT));
         }
     }
 
     /**
-     * Reads all available engine output for a limited time.
-     * Buffers all output from the engine within the specified timeout period.
-     * Useful for collecting engine analysis output.
+     * Checks whether the running engine advertised an option.
      * 
-     * @param waitTimeMs the maximum time in milliseconds to wait for output
-     * @return all buffered output lines concatenated with newlines
-     * @throws IOException if reading from engine fails
+     * @param name the option name (case-insensitive)
+     * @return true if the engine supports the option
      */
-    private String getOutput(long waitTimeMs) throws IOException {
-        StringBuilder buffer = new StringBuilder();
-        long start = System.currentTimeMillis();
+    public boolean supportsOption(String name) {
+        return supportedOptions.contains(name.toLowerCase(Locale.ROOT));
+    }
 
-        while (System.currentTimeMillis() - start < waitTimeMs) {
-            try {
-                if (reader.ready()) {
-                    String line = reader.readLine();
-                    if (line == null) break;
-                    buffer.append(line).append("\n");
-                }
-            } catch (Exception e) {
-                break;
-            }
-            try {
-                Thread.sleep(10);
-            } catch (InterruptedException ignored) {
-            }
+    /**
+     * Sends a setoption command if the engine supports the option.
+     * 
+     * @param name the option name
+     * @param value the value to set
+     * @throws IOException if writing to engine fails
+     */
+    private void setOptionIfSupported(String name, String value) throws IOException {
+        if (supportsOption(name)) {
+            sendCommand("setoption name " + name + " value " + value);
+        }
+    }
+
+    /**
+     * Waits for Stockfish to return "readyok" response.
+     * Used to synchronize before sending move search commands.
+     * Times out after 5 seconds.
+     * 
+     * @throws IOException if timeout occurs or engine communication fails
+     */
+    private void waitReady() throws IOException {
+        sendCommand("isready");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            String line = nextLine(deadline, "readyok");
+            if (line.contains("readyok")) return;
         }
-        return buffer.toString();
     }
 
     /**
@@ -252,7 +618,10 @@ public class StockfishEngine implements ChessEngine {
         if (engine != null) {
             try {
                 sendCommand("quit");
-                engine.waitFor();
+                if (!engine.waitFor(2, TimeUnit.SECONDS)) {
+                    engine.destroy();
+                }
+                readerThread.join(1000);
             } catch (Exception e) {
                 engine.destroy();
             }
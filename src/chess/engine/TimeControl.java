@@ -1,5 +1,7 @@
 package chess.engine;
 
+import chess.core.ChessClock;
+
 /**
  * Represents time control settings for a chess game.
  * Defines initial time and optional increment per move.
@@ -42,6 +44,15 @@ public class TimeControl {
         return incrementMs;
     }
 
+    /**
+     * Creates a clock set to this time control.
+     * 
+     * @return a new clock with the initial time and increment
+     */
+    public ChessClock createClock() {
+        return new ChessClock(initialTimeMs, incrementMs);
+    }
+
     /**
      * Creates common time control presets.
      */
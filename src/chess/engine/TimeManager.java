@@ -0,0 +1,123 @@
+package chess.engine;
+
+import chess.core.Color;
+
+/**
+ * Decides how long an engine may think about one move given its clock.
+ *
+ * The budget has two limits: after the soft limit no new search iteration is started,
+ * and at the hard limit the search is aborted. The soft limit spreads the remaining
+ * time over the moves still expected and adds most of the increment; the hard limit
+ * lets a search that is already running finish an iteration. Both stay within a
+ * quarter of the clock (an eighth in emergency mode), even when the increment is
+ * large next to the time left. Below EMERGENCY_TIME_MS the engine switches to emergency
+ * mode and moves quickly, living mostly off the increment.
+ */
+public final class TimeManager {
+    // Expected number of moves still to play in a sudden-death game
+    public static final int DEFAULT_MOVES_TO_GO = 30;
+    // Reserved per move for process communication and console latency
+    public static final long MOVE_OVERHEAD_MS = 50;
+    public static final long EMERGENCY_TIME_MS = 10_000;
+
+    private static final long MIN_MOVE_TIME_MS = 10;
+
+    private TimeManager() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Computes the budget for the next move.
+     *
+     * @param remainingMs the time left on the mover's clock in milliseconds
+     * @param incrementMs the increment the mover gets per move in milliseconds
+     * @return the time budget
+     * @throws IllegalArgumentException if a time is negative
+     */
+    public static TimeBudget allocate(long remainingMs, long incrementMs) {
+        if (remainingMs < 0 || incrementMs < 0) {
+            throw new IllegalArgumentException("Times cannot be negative: " + remainingMs + ", " + incrementMs);
+        }
+        long available = Math.max(0, remainingMs - MOVE_OVERHEAD_MS);
+        boolean emergency = available < EMERGENCY_TIME_MS;
+
+        long soft;
+        long hard;
+        long cap;
+        if (emergency) {
+            soft = available / (2 * DEFAULT_MOVES_TO_GO) + incrementMs / 2;
+            hard = soft * 2;
+            cap = available / 8;
+        } else {
+            soft = available / DEFAULT_MOVES_TO_GO + incrementMs * 3 / 4;
+            hard = soft * 4;
+            cap = available / 4;
+        }
+        // Never spend more than the cap's share of the clock, however large the
+        // increment, but always allow a minimal search
+        cap = Math.max(MIN_MOVE_TIME_MS, cap);
+        soft = Math.min(cap, Math.max(MIN_MOVE_TIME_MS, soft));
+        hard = Math.min(cap, Math.max(soft, hard));
+        return new TimeBudget(soft, hard, emergency);
+    }
+
+    /**
+     * Computes the budget for one side from the clock times in a search request.
+     *
+     * @param request a request with clock times (see SearchRequest#hasClock)
+     * @param side the side whose clock to budget
+     * @return the time budget
+     */
+    public static TimeBudget allocate(SearchRequest request, Color side) {
+        boolean white = side == Color.WHITE;
+        return allocate(white ? request.getWhiteTimeMs() : request.getBlackTimeMs(),
+                white ? request.getWhiteIncrementMs() : request.getBlackIncrementMs());
+    }
+
+    /**
+     * Time limits for one move.
+     */
+    public static final class TimeBudget {
+        private final long softLimitMs;
+        private final long hardLimitMs;
+        private final boolean emergency;
+
+        TimeBudget(long softLimitMs, long hardLimitMs, boolean emergency) {
+            this.softLimitMs = softLimitMs;
+            this.hardLimitMs = hardLimitMs;
+            this.emergency = emergency;
+        }
+
+        /**
+         * Gets the time after which no new search iteration should start.
+         *
+         * @return the soft limit in milliseconds
+         */
+        public long getSoftLimitMs() {
+            return softLimitMs;
+        }
+
+        /**
+         * Gets the time at which the search must stop.
+         *
+         * @return the hard limit in milliseconds
+         */
+        public long getHardLimitMs() {
+            return hardLimitMs;
+        }
+
+        /**
+         * Checks whether the clock is nearly out and the engine should move fast.
+         *
+         * @return true in emergency mode
+         */
+        public boolean isEmergency() {
+            return emergency;
+        }
+
+        @Override
+        public String toString() {
+            return "soft " + softLimitMs + " ms, hard " + hardLimitMs + " ms" + (emergency ? " (emergency)" : "");
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table for engine searches, keyed on a 64-bit position hash
+ * such as Board.hash() (pieces, side to move, castling rights and en passant file).
+ *
+ * Storage is a single primitive long[] holding buckets of two entries; each entry is
+ * two longs, the key and a packed data word. The first slot of a bucket is depth-preferred
+ * (kept unless the new result is at least as deep or the old one is from an earlier search),
+ * the second is always replaced. The generation counter advanced by {@link #newSearch()}
+ * lets results from previous searches age out of the depth-preferred slot.
+ *
+ * The key is stored XOR-ed with the data word, so an entry torn by a concurrent write
+ * fails verification and reads as a miss instead of returning mixed data.
+ * Statistics counters are not synchronized and are approximate under concurrent use.
+ *
+ * Data word layout: bits 0-15 move, 16-31 score (signed), 32-39 depth, 40-41 bound,
+ * 42-49 generation. Use the static accessors to decode a probed entry.
+ */
+public final class TranspositionTable {
+    public static final int BOUND_NONE = 0;
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    public static final int DEFAULT_SIZE_MB = 16;
+    public static final int MAX_SIZE_MB = 8192;
+
+    // Two entries of two longs (key, data) per bucket
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+    private static final int MAX_DEPTH = 0xFF;
+    private static final int GENERATION_MASK = 0xFF;
+
+    private long[] table;
+    private int bucketMask;
+    private int sizeMb;
+    private int generation;
+
+    private long probes;
+    private long hits;
+    private long stores;
+    private long collisions;
+    private long usedEntries;
+
+    /**
+     * Creates a table with the default size.
+     */
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    /**
+     * Creates a table of at most the given size. The bucket count is rounded down to a power of two.
+     *
+     * @param sizeMb the size in megabytes (1 to MAX_SIZE_MB)
+     * @throws IllegalArgumentException if the size is out of range
+     */
+    public TranspositionTable(int sizeMb) {
+        resize(sizeMb);
+    }
+
+    /**
+     * Reallocates the table, discarding all entries and statistics.
+     *
+     * @param sizeMb the size in megabytes (1 to MAX_SIZE_MB)
+     * @throws IllegalArgumentException if the size is out of range
+     */
+    public void resize(int sizeMb) {
+        if (sizeMb < 1 || sizeMb > MAX_SIZE_MB) {
+            throw new IllegalArgumentException("Hash size must be 1-" + MAX_SIZE_MB + " MB: " + sizeMb);
+        }
+        long buckets = Long.highestOneBit((long) sizeMb * 1024 * 1024 / BYTES_PER_BUCKET);
+        this.table = new long[(int) (buckets * LONGS_PER_BUCKET)];
+        this.bucketMask = (int) buckets - 1;
+        this.sizeMb = sizeMb;
+        this.generation = 0;
+        resetStatistics();
+        this.usedEntries = 0;
+    }
+
+    /**
+     * Removes every entry and resets the statistics, keeping the allocation.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+        usedEntries = 0;
+        resetStatistics();
+    }
+
+    /**
+     * Starts a new search generation. Entries from earlier generations become
+     * replaceable in the depth-preferred slot regardless of their depth.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key the position hash
+     * @return the packed data word (decode with move/score/depth/bound), or 0 if not found
+     */
+    public long probe(long key) {
+        probes++;
+        int index = bucketIndex(key);
+        for (int slot = index; slot < index + LONGS_PER_BUCKET; slot += 2) {
+            long data = table[slot + 1];
+            if (data != 0 && (table[slot] ^ data) == key) {
+                hits++;
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Stores a search result. If the position is already stored and no move is given,
+     * the previously stored move is kept.
+     *
+     * @param key the position hash
+     * @param move the best packed move, or 0 if none is known
+     * @param score the score, already adjusted by the caller for mate distance
+     * @param depth the remaining depth the score was searched to (clamped to 0-255)
+     * @param bound BOUND_EXACT, BOUND_LOWER or BOUND_UPPER
+     * @throws IllegalArgumentException if the bound is not one of the three stored kinds
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        if (bound != BOUND_EXACT && bound != BOUND_LOWER && bound != BOUND_UPPER) {
+            throw new IllegalArgumentException("Invalid bound: " + bound);
+        }
+        stores++;
+        int index = bucketIndex(key);
+        int depthSlot = index;
+        int alwaysSlot = index + 2;
+        depth = Math.max(0, Math.min(MAX_DEPTH, depth));
+
+        // Same position: update in place
+        int slot = -1;
+        if (matches(depthSlot, key)) {
+            slot = depthSlot;
+        } else if (matches(alwaysSlot, key)) {
+            slot = alwaysSlot;
+        }
+        if (slot >= 0) {
+            long old = table[slot + 1];
+            if (move == 0) {
+                move = move(old);
+            }
+            // Keep a deeper result of the current search in the depth-preferred slot
+            if (slot == depthSlot && depth < depth(old) && generation(old) == generation && bound != BOUND_EXACT) {
+                return;
+            }
+            write(slot, key, pack(move, score, depth, bound, generation));
+            return;
+        }
+
+        long depthData = table[depthSlot + 1];
+        if (depthData == 0 || generation(depthData) != generation || depth >= depth(depthData)) {
+            // The displaced entry moves to the always-replace slot
+            if (depthData != 0) {
+                countReplacement(alwaysSlot);
+                table[alwaysSlot] = table[depthSlot];
+                table[alwaysSlot + 1] = depthData;
+            } else {
+                usedEntries++;
+            }
+            write(depthSlot, key, pack(move, score, depth, bound, generation));
+        } else {
+            countReplacement(alwaysSlot);
+            write(alwaysSlot, key, pack(move, score, depth, bound, generation));
+        }
+    }
+
+    private boolean matches(int slot, long key) {
+        long data = table[slot + 1];
+        return data != 0 && (table[slot] ^ data) == key;
+    }
+
+    /**
+     * Counts the entry about to be overwritten in a slot: a new entry if the slot
+     * is empty, otherwise a collision with a different position.
+     */
+    private void countReplacement(int slot) {
+        if (table[slot + 1] == 0) {
+            usedEntries++;
+        } else {
+            collisions++;
+        }
+    }
+
+    private void write(int slot, long key, long data) {
+        table[slot] = key ^ data;
+        table[slot + 1] = data;
+    }
+
+    private int bucketIndex(long key) {
+        return ((int) key & bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    private static long pack(int move, int score, int depth, int bound, int generation) {
+        return (move & 0xFFFFL)
+                | ((score & 0xFFFFL) << 16)
+                | ((long) depth << 32)
+                | ((long) bound << 40)
+                | ((long) generation << 42);
+    }
+
+    /**
+     * Gets the stored move of a probed entry.
+     *
+     * @param data the data word returned by probe
+     * @return the packed move, or 0 if none was stored
+     */
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    /**
+     * Gets the stored score of a probed entry.
+     *
+     * @param data the data word returned by probe
+     * @return the score as stored
+     */
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    /**
+     * Gets the depth a probed entry was searched to.
+     *
+     * @param data the data word returned by probe
+     * @return the depth in plies
+     */
+    public static int depth(long data) {
+        return (int) ((data >>> 32) & MAX_DEPTH);
+    }
+
+    /**
+     * Gets the bound type of a probed entry.
+     *
+     * @param data the data word returned by probe
+     * @return BOUND_EXACT, BOUND_LOWER, BOUND_UPPER, or BOUND_NONE for a miss
+     */
+    public static int bound(long data) {
+        return (int) ((data >>> 40) & 3);
+    }
+
+    private static int generation(long data) {
+        return (int) ((data >>> 42) & GENERATION_MASK);
+    }
+
+    /**
+     * Gets the configured size.
+     *
+     * @return the size in megabytes
+     */
+    public int getSizeMb() {
+        return sizeMb;
+    }
+
+    /**
+     * Gets the number of entries the table can hold.
+     *
+     * @return the entry capacity
+     */
+    public long getCapacity() {
+        return (long) (bucketMask + 1) * 2;
+    }
+
+    /**
+     * Gets the number of lookups since the statistics were last reset.
+     *
+     * @return the probe count
+     */
+    public long getProbes() {
+        return probes;
+    }
+
+    /**
+     * Gets the number of lookups that found their position.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of entries written.
+     *
+     * @return the store count
+     */
+    public long getStores() {
+        return stores;
+    }
+
+    /**
+     * Gets the number of stores that overwrote an entry for a different position.
+     *
+     * @return the collision count
+     */
+    public long getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * Gets the fraction of probes that found their position.
+     *
+     * @return the hit rate (0.0 to 1.0)
+     */
+    public double getHitRate() {
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    /**
+     * Gets the fraction of entries in use.
+     *
+     * @return the fill ratio (0.0 to 1.0)
+     */
+    public double getFillRatio() {
+        return (double) usedEntries / getCapacity();
+    }
+
+    /**
+     * Resets the probe, hit, store and collision counters without touching the entries.
+     */
+    public void resetStatistics() {
+        probes = 0;
+        hits = 0;
+        stores = 0;
+        collisions = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d MB, %.1f%% full, %,d probes, %.1f%% hits, %,d collisions",
+                sizeMb, getFillRatio() * 100, probes, getHitRate() * 100, collisions);
+    }
+}
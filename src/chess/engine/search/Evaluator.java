@@ -0,0 +1,165 @@
+package chess.engine.search;
+
+import chess.core.Bitboards;
+import chess.core.Board;
+import chess.core.Color;
+
+/**
+ * Static evaluation: material plus piece-square tables, tapered between middlegame
+ * and endgame by the amount of non-pawn material left on the board.
+ * Scores are in centipawns from the point of view of the side to move.
+ *
+ * Tables are written from White's side with rank 8 on the first row, so they read
+ * like a diagram; Black's pieces use the vertically mirrored square.
+ */
+public final class Evaluator {
+
+    // Indexed by Bitboards kind (PAWN..KING)
+    static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+    private static final int MAX_PHASE = 24;
+
+    private static final int BISHOP_PAIR_BONUS = 30;
+
+    private static final int[] PAWN_TABLE = {
+         0,  0,  0,  0,  0,  0,  0,  0,
+        50, 50, 50, 50, 50, 50, 50, 50,
+        10, 10, 20, 30, 30, 20, 10, 10,
+         5,  5, 10, 25, 25, 10,  5,  5,
+         0,  0,  0, 20, 20,  0,  0,  0,
+         5, -5,-10,  0,  0,-10, -5,  5,
+         5, 10, 10,-20,-20, 10, 10,  5,
+         0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] PAWN_END_TABLE = {
+          0,  0,  0,  0,  0,  0,  0,  0,
+         80, 80, 80, 80, 80, 80, 80, 80,
+         50, 50, 50, 50, 50, 50, 50, 50,
+         30, 30, 30, 30, 30, 30, 30, 30,
+         20, 20, 20, 20, 20, 20, 20, 20,
+         10, 10, 10, 10, 10, 10, 10, 10,
+          0,  0,  0,  0,  0,  0,  0,  0,
+          0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] KNIGHT_TABLE = {
+        -50,-40,-30,-30,-30,-30,-40,-50,
+        -40,-20,  0,  0,  0,  0,-20,-40,
+        -30,  0, 10, 15, 15, 10,  0,-30,
+        -30,  5, 15, 20, 20, 15,  5,-30,
+        -30,  0, 15, 20, 20, 15,  0,-30,
+        -30,  5, 10, 15, 15, 10,  5,-30,
+        -40,-20,  0,  5,  5,  0,-20,-40,
+        -50,-40,-30,-30,-30,-30,-40,-50
+    };
+
+    private static final int[] BISHOP_TABLE = {
+        -20,-10,-10,-10,-10,-10,-10,-20,
+        -10,  0,  0,  0,  0,  0,  0,-10,
+        -10,  0,  5, 10, 10,  5,  0,-10,
+        -10,  5,  5, 10, 10,  5,  5,-10,
+        -10,  0, 10, 10, 10, 10,  0,-10,
+        -10, 10, 10, 10, 10, 10, 10,-10,
+        -10,  5,  0,  0,  0,  0,  5,-10,
+        -20,-10,-10,-10,-10,-10,-10,-20
+    };
+
+    private static final int[] ROOK_TABLE = {
+          0,  0,  0,  0,  0,  0,  0,  0,
+          5, 10, 10, 10, 10, 10, 10,  5,
+         -5,  0,  0,  0,  0,  0,  0, -5,
+         -5,  0,  0,  0,  0,  0,  0, -5,
+         -5,  0,  0,  0,  0,  0,  0, -5,
+         -5,  0,  0,  0,  0,  0,  0, -5,
+         -5,  0,  0,  0,  0,  0,  0, -5,
+          0,  0,  0,  5,  5,  0,  0,  0
+    };
+
+    private static final int[] QUEEN_TABLE = {
+        -20,-10,-10, -5, -5,-10,-10,-20,
+        -10,  0,  0,  0,  0,  0,  0,-10,
+        -10,  0,  5,  5,  5,  5,  0,-10,
+         -5,  0,  5,  5,  5,  5,  0, -5,
+          0,  0,  5,  5,  5,  5,  0, -5,
+        -10,  5,  5,  5,  5,  5,  0,-10,
+        -10,  0,  5,  0,  0,  0,  0,-10,
+        -20,-10,-10, -5, -5,-10,-10,-20
+    };
+
+    private static final int[] KING_TABLE = {
+        -30,-40,-40,-50,-50,-40,-40,-30,
+        -30,-40,-40,-50,-50,-40,-40,-30,
+        -30,-40,-40,-50,-50,-40,-40,-30,
+        -30,-40,-40,-50,-50,-40,-40,-30,
+        -20,-30,-30,-40,-40,-30,-30,-20,
+        -10,-20,-20,-20,-20,-20,-20,-10,
+         20, 20,  0,  0,  0,  0, 20, 20,
+         20, 30, 10,  0,  0, 10, 30, 20
+    };
+
+    private static final int[] KING_END_TABLE = {
+        -50,-40,-30,-20,-20,-30,-40,-50,
+        -30,-20,-10,  0,  0,-10,-20,-30,
+        -30,-10, 20, 30, 30, 20,-10,-30,
+        -30,-10, 30, 40, 40, 30,-10,-30,
+        -30,-10, 30, 40, 40, 30,-10,-30,
+        -30,-10, 20, 30, 30, 20,-10,-30,
+        -30,-30,  0,  0,  0,  0,-30,-30,
+        -50,-30,-30,-30,-30,-30,-30,-50
+    };
+
+    // Middlegame and endgame tables per Bitboards kind
+    private static final int[][] MIDDLEGAME_TABLES = {
+        PAWN_TABLE, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE, KING_TABLE
+    };
+    private static final int[][] ENDGAME_TABLES = {
+        PAWN_END_TABLE, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE, KING_END_TABLE
+    };
+
+    private Evaluator() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Evaluates a position.
+     *
+     * @param board the position
+     * @param sideToMove the side the score is reported for
+     * @return the score in centipawns, positive when {@code sideToMove} is better
+     */
+    public static int evaluate(Board board, Color sideToMove) {
+        Bitboards bb = board.getBitboards();
+        int middlegame = 0;
+        int endgame = 0;
+        int phase = 0;
+
+        for (Color color : Color.values()) {
+            int sign = color == Color.WHITE ? 1 : -1;
+            // White reads the diagram upside down (a1 is row 8); Black reads it as printed
+            int flip = color == Color.WHITE ? 56 : 0;
+            for (int kind = Bitboards.PAWN; kind <= Bitboards.KING; kind++) {
+                long pieces = bb.getPieces(kind, color);
+                int count = Long.bitCount(pieces);
+                phase += PHASE_WEIGHTS[kind] * count;
+                middlegame += sign * PIECE_VALUES[kind] * count;
+                endgame += sign * PIECE_VALUES[kind] * count;
+                while (pieces != 0) {
+                    int square = Long.numberOfTrailingZeros(pieces) ^ flip;
+                    pieces &= pieces - 1;
+                    middlegame += sign * MIDDLEGAME_TABLES[kind][square];
+                    endgame += sign * ENDGAME_TABLES[kind][square];
+                }
+            }
+            if (Long.bitCount(bb.getPieces(Bitboards.BISHOP, color)) >= 2) {
+                middlegame += sign * BISHOP_PAIR_BONUS;
+                endgame += sign * BISHOP_PAIR_BONUS;
+            }
+        }
+
+        phase = Math.min(phase, MAX_PHASE);
+        int score = (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+        return sideToMove == Color.WHITE ? score : -score;
+    }
+}
@@ -0,0 +1,490 @@
+package chess.engine.search;
+
+import chess.core.Board;
+import chess.core.Color;
+import chess.core.PackedMove;
+import chess.core.UndoInfo;
+import chess.engine.BenchmarkResult;
+import chess.engine.ChessEngine;
+import chess.engine.EngineOptions;
+import chess.engine.SearchInfo;
+import chess.engine.SearchInfoListener;
+import chess.engine.SearchRequest;
+import chess.engine.SearchResult;
+import chess.engine.TimeManager;
+import chess.engine.TranspositionTable;
+import chess.rules.MoveGenerator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Built-in chess engine written in pure Java, used when Stockfish is not installed.
+ * Runs an iterative-deepening alpha-beta search (see Searcher) on a copy of the board,
+ * bounded by both the requested depth and a per-move time budget. A transposition table
+ * is kept across moves, so later searches reuse what earlier ones learned.
+ *
+ * Searches run one at a time on a background thread, so {@link #search(SearchRequest)}
+ * returns at once and {@link #stopSearch()} can end a search early. Pondering searches
+ * the position after the expected reply without a time limit; a ponder hit then gives
+ * the search the normal move time, with the time already spent pondering counted.
+ *
+ * Below the maximum skill level the engine plays weaker on purpose: every root move is
+ * scored exactly and one is picked at random among those within a skill-dependent margin
+ * of the best score.
+ */
+public class SearchEngine implements ChessEngine {
+    public static final String NAME = "AFK2 Engine";
+    public static final int MAX_SKILL_LEVEL = 20;
+    public static final long DEFAULT_MOVE_TIME_MS = 1000;
+
+    // Centipawns of slack per skill level below the maximum
+    private static final int SKILL_MARGIN_CP = 15;
+
+    private final Random random = new Random();
+    private final TranspositionTable transpositionTable = new TranspositionTable();
+    private boolean isRunning;
+    private int skillLevel = MAX_SKILL_LEVEL;
+    private long moveTimeMs = DEFAULT_MOVE_TIME_MS;
+    private long maxMoveTimeMs;  // Cap on clock-derived budgets, 0 for none
+    private EngineOptions options = EngineOptions.defaults();
+    private ExecutorService executor;
+    private volatile ActiveSearch activeSearch;
+    private final List<SearchInfoListener> infoListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts the engine. There is no external process, only the thread searches run on.
+     */
+    @Override
+    public synchronized void start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "search-engine");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        isRunning = true;
+    }
+
+    /**
+     * Sets the playing strength.
+     *
+     * @param level the skill level (0-20 inclusive; 20 always plays the best move found)
+     * @throws IllegalArgumentException if level is not in range 0-20
+     */
+    @Override
+    public void setSkillLevel(int level) {
+        if (level < 0 || level > MAX_SKILL_LEVEL) {
+            throw new IllegalArgumentException("Skill level must be 0-20");
+        }
+        this.skillLevel = level;
+    }
+
+    /**
+     * Sets the time budget for each move of a request without clock times. The search
+     * stops at this limit even if the requested depth has not been reached.
+     *
+     * @param moveTimeMs the budget in milliseconds
+     * @throws IllegalArgumentException if the budget is not positive
+     */
+    public void setMoveTime(long moveTimeMs) {
+        if (moveTimeMs <= 0) {
+            throw new IllegalArgumentException("Move time must be positive: " + moveTimeMs);
+        }
+        this.moveTimeMs = moveTimeMs;
+    }
+
+    /**
+     * Gets the time budget for each move.
+     *
+     * @return the budget in milliseconds
+     */
+    public long getMoveTime() {
+        return moveTimeMs;
+    }
+
+    /**
+     * Sets the most time a move may take when the budget comes from clock times in
+     * the request (see TimeManager), e.g. to keep a weak bot quick on a long clock.
+     *
+     * @param maxMoveTimeMs the cap in milliseconds, or 0 for no cap
+     * @throws IllegalArgumentException if the cap is negative
+     */
+    public void setMaxMoveTime(long maxMoveTimeMs) {
+        if (maxMoveTimeMs < 0) {
+            throw new IllegalArgumentException("Maximum move time cannot be negative: " + maxMoveTimeMs);
+        }
+        this.maxMoveTimeMs = maxMoveTimeMs;
+    }
+
+    /**
+     * Gets the cap on clock-derived move budgets.
+     *
+     * @return the cap in milliseconds, or 0 if there is none
+     */
+    public long getMaxMoveTime() {
+        return maxMoveTimeMs;
+    }
+
+    /**
+     * Resizes the transposition table, discarding its contents.
+     *
+     * @param sizeMb the size in megabytes
+     * @throws IllegalArgumentException if the size is out of range
+     */
+    public void setHashSize(int sizeMb) {
+        transpositionTable.resize(sizeMb);
+    }
+
+    /**
+     * Gets the transposition table, e.g. to report its statistics.
+     *
+     * @return the table shared by all searches of this engine
+     */
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Applies the hash size (capped at TranspositionTable.MAX_SIZE_MB). The search is
+     * single-threaded and reports one line, so threads, MultiPV and NUMA hints are ignored.
+     *
+     * @param options the settings to apply
+     */
+    @Override
+    public void configure(EngineOptions options) {
+        int hashMb = Math.min(options.getHashMb(), TranspositionTable.MAX_SIZE_MB);
+        if (hashMb != transpositionTable.getSizeMb()) {
+            setHashSize(hashMb);
+        }
+        this.options = new EngineOptions.Builder(options).threads(1).multiPv(1).hashMb(hashMb).build();
+    }
+
+    /**
+     * Searches the starting position for a fixed time. The transposition table is
+     * cleared afterwards so the benchmark does not influence the game.
+     *
+     * @param durationMs how long to search in milliseconds
+     * @return the nodes searched and the time taken
+     * @throws IOException if the engine is not running
+     */
+    @Override
+    public BenchmarkResult benchmark(long durationMs) throws IOException {
+        if (!isRunning) {
+            throw new IOException("Engine not running");
+        }
+        Searcher searcher = new Searcher(new Board(), transpositionTable);
+        long start = System.nanoTime();
+        searcher.search(Color.WHITE, Searcher.MAX_PLY, durationMs);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        transpositionTable.clear();
+        return new BenchmarkResult(getName(), options, searcher.getNodes(), elapsedMs);
+    }
+
+    /**
+     * Clears the transposition table so nothing carries over from the previous game.
+     */
+    @Override
+    public void newGame() {
+        transpositionTable.clear();
+    }
+
+    @Override
+    public boolean isReady() {
+        return isRunning;
+    }
+
+    /**
+     * Searches the position and returns the chosen move.
+     *
+     * @param board the current board position (not modified)
+     * @param sideToMove the color to move
+     * @param depth the maximum search depth in plies
+     * @return the move in UCI format (e.g., "e2e4", "a7a8q")
+     * @throws IOException if the engine is not running or the side has no legal move
+     */
+    @Override
+    public String bestMove(Board board, Color sideToMove, int depth) throws IOException {
+        CompletableFuture<SearchResult> future = search(new SearchRequest.Builder(board, sideToMove).depth(depth).build());
+        try {
+            return future.get().getBestMove();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopSearch();
+            throw new IOException("Interrupted while searching", e);
+        }
+    }
+
+    /**
+     * Starts a search on the engine's thread. The move time of the request, if set,
+     * overrides the engine's own (see setMoveTime); otherwise clock times in the request
+     * are turned into soft and hard limits by TimeManager, capped by setMaxMoveTime.
+     * Cancelling the future stops the search.
+     *
+     * @param request the position and limits
+     * @return the future result; it fails if the engine is not running, another search is
+     *         still running, the ponder move is illegal or the side has no legal move
+     */
+    @Override
+    public synchronized CompletableFuture<SearchResult> search(SearchRequest request) {
+        CompletableFuture<SearchResult> future = new CompletableFuture<>();
+        ActiveSearch previous = activeSearch;
+        if (!isRunning) {
+            future.completeExceptionally(new IOException("Engine not running"));
+            return future;
+        }
+        if (previous != null && !previous.future.isDone()) {
+            future.completeExceptionally(new IOException("A search is already running"));
+            return future;
+        }
+
+        Board searchBoard = request.getBoard().copy();
+        Color side = request.getSideToMove();
+        searchBoard.setSideToMove(side);
+        if (request.isPonder()) {
+            int expected = MoveGenerator.findLegalMove(searchBoard, side, request.getPonderMove());
+            if (expected == PackedMove.NONE) {
+                future.completeExceptionally(new IOException("Illegal ponder move: " + request.getPonderMove()));
+                return future;
+            }
+            searchBoard.makeMove(expected, new UndoInfo());
+            side = side.opposite();
+        }
+
+        Searcher searcher = new Searcher(searchBoard, transpositionTable);
+        searcher.setExactRootScores(skillLevel < MAX_SKILL_LEVEL);
+        searcher.setInfoListener(this::publishInfo);
+        long softLimitMs;
+        long hardLimitMs;
+        if (request.getMoveTimeMs() > 0 || !request.hasClock()) {
+            hardLimitMs = request.getMoveTimeMs() > 0 ? request.getMoveTimeMs() : moveTimeMs;
+            softLimitMs = hardLimitMs / 2;
+        } else {
+            // A ponder request carries the clocks of the position before the predicted move,
+            // so the budget is computed for the engine's side, which moves after it
+            TimeManager.TimeBudget budget = TimeManager.allocate(request, side);
+            softLimitMs = budget.getSoftLimitMs();
+            hardLimitMs = budget.getHardLimitMs();
+            if (maxMoveTimeMs > 0) {
+                hardLimitMs = Math.min(hardLimitMs, maxMoveTimeMs);
+                softLimitMs = Math.min(softLimitMs, hardLimitMs);
+            }
+        }
+        if (request.isPonder()) {
+            searcher.setTimeLimits(Searcher.NO_TIME_LIMIT, Searcher.NO_TIME_LIMIT);
+        } else {
+            searcher.setTimeLimits(softLimitMs, hardLimitMs);
+        }
+
+        ActiveSearch search = new ActiveSearch(searcher, searchBoard, side, request.getDepth(),
+                softLimitMs, hardLimitMs, request.isPonder(), future);
+        activeSearch = search;
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                search.stop();
+            }
+        });
+        executor.execute(() -> run(search));
+        return future;
+    }
+
+    /**
+     * Runs a search on the engine's thread and completes its future. A ponder search
+     * that finishes early waits for the ponder hit (or stop) before reporting.
+     */
+    private void run(ActiveSearch search) {
+        if (search.future.isDone()) {
+            return; // Cancelled before it started
+        }
+        try {
+            Searcher searcher = search.searcher;
+            transpositionTable.newSearch();
+            int move = searcher.search(search.side, search.depth);
+            search.awaitPonderEnd();
+            if (move == PackedMove.NONE) {
+                search.future.completeExceptionally(new IOException("No legal move available"));
+                return;
+            }
+            if (skillLevel < MAX_SKILL_LEVEL) {
+                move = pickWeakenedMove(searcher);
+            }
+            search.future.complete(new SearchResult(PackedMove.toUci(move), expectedReply(search, move)));
+        } catch (InterruptedException e) {
+            search.future.completeExceptionally(new IOException("Search interrupted", e));
+        } catch (RuntimeException e) {
+            search.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Gets the reply to ponder on: the second move of the principal variation, or for a
+     * move picked off the main line, the hash move of the position after it.
+     */
+    private String expectedReply(ActiveSearch search, int move) {
+        int[] pv = search.searcher.getPrincipalVariation();
+        if (pv.length > 1 && pv[0] == move) {
+            return PackedMove.toUci(pv[1]);
+        }
+        UndoInfo undo = new UndoInfo();
+        search.board.makeMove(move, undo);
+        try {
+            int reply = TranspositionTable.move(transpositionTable.probe(search.board.hash()));
+            if (reply == PackedMove.NONE) {
+                return null;
+            }
+            String uci = PackedMove.toUci(reply);
+            // A hash move can be stale or from a colliding position; only offer a legal one
+            return MoveGenerator.findLegalMove(search.board, search.side.opposite(), uci) != PackedMove.NONE ? uci : null;
+        } finally {
+            search.board.unmakeMove(undo);
+        }
+    }
+
+    private void publishInfo(SearchInfo info) {
+        for (SearchInfoListener listener : infoListeners) {
+            try {
+                listener.onSearchInfo(info);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not abort the search
+            }
+        }
+    }
+
+    /**
+     * Registers a listener that receives a report after every completed search depth.
+     *
+     * @param listener the listener, called on the engine's search thread
+     */
+    @Override
+    public void addSearchInfoListener(SearchInfoListener listener) {
+        infoListeners.add(listener);
+    }
+
+    @Override
+    public void removeSearchInfoListener(SearchInfoListener listener) {
+        infoListeners.remove(listener);
+    }
+
+    @Override
+    public boolean supportsPonder() {
+        return true;
+    }
+
+    /**
+     * Stops the running search; it completes with the best move of the last finished iteration.
+     */
+    @Override
+    public void stopSearch() {
+        ActiveSearch search = activeSearch;
+        if (search != null) {
+            search.stop();
+        }
+    }
+
+    /**
+     * Gives the running ponder search the normal move time. Time spent pondering counts
+     * against it, so a long ponder answers at once.
+     *
+     * @throws IOException if no ponder search is running
+     */
+    @Override
+    public void ponderHit() throws IOException {
+        ActiveSearch search = activeSearch;
+        if (search == null || search.future.isDone() || !search.ponderHit()) {
+            throw new IOException("Not pondering");
+        }
+    }
+
+    /**
+     * Picks a random root move scoring within the skill margin of the best one.
+     * Root moves are sorted best-first, so the candidates form a prefix.
+     */
+    private int pickWeakenedMove(Searcher searcher) {
+        int margin = (MAX_SKILL_LEVEL - skillLevel) * SKILL_MARGIN_CP;
+        int bestScore = searcher.getRootScore(0);
+        int candidates = 1;
+        while (candidates < searcher.getRootMoveCount()
+                && searcher.getRootScore(candidates) >= bestScore - margin) {
+            candidates++;
+        }
+        return searcher.getRootMove(random.nextInt(candidates));
+    }
+
+    /**
+     * Stops the engine and any running search. Further searches fail until start() is called again.
+     */
+    @Override
+    public synchronized void stop() {
+        isRunning = false;
+        stopSearch();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * A search handed to the engine's thread, with the state shared with the caller's
+     * thread for stopping it and for ending a ponder.
+     */
+    private static final class ActiveSearch {
+        final Searcher searcher;
+        final Board board;
+        final Color side;
+        final int depth;
+        final long softLimitMs;
+        final long hardLimitMs;
+        final CompletableFuture<SearchResult> future;
+        private final CountDownLatch ponderEnd;
+        private boolean pondering;
+
+        ActiveSearch(Searcher searcher, Board board, Color side, int depth, long softLimitMs, long hardLimitMs,
+                     boolean ponder, CompletableFuture<SearchResult> future) {
+            this.searcher = searcher;
+            this.board = board;
+            this.side = side;
+            this.depth = depth;
+            this.softLimitMs = softLimitMs;
+            this.hardLimitMs = hardLimitMs;
+            this.future = future;
+            this.pondering = ponder;
+            this.ponderEnd = new CountDownLatch(ponder ? 1 : 0);
+        }
+
+        synchronized boolean ponderHit() {
+            if (!pondering) {
+                return false;
+            }
+            pondering = false;
+            searcher.setTimeLimitsSinceStart(softLimitMs, hardLimitMs);
+            ponderEnd.countDown();
+            return true;
+        }
+
+        synchronized void stop() {
+            pondering = false;
+            searcher.stop();
+            ponderEnd.countDown();
+        }
+
+        void awaitPonderEnd() throws InterruptedException {
+            ponderEnd.await();
+        }
+    }
+}
@@ -0,0 +1,666 @@
+package chess.engine.search;
+
+import chess.core.Bitboards;
+import chess.core.Board;
+import chess.core.Color;
+import chess.core.PackedMove;
+import chess.core.Piece;
+import chess.core.UndoInfo;
+import chess.engine.SearchInfo;
+import chess.engine.SearchInfoListener;
+import chess.engine.TranspositionTable;
+import chess.rules.Attacks;
+import chess.rules.MoveGenerator;
+import chess.rules.MoveList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Iterative-deepening alpha-beta search over packed moves.
+ * Each iteration runs a principal variation search (the first move gets the full
+ * window, the rest a null window that is widened only when they beat alpha), late
+ * quiet moves are searched one ply shallower first, and leaves are resolved with a
+ * quiescence search over captures and promotions.
+ *
+ * Results are stored in a shared TranspositionTable: its bounds cut off non-PV nodes
+ * whose position was already searched deeply enough, and its best move is tried first.
+ * Remaining moves are ordered by previous principal variation, MVV-LVA for captures,
+ * killer moves and the history heuristic. All per-ply buffers are allocated up front,
+ * so the search itself does not allocate.
+ *
+ * A searcher works on its own board, which it leaves unchanged when it returns.
+ * It is not thread-safe; only {@link #stop()} and the time limit setters may be
+ * called from another thread.
+ */
+final class Searcher {
+    static final int INFINITY = 32000;
+    static final int MATE = 31000;
+    static final int MAX_PLY = 128;
+    // Time limit for searches bounded by depth only, e.g. pondering
+    static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+
+    // Mate scores are MATE minus the distance in plies, so anything above this is a forced mate
+    static final int MATE_BOUND = MATE - MAX_PLY;
+
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private static final int HASH_MOVE_SCORE = 3_000_000;
+    private static final int PV_SCORE = 2_000_000;
+    private static final int CAPTURE_SCORE = 1_000_000;
+    private static final int KILLER_SCORE = 900_000;
+
+    private final Board board;
+    private final TranspositionTable table;
+    private final MoveList[] moveLists = new MoveList[MAX_PLY];
+    private final int[][] moveScores = new int[MAX_PLY][MoveList.CAPACITY];
+    private final UndoInfo[] undos = new UndoInfo[MAX_PLY];
+    private final long[] hashStack = new long[MAX_PLY + 1];
+
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[2][64 * 64];
+
+    private final int[][] pvTable = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+    private final int[] previousPv = new int[MAX_PLY];
+    private int previousPvLength;
+
+    private final MoveList rootMoves = new MoveList();
+    private final int[] rootScores = new int[MoveList.CAPACITY];
+    private boolean exactRootScores;
+
+    private long nodes;
+    private int selDepth;
+    private SearchInfoListener infoListener;
+    private volatile long startTime;
+    private volatile long softDeadline;  // No new iteration is started after this
+    private volatile long deadline;      // The running iteration is aborted after this
+    private int completedDepth;
+    private int bestMove;
+    private int bestScore;
+    private volatile boolean stopped;
+
+    /**
+     * Creates a searcher for a board.
+     *
+     * @param board the board to search; it is modified during the search and restored afterwards
+     * @param table the transposition table to read and fill
+     */
+    Searcher(Board board, TranspositionTable table) {
+        this.board = board;
+        this.table = table;
+        for (int i = 0; i < MAX_PLY; i++) {
+            moveLists[i] = new MoveList();
+            undos[i] = new UndoInfo();
+        }
+    }
+
+    /**
+     * Makes every root move be searched with a full window, so that {@link #getRootScore(int)}
+     * is exact for all of them rather than only for the best move. Slower; used to weaken play.
+     *
+     * @param exact true for exact root scores
+     */
+    void setExactRootScores(boolean exact) {
+        this.exactRootScores = exact;
+    }
+
+    /**
+     * Sets a listener that receives a progress report after every completed iteration.
+     * It is called on the searching thread.
+     *
+     * @param listener the listener, or null for none
+     */
+    void setInfoListener(SearchInfoListener listener) {
+        this.infoListener = listener;
+    }
+
+    /**
+     * Searches the position with iterative deepening until the depth or time limit is reached.
+     * Depth 1 is always completed, so a legal move is returned even with a tiny budget.
+     *
+     * @param side the color to move
+     * @param maxDepth the maximum depth in plies
+     * @param timeLimitMs the time budget in milliseconds
+     * @return the best packed move, or PackedMove.NONE if the side has no legal move
+     */
+    int search(Color side, int maxDepth, long timeLimitMs) {
+        setTimeLimit(timeLimitMs);
+        return search(side, maxDepth);
+    }
+
+    /**
+     * Searches under the time limits last set with {@link #setTimeLimits(long, long)}.
+     *
+     * @param side the color to move
+     * @param maxDepth the maximum depth in plies
+     * @return the best packed move, or PackedMove.NONE if the side has no legal move
+     */
+    int search(Color side, int maxDepth) {
+        long searchStart = System.nanoTime();
+        stopped = false;
+        nodes = 0;
+        selDepth = 0;
+        completedDepth = 0;
+        bestMove = PackedMove.NONE;
+        bestScore = 0;
+        previousPvLength = 0;
+
+        MoveGenerator.generateLegalMoves(board, side, rootMoves);
+        if (rootMoves.isEmpty()) {
+            return PackedMove.NONE;
+        }
+        hashStack[0] = board.hash();
+
+        int depthLimit = Math.max(1, Math.min(maxDepth, MAX_PLY - 1));
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            int score = searchRoot(side, depth);
+            if (stopped) {
+                break;
+            }
+            completedDepth = depth;
+            bestScore = score;
+            bestMove = pvTable[0][0];
+            previousPvLength = pvLength[0];
+            System.arraycopy(pvTable[0], 0, previousPv, 0, previousPvLength);
+            sortRootMoves();
+            if (infoListener != null) {
+                infoListener.onSearchInfo(buildInfo(depth, score, searchStart));
+            }
+
+            if (Math.abs(score) > MATE_BOUND && MATE - Math.abs(score) <= depth) {
+                break; // Forced mate found within the searched depth
+            }
+            // The next iteration takes several times as long; don't start one we cannot finish
+            if (System.nanoTime() > softDeadline) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Describes the iteration just completed in the terms of a UCI info line.
+     */
+    private SearchInfo buildInfo(int depth, int score, long searchStart) {
+        long timeMs = (System.nanoTime() - searchStart) / 1_000_000;
+        List<String> pv = new ArrayList<>(previousPvLength);
+        for (int i = 0; i < previousPvLength; i++) {
+            pv.add(PackedMove.toUci(previousPv[i]));
+        }
+        SearchInfo.Builder info = new SearchInfo.Builder()
+                .depth(depth)
+                .selDepth(selDepth)
+                .nodes(nodes)
+                .timeMs(timeMs)
+                .hashFull((int) (table.getFillRatio() * 1000))
+                .pv(pv);
+        if (score > MATE_BOUND) {
+            info.mate((MATE - score + 1) / 2);
+        } else if (score < -MATE_BOUND) {
+            info.mate(-(MATE + score) / 2);
+        } else {
+            info.score(score);
+        }
+        return info.build();
+    }
+
+    /**
+     * Sets a single time budget, counted from now: the search may use all of it, but does
+     * not start an iteration after half of it has passed.
+     *
+     * @param timeLimitMs the time budget in milliseconds, or NO_TIME_LIMIT
+     */
+    void setTimeLimit(long timeLimitMs) {
+        setTimeLimits(timeLimitMs == NO_TIME_LIMIT ? NO_TIME_LIMIT : timeLimitMs / 2, timeLimitMs);
+    }
+
+    /**
+     * Sets the time limits, counted from now. May be called while a search runs.
+     *
+     * @param softLimitMs the time after which no new iteration is started, or NO_TIME_LIMIT
+     * @param hardLimitMs the time after which the search is aborted, or NO_TIME_LIMIT
+     */
+    void setTimeLimits(long softLimitMs, long hardLimitMs) {
+        startTime = System.nanoTime();
+        setTimeLimitsSinceStart(softLimitMs, hardLimitMs);
+    }
+
+    /**
+     * Sets the time limits counted from when they were last set, so time already spent
+     * counts against them. Used when a ponder search becomes the real search.
+     *
+     * @param softLimitMs the time after which no new iteration is started, or NO_TIME_LIMIT
+     * @param hardLimitMs the time after which the search is aborted, or NO_TIME_LIMIT
+     */
+    void setTimeLimitsSinceStart(long softLimitMs, long hardLimitMs) {
+        long start = startTime;
+        softDeadline = softLimitMs == NO_TIME_LIMIT ? Long.MAX_VALUE : start + softLimitMs * 1_000_000L;
+        deadline = hardLimitMs == NO_TIME_LIMIT ? Long.MAX_VALUE : start + hardLimitMs * 1_000_000L;
+    }
+
+    /**
+     * Requests the running search to stop as soon as possible.
+     * The best move of the last completed iteration is returned.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    int getBestScore() {
+        return bestScore;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    int getRootMoveCount() {
+        return rootMoves.size();
+    }
+
+    int getRootMove(int index) {
+        return rootMoves.get(index);
+    }
+
+    /**
+     * Gets the score of a root move from the last completed iteration. Root moves are kept
+     * sorted best-first. Only the best score is exact unless exact root scores were requested.
+     *
+     * @param index the root move index
+     * @return the score in centipawns from the mover's point of view
+     */
+    int getRootScore(int index) {
+        return rootScores[index];
+    }
+
+    /**
+     * Gets the principal variation of the last completed iteration.
+     *
+     * @return the packed moves, starting with the best move
+     */
+    int[] getPrincipalVariation() {
+        int[] pv = new int[previousPvLength];
+        System.arraycopy(previousPv, 0, pv, 0, previousPvLength);
+        return pv;
+    }
+
+    private int searchRoot(Color side, int depth) {
+        Color them = side.opposite();
+        UndoInfo undo = undos[0];
+        int alpha = -INFINITY;
+        int beta = INFINITY;
+        int best = -INFINITY;
+        pvLength[0] = 0;
+
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            board.makeMove(move, undo);
+            hashStack[1] = board.hash();
+            int score;
+            if (i == 0 || exactRootScores) {
+                score = -search(depth - 1, 1, -beta, -alpha, them);
+            } else {
+                score = -search(depth - 1, 1, -alpha - 1, -alpha, them);
+                if (score > alpha && !stopped) {
+                    score = -search(depth - 1, 1, -beta, -alpha, them);
+                }
+            }
+            board.unmakeMove(undo);
+            if (stopped) {
+                return best;
+            }
+
+            rootScores[i] = score;
+            if (score > best) {
+                best = score;
+                updatePv(0, move);
+                if (score > alpha && !exactRootScores) {
+                    alpha = score;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Negamax alpha-beta with principal variation search. Returns a fail-soft score.
+     */
+    private int search(int depth, int ply, int alpha, int beta, Color side) {
+        pvLength[ply] = ply;
+        if (ply > selDepth) {
+            selDepth = ply;
+        }
+        if (isRepetition(ply)) {
+            return 0;
+        }
+
+        boolean inCheck = isInCheck(side);
+        if (inCheck) {
+            depth++; // Check extension: never drop into quiescence while in check
+        }
+        if (depth <= 0) {
+            return quiesce(ply, alpha, beta, side);
+        }
+        if (countNode()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(board, side);
+        }
+
+        // Transposition table: a deep enough bound ends a null-window node immediately
+        long key = hashStack[ply];
+        long entry = table.probe(key);
+        int hashMove = TranspositionTable.move(entry);
+        if (entry != 0 && beta - alpha == 1 && TranspositionTable.depth(entry) >= depth) {
+            int score = scoreFromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.BOUND_EXACT
+                    || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                    || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        int count = MoveGenerator.generateLegalMoves(board, side, moves);
+        if (count == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        scoreMoves(moves, ply, side, hashMove);
+
+        Color them = side.opposite();
+        UndoInfo undo = undos[ply];
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMoveHere = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(moves, ply, i);
+            boolean quiet = !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+
+            board.makeMove(move, undo);
+            hashStack[ply + 1] = board.hash();
+            int score;
+            if (i == 0) {
+                score = -search(depth - 1, ply + 1, -beta, -alpha, them);
+            } else {
+                // Late move reduction for quiet moves that ordering ranked low
+                int reduction = depth >= 3 && i >= 4 && quiet && !inCheck && !isKiller(ply, move) ? 1 : 0;
+                score = -search(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, them);
+                if (score > alpha && reduction > 0) {
+                    score = -search(depth - 1, ply + 1, -alpha - 1, -alpha, them);
+                }
+                if (score > alpha && score < beta) {
+                    score = -search(depth - 1, ply + 1, -beta, -alpha, them);
+                }
+            }
+            board.unmakeMove(undo);
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMoveHere = move;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        if (quiet) {
+                            recordQuietCutoff(ply, side, move, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best >= beta ? TranspositionTable.BOUND_LOWER
+                : best > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        table.store(key, bestMoveHere, scoreToTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Quiescence search: only captures and queen promotions (all evasions when in check),
+     * with the static evaluation as a lower bound when not in check.
+     */
+    private int quiesce(int ply, int alpha, int beta, Color side) {
+        pvLength[ply] = ply;
+        if (ply > selDepth) {
+            selDepth = ply;
+        }
+        if (countNode()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(board, side);
+        }
+
+        boolean inCheck = isInCheck(side);
+        MoveList moves = moveLists[ply];
+        int best;
+        int count;
+        if (inCheck) {
+            count = MoveGenerator.generateLegalMoves(board, side, moves);
+            if (count == 0) {
+                return -MATE + ply;
+            }
+            best = -INFINITY;
+        } else {
+            best = Evaluator.evaluate(board, side);
+            if (best >= beta) {
+                return best;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            count = MoveGenerator.generateLegalCaptures(board, side, moves);
+        }
+        scoreMoves(moves, ply, side, PackedMove.NONE);
+
+        Color them = side.opposite();
+        UndoInfo undo = undos[ply];
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(moves, ply, i);
+            if (!inCheck && PackedMove.isPromotion(move) && PackedMove.promotionKind(move) != Bitboards.QUEEN) {
+                continue;
+            }
+            board.makeMove(move, undo);
+            int score = -quiesce(ply + 1, -beta, -alpha, them);
+            board.unmakeMove(undo);
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts a node and polls the clock periodically. Returns true if the search must stop.
+     */
+    private boolean countNode() {
+        nodes++;
+        if ((nodes & (TIME_CHECK_INTERVAL - 1)) == 0 && completedDepth > 0 && System.nanoTime() > deadline) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Converts a mate score from distance-to-root to distance-to-this-node for storage,
+     * so the entry stays valid wherever the position recurs in the tree.
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score > MATE_BOUND) {
+            return score + ply;
+        }
+        if (score < -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score > MATE_BOUND) {
+            return score - ply;
+        }
+        if (score < -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private boolean isInCheck(Color side) {
+        long king = board.getBitboards().getPieces(Bitboards.KING, side);
+        return king != 0 && Attacks.isSquareAttacked(board, Long.numberOfTrailingZeros(king), side.opposite());
+    }
+
+    /**
+     * Checks whether the position at this ply already occurred earlier on the search path
+     * with the same side to move. A single repetition is scored as a draw.
+     */
+    private boolean isRepetition(int ply) {
+        long hash = hashStack[ply];
+        for (int i = ply - 2; i >= 0; i -= 2) {
+            if (hashStack[i] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Assigns an ordering score to every generated move at a ply.
+     */
+    private void scoreMoves(MoveList moves, int ply, Color side, int hashMove) {
+        int[] scores = moveScores[ply];
+        int pvMove = ply < previousPvLength ? previousPv[ply] : PackedMove.NONE;
+        int[] sideHistory = history[side.ordinal()];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score;
+            if (move == hashMove && hashMove != PackedMove.NONE) {
+                score = HASH_MOVE_SCORE;
+            } else if (move == pvMove) {
+                score = PV_SCORE;
+            } else if (PackedMove.isCapture(move)) {
+                score = CAPTURE_SCORE + captureOrder(move);
+            } else if (PackedMove.isPromotion(move)) {
+                score = CAPTURE_SCORE + PackedMove.promotionKind(move);
+            } else if (move == killers[ply][0]) {
+                score = KILLER_SCORE + 1;
+            } else if (move == killers[ply][1]) {
+                score = KILLER_SCORE;
+            } else {
+                score = sideHistory[move & 0xFFF];
+            }
+            scores[i] = score;
+        }
+    }
+
+    /**
+     * MVV-LVA: most valuable victim first, then least valuable attacker.
+     */
+    private int captureOrder(int move) {
+        int victim = Bitboards.PAWN;
+        if (!PackedMove.isEnPassant(move)) {
+            Piece captured = board.getPiece(PackedMove.to(move));
+            victim = captured.getType().ordinal();
+        }
+        int attacker = board.getPiece(PackedMove.from(move)).getType().ordinal();
+        int promotion = PackedMove.isPromotion(move) ? PackedMove.promotionKind(move) : 0;
+        return (victim + promotion) * 8 - attacker;
+    }
+
+    /**
+     * Selection sort step: swaps the best-scored remaining move into position {@code index}.
+     */
+    private int pickMove(MoveList moves, int ply, int index) {
+        int[] scores = moveScores[ply];
+        int bestIndex = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[bestIndex]) {
+                bestIndex = i;
+            }
+        }
+        int move = moves.get(bestIndex);
+        if (bestIndex != index) {
+            moves.set(bestIndex, moves.get(index));
+            moves.set(index, move);
+            int score = scores[bestIndex];
+            scores[bestIndex] = scores[index];
+            scores[index] = score;
+        }
+        return move;
+    }
+
+    private boolean isKiller(int ply, int move) {
+        return move == killers[ply][0] || move == killers[ply][1];
+    }
+
+    /**
+     * Updates killer moves and history after a quiet move caused a beta cutoff.
+     */
+    private void recordQuietCutoff(int ply, Color side, int move, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int[] sideHistory = history[side.ordinal()];
+        int index = move & 0xFFF;
+        sideHistory[index] += depth * depth;
+        if (sideHistory[index] >= HISTORY_LIMIT) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Makes {@code move} followed by the child's line the principal variation at {@code ply}.
+     */
+    private void updatePv(int ply, int move) {
+        int[] line = pvTable[ply];
+        line[ply] = move;
+        int childLength = pvLength[ply + 1];
+        for (int i = ply + 1; i < childLength; i++) {
+            line[i] = pvTable[ply + 1][i];
+        }
+        pvLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    /**
+     * Orders root moves best-first by the scores of the last completed iteration.
+     */
+    private void sortRootMoves() {
+        for (int i = 1; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            int score = rootScores[i];
+            int j = i - 1;
+            while (j >= 0 && rootScores[j] < score) {
+                rootMoves.set(j + 1, rootMoves.get(j));
+                rootScores[j + 1] = rootScores[j];
+                j--;
+            }
+            rootMoves.set(j + 1, move);
+            rootScores[j + 1] = score;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package chess.io;
 import chess.core.*;
 import chess.engine.GameController;
 import chess.engine.EngineException;
+import chess.engine.SearchInfoListener;
 import chess.rules.*;
 import chess.util.AlgebraicNotationUtil;
 
@@ -103,6 +104,9 @@ public class CommandHandler {
             case UNDO:
                 return handleUndo();
 
+            case REDO:
+                return handleRedo();
+
             case HELP:
                 ui.displayHelp();
                 return true;
@@ -180,18 +184,19 @@ public class CommandHandler {
     }
 
     /**
-     * Updates the game state after a move (check, checkmate, stalemate).
-     * Uses CheckDetector to analyze the current board position
-     * and updates the game's GameState accordingly.
-     * Currently a placeholder for full implementation.
+     * Updates the game state after a move (check, checkmate, stalemate, draws by rule).
+     * Uses the game's cached position status and leaves states set by
+     * commands (resignation, draw agreement, time out) alone.
      */
     private void updateGameState() {
         if (currentGame == null) {
             return;
         }
 
-        // This would need proper implementation with CheckDetector
-        // Placeholder for now
+        GameState existing = currentGame.getGameState();
+        if (existing == GameState.ONGOING || existing == GameState.CHECK) {
+            currentGame.setGameState(currentGame.getStatus().getState());
+        }
     }
 
     /**
@@ -374,6 +379,29 @@ public class CommandHandler {
         }
     }
 
+    /**
+     * Handles the redo command to replay the last undone move.
+     * Saves the game state first so the move can be undone again.
+     * 
+     * @return true to continue game loop, false to exit
+     */
+    private boolean handleRedo() {
+        if (currentGame == null) {
+            ui.displayError("No game in progress");
+            return true;
+        }
+
+        if (currentGame.canRedo()) {
+            undoManager.saveSnapshot(currentGame);
+            currentGame.redo();
+            ui.displayMessage("Move redone");
+            ui.displayBoard(currentGame.getBoard());
+        } else {
+            ui.displayError("No moves to redo");
+        }
+        return true;
+    }
+
     /**
      * Handles the exit command to terminate the application.
      * Prompts for confirmation if a game is in progress.
@@ -434,12 +462,24 @@ public class CommandHandler {
             undoManager.saveSnapshot(game);
             ui.displayMessage("Bot is thinking...");
 
-            // Get bot's best move in UCI format (e.g., "e2e4")
-            String uciMove = gameController.getBotMove();
+            // Get bot's best move in UCI format (e.g., "e2e4"), showing its progress meanwhile
+            SearchInfoListener progress = info -> {
+                if (!info.isBound() && info.getMultiPv() == 1) {
+                    ui.displaySearchInfo(info);
+                }
+            };
+            gameController.addSearchInfoListener(progress);
+            String uciMove;
+            try {
+                uciMove = gameController.getBotMove();
+            } finally {
+                gameController.removeSearchInfoListener(progress);
+            }
 
-            // Convert UCI move to coordinates
+            // Convert UCI move to coordinates (and promotion piece, e.g. "a7a8q")
             String from = uciMove.substring(0, 2);
             String to = uciMove.substring(2, 4);
+            PieceType promotion = uciMove.length() > 4 ? PromotionHandler.parsePromotionChoice(uciMove.charAt(4)) : null;
 
             // Check if this is a castling move in coordinate form
             String castleSan = AlgebraicNotationUtil.convertCastlingCoordinateToSan(from, to);
@@ -451,10 +491,12 @@ public class CommandHandler {
                 ui.displayMessage("Bot played: " + castleSan);
             } else {
                 // Apply regular move via coordinates
-                game.applyMove(from, to);
+                game.applyMove(Position.fromAlgebraic(from), Position.fromAlgebraic(to), promotion);
                 ui.displayMessage("Bot played: " + from + " → " + to);
             }
 
+            // Think about the expected reply while the player is deciding
+            gameController.startPondering();
             return true;
         } catch (Exception e) {
             ui.displayError("Bot move failed: " + e.getMessage());
@@ -12,7 +12,10 @@ public enum CommandType {
     DRAW_OFFER("draw", "Offer a draw"),
     DRAW_ACCEPT("accept", "Accept a draw offer"),
     UNDO("undo", "Undo the last move"),
+    REDO("redo", "Replay the last undone move"),
     HELP("help", "Show help information"),
+    PERFT("perft", "Count legal move paths to a depth (perft <depth>)"),
+    DIVIDE("divide", "Perft per root move (divide <depth>)"),
     EXIT("exit", "Exit the program");
 
     private final String command;
@@ -33,6 +36,7 @@ public enum CommandType {
 
     /**
      * Parses a command string to a CommandType.
+     * Only the first word is matched, so commands may carry arguments (e.g., "perft 4").
      * Returns null if the string doesn't match any command.
      * 
      * @param input the input string (case-insensitive)
@@ -43,7 +47,7 @@ public enum CommandType {
             return null;
         }
 
-        String command = input.trim().toLowerCase();
+        String command = input.trim().toLowerCase().split("\\s+", 2)[0];
 
         for (CommandType type : CommandType.values()) {
             if (command.equals(type.command)) {
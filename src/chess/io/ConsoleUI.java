@@ -148,6 +148,22 @@ public class ConsoleUI {
         System.out.println(ANSI_GREEN + message + ANSI_RESET);
     }
 
+    /**
+     * Displays a line of the bot's search progress, e.g. "  depth 12  +0.35  1,234,567 nodes/s  e2e4 e7e5 g1f3".
+     * 
+     * @param info the progress report
+     */
+    public void displaySearchInfo(chess.engine.SearchInfo info) {
+        StringBuilder line = new StringBuilder();
+        line.append(String.format("  depth %2d  %6s  %,d nodes/s", info.getDepth(),
+                info.hasScore() ? info.formatScore() : "", info.getNodesPerSecond()));
+        int shown = Math.min(6, info.getPv().size());
+        if (shown > 0) {
+            line.append("  ").append(String.join(" ", info.getPv().subList(0, shown)));
+        }
+        System.out.println(ANSI_BLUE + line + ANSI_RESET);
+    }
+
     /**
      * Displays a warning message.
      * 
@@ -188,6 +204,18 @@ public class ConsoleUI {
                 System.out.println(ANSI_YELLOW + "Draw by agreement." + ANSI_RESET);
                 break;
                 
+            case DRAW_BY_REPETITION:
+                System.out.println(ANSI_YELLOW + "Draw by threefold repetition." + ANSI_RESET);
+                break;
+                
+            case DRAW_BY_FIFTY_MOVE_RULE:
+                System.out.println(ANSI_YELLOW + "Draw by the fifty-move rule." + ANSI_RESET);
+                break;
+                
+            case DRAW_BY_INSUFFICIENT_MATERIAL:
+                System.out.println(ANSI_YELLOW + "Draw by insufficient material." + ANSI_RESET);
+                break;
+                
             case RESIGNATION:
                 Player resignedPlayer = game.getCurrentPlayer();
                 Player other = resignedPlayer.getColor() == Color.WHITE ? 
@@ -353,6 +381,20 @@ public class ConsoleUI {
         System.out.println(ANSI_RED + "✗ No moves to undo" + ANSI_RESET);
     }
 
+    /**
+     * Displays successful redo confirmation message.
+     */
+    public void displayRedoSuccess() {
+        System.out.println(ANSI_GREEN + "✓ Move successfully redone" + ANSI_RESET);
+    }
+
+    /**
+     * Displays message when redo is attempted but there is no undone move to replay.
+     */
+    public void displayRedoUnavailable() {
+        System.out.println(ANSI_RED + "✗ No moves to redo" + ANSI_RESET);
+    }
+
     /**
      * Displays the current player's remaining time.
      * Shows formatted time (MM:SS format) for the active player.
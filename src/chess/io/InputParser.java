@@ -1,6 +1,7 @@
 package chess.io;
 
 import chess.core.*;
+import chess.rules.PromotionHandler;
 
 /**
  * Parses user input to detect command types and build move objects.
@@ -77,10 +78,10 @@ public class InputParser {
         notation = notation.replace("x", "");
 
         // Extract promotion piece if present
-        Class<?> promotionType = null;
+        PieceType promotionType = null;
         if (notation.length() >= 2 && notation.charAt(notation.length() - 2) == '=') {
             char promotionChar = notation.charAt(notation.length() - 1);
-            promotionType = parsePromotionPiece(promotionChar);
+            promotionType = PromotionHandler.parsePromotionChoice(promotionChar);
             notation = notation.substring(0, notation.length() - 2);
         }
 
@@ -112,28 +113,6 @@ public class InputParser {
         }
     }
 
-    /**
-     * Parses a promotion piece character.
-     * 
-     * @param ch the character (Q, R, B, N)
-     * @return the piece class, or null if invalid
-     */
-    private static Class<?> parsePromotionPiece(char ch) {
-        ch = Character.toUpperCase(ch);
-        switch (ch) {
-            case 'Q':
-                return chess.pieces.Queen.class;
-            case 'R':
-                return chess.pieces.Rook.class;
-            case 'B':
-                return chess.pieces.Bishop.class;
-            case 'N':
-                return chess.pieces.Knight.class;
-            default:
-                return null;
-        }
-    }
-
     /**
      * Parses king-side castling.
      * 
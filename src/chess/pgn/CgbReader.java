@@ -0,0 +1,264 @@
+package chess.pgn;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads games from a .cgb binary archive (see {@link CgbWriter} for the layout).
+ *
+ * Opening an archive only reads its header. Reading game N costs two positioned reads
+ * whatever N is: its entry in the game index and then the game record itself, whose
+ * end is the next game's offset. Dictionary strings are resolved the same way, from
+ * the string index, the first time a game refers to them, and kept for later games.
+ * Positioned reads do not move a shared file pointer, so one reader may serve several
+ * threads.
+ */
+public final class CgbReader implements Closeable
+{
+    private final FileChannel channel;
+    private final int gameCount;
+    private final long dictionaryOffset;
+    private final long indexOffset;
+    private final long gameIndexOffset;
+    // Dictionary strings read so far, by id; strings are immutable, so racing fills are harmless
+    private final String[] dictionary;
+
+    /**
+     * Opens an archive.
+     *
+     * @param file the .cgb file
+     * @throws IOException if the file cannot be read or is not a valid archive
+     * @throws IllegalArgumentException if file is null
+     */
+    public CgbReader(File file) throws IOException
+    {
+        if (file == null) throw new IllegalArgumentException("file must not be null");
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try
+        {
+            ByteBuffer header = read(0, CgbWriter.HEADER_SIZE);
+            if (header.getInt() != CgbWriter.MAGIC) throw new IOException("Not a CGB archive: " + file);
+            int version = header.getShort() & 0xFFFF;
+            if (version != CgbWriter.VERSION) throw new IOException("Unsupported CGB version: " + version);
+            header.getShort();
+            this.gameCount = header.getInt();
+            int stringCount = header.getInt();
+            this.dictionaryOffset = header.getLong();
+            this.indexOffset = header.getLong();
+            this.gameIndexOffset = indexOffset + 8L * stringCount;
+            if (gameCount < 0 || stringCount < 0 || stringCount > CgbWriter.MAX_DICTIONARY_SIZE
+                    || dictionaryOffset < CgbWriter.HEADER_SIZE || indexOffset < dictionaryOffset
+                    || gameIndexOffset + 8L * gameCount != channel.size())
+            {
+                throw new IOException("Corrupt CGB header: " + file);
+            }
+            this.dictionary = new String[stringCount];
+        }
+        catch (IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of games in the archive.
+     *
+     * @return the game count
+     */
+    public int getGameCount() {return gameCount;}
+
+    /**
+     * Reads one game.
+     *
+     * @param index the game number, from 0
+     * @return the game
+     * @throws IOException if reading fails or the record is corrupt
+     * @throws IndexOutOfBoundsException if there is no such game
+     */
+    public StoredGame readGame(int index) throws IOException
+    {
+        if (index < 0 || index >= gameCount) throw new IndexOutOfBoundsException("No game " + index + " of " + gameCount);
+        ByteBuffer entry = read(gameIndexOffset + 8L * index, index + 1 < gameCount ? 16 : 8);
+        long start = entry.getLong();
+        long end = index + 1 < gameCount ? entry.getLong() : dictionaryOffset;
+        if (start < CgbWriter.HEADER_SIZE || end < start || end > dictionaryOffset || end - start > Integer.MAX_VALUE)
+        {
+            throw new IOException("Corrupt CGB index entry for game " + index);
+        }
+        ByteBuffer record = read(start, (int) (end - start));
+        try
+        {
+            PgnGameMetadata metadata = new PgnGameMetadata();
+            int tagCount = readVarint(record);
+            for (int i = 0; i < tagCount; i++)
+            {
+                String name = readString(record);
+                metadata.setTag(name, readString(record));
+            }
+            int[] moves = new int[readVarint(record)];
+            for (int i = 0; i < moves.length; i++)
+            {
+                moves[i] = record.getShort() & 0xFFFF;
+            }
+            return new StoredGame(index, metadata, moves);
+        }
+        catch (RuntimeException e)
+        {
+            throw new IOException("Corrupt CGB record for game " + index, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    /**
+     * Reads a string of a game record: inline, or a dictionary reference.
+     */
+    private String readString(ByteBuffer record) throws IOException
+    {
+        int ref = readVarint(record);
+        if ((ref & 1) != 0)
+        {
+            int length = ref >>> 1;
+            String s = new String(record.array(), record.position(), length, StandardCharsets.UTF_8);
+            record.position(record.position() + length);
+            return s;
+        }
+        int id = ref >>> 1;
+        if (id >= dictionary.length) throw new IOException("Unknown CGB dictionary string " + id);
+        String s = dictionary[id];
+        if (s == null)
+        {
+            s = readDictionaryString(id);
+            dictionary[id] = s;
+        }
+        return s;
+    }
+
+    /**
+     * Reads one dictionary string through the string index; it ends where the next
+     * one starts, or at the index after the last one.
+     */
+    private String readDictionaryString(int id) throws IOException
+    {
+        ByteBuffer entry = read(indexOffset + 8L * id, id + 1 < dictionary.length ? 16 : 8);
+        long start = entry.getLong();
+        long end = id + 1 < dictionary.length ? entry.getLong() : indexOffset;
+        if (start < dictionaryOffset || end < start || end > indexOffset || end - start > Integer.MAX_VALUE)
+        {
+            throw new IOException("Corrupt CGB string index entry for string " + id);
+        }
+        ByteBuffer data = read(start, (int) (end - start));
+        try
+        {
+            int length = readVarint(data);
+            if (length != data.remaining()) throw new IOException("Corrupt CGB dictionary string " + id);
+            return new String(data.array(), data.position(), length, StandardCharsets.UTF_8);
+        }
+        catch (RuntimeException e)
+        {
+            throw new IOException("Corrupt CGB dictionary string " + id, e);
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+            {
+                throw new EOFException("Unexpected end of CGB archive");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int readVarint(ByteBuffer buffer)
+    {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7)
+        {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+            {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * A game read from an archive: its tags and its mainline as packed moves
+     * (see chess.core.PackedMove), played from the FEN tag's position if there is one.
+     */
+    public static final class StoredGame
+    {
+        private final int index;
+        private final PgnGameMetadata metadata;
+        private final int[] moves;
+
+        StoredGame(int index, PgnGameMetadata metadata, int[] moves)
+        {
+            this.index = index;
+            this.metadata = metadata;
+            this.moves = moves;
+        }
+
+        /**
+         * Gets the game's number in the archive.
+         *
+         * @return the index, from 0
+         */
+        public int getIndex() {return index;}
+
+        /**
+         * Gets the game's tags.
+         *
+         * @return the metadata
+         */
+        public PgnGameMetadata getMetadata() {return metadata;}
+
+        /**
+         * Gets the number of moves of the mainline.
+         *
+         * @return the ply count
+         */
+        public int getPlyCount() {return moves.length;}
+
+        /**
+         * Gets one move.
+         *
+         * @param ply the ply number, from 0
+         * @return the packed move
+         */
+        public int getMove(int ply) {return moves[ply];}
+
+        /**
+         * Gets all moves.
+         *
+         * @return a copy of the packed moves
+         */
+        public int[] getMoves() {return Arrays.copyOf(moves, moves.length);}
+
+        /**
+         * Gets the starting position.
+         *
+         * @return the FEN tag's value, or null for the standard starting position
+         */
+        public String getStartingFen() {return metadata.getTag("FEN");}
+    }
+}
@@ -0,0 +1,246 @@
+package chess.pgn;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes games to a .cgb binary archive, a compact alternative to PGN for large
+ * game collections. All numbers are big-endian; "varint" is an unsigned LEB128 integer.
+ *
+ * <pre>
+ * header        magic "CGB\0", u16 version, u16 flags (0), u32 game count, u32 string count,
+ *               u64 dictionary offset, u64 index offset             (HEADER_SIZE bytes)
+ * games         per game: varint tag count, (string name, string value) per tag,
+ *               varint ply count, u16 packed move per ply (see chess.core.PackedMove)
+ *               where a string is varint (id << 1) for a dictionary string, or
+ *               varint (length << 1 | 1) followed by the UTF-8 bytes
+ * dictionary    per string: varint length, UTF-8 bytes       (at the dictionary offset)
+ * string index  u64 file offset of each dictionary string, in id order (at the index offset)
+ * game index    u64 file offset of each game, in game order
+ * </pre>
+ *
+ * Tag names and values are stored once in the dictionary and referenced by id, so
+ * repeated names, events and players cost a byte or two per game. The dictionary
+ * holds at most MAX_DICTIONARY_SIZE strings of up to MAX_DICTIONARY_STRING_BYTES
+ * bytes each; other strings are stored in the game itself, so the writer's memory
+ * stays bounded however many distinct dates, sites or ratings a collection has.
+ * Moves are stored already resolved, so reading a game needs no SAN parsing. The
+ * indexes make game N and dictionary string N reachable with one seek each
+ * (see {@link CgbReader}). Games start from the standard position unless they carry
+ * a FEN tag.
+ *
+ * Games are written as they come; the dictionary and indexes are appended by close().
+ */
+public final class CgbWriter implements Closeable
+{
+    public static final int MAGIC = 0x43474200;
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 32;
+
+    /** Maximum number of strings in the dictionary. */
+    public static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    /** Maximum UTF-8 length of a dictionary string; longer strings are stored inline. */
+    public static final int MAX_DICTIONARY_STRING_BYTES = 255;
+
+    private final File file;
+    private final DataOutputStream out;
+    private final Map<String, Integer> dictionaryIds = new HashMap<>();
+    private final List<byte[]> dictionary = new ArrayList<>();
+    private long[] offsets = new long[1024];
+    private int gameCount;
+    private long position;
+    private byte[] record = new byte[256];
+    private int recordLength;
+    private boolean closed;
+
+    /**
+     * Creates a writer, replacing the file if it exists.
+     *
+     * @param file the archive to write
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if file is null
+     */
+    public CgbWriter(File file) throws IOException
+    {
+        if (file == null) throw new IllegalArgumentException("file must not be null");
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+        out.write(new byte[HEADER_SIZE]);  // Filled in by close()
+        this.position = HEADER_SIZE;
+    }
+
+    /**
+     * Appends a game.
+     *
+     * @param metadata the game's tags
+     * @param moves the packed moves of the mainline
+     * @param plyCount the number of moves to take from the array
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if an argument is null or plyCount is out of range
+     * @throws IllegalStateException if the writer is closed or holds the maximum number of games
+     */
+    public void writeGame(PgnGameMetadata metadata, int[] moves, int plyCount) throws IOException
+    {
+        if (metadata == null || moves == null) throw new IllegalArgumentException("metadata and moves must not be null");
+        if (plyCount < 0 || plyCount > moves.length) throw new IllegalArgumentException("Invalid ply count: " + plyCount);
+        if (closed) throw new IllegalStateException("Writer is closed");
+        if (gameCount == Integer.MAX_VALUE) throw new IllegalStateException("Archive is full");
+
+        recordLength = 0;
+        Map<String, String> tags = metadata.getAllTags();
+        putVarint(tags.size());
+        for (Map.Entry<String, String> tag : tags.entrySet())
+        {
+            putString(tag.getKey());
+            putString(tag.getValue());
+        }
+        putVarint(plyCount);
+        ensureRecordCapacity(plyCount * 2);
+        for (int i = 0; i < plyCount; i++)
+        {
+            record[recordLength++] = (byte) (moves[i] >>> 8);
+            record[recordLength++] = (byte) moves[i];
+        }
+
+        if (gameCount == offsets.length)
+        {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[gameCount++] = position;
+        out.write(record, 0, recordLength);
+        position += recordLength;
+    }
+
+    /**
+     * Gets the number of games written so far.
+     *
+     * @return the game count
+     */
+    public int getGameCount() {return gameCount;}
+
+    /**
+     * Writes the dictionary, the indexes and the header, and closes the file.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (closed) return;
+        closed = true;
+        long dictionaryOffset = position;
+        try
+        {
+            long[] stringOffsets = new long[dictionary.size()];
+            recordLength = 0;
+            for (int i = 0; i < stringOffsets.length; i++)
+            {
+                stringOffsets[i] = position + recordLength;
+                putBytes(dictionary.get(i));
+                if (recordLength > 1 << 16)
+                {
+                    out.write(record, 0, recordLength);
+                    position += recordLength;
+                    recordLength = 0;
+                }
+            }
+            out.write(record, 0, recordLength);
+            position += recordLength;
+
+            long indexOffset = position;
+            for (long offset : stringOffsets)
+            {
+                out.writeLong(offset);
+            }
+            for (int i = 0; i < gameCount; i++)
+            {
+                out.writeLong(offsets[i]);
+            }
+            out.close();
+
+            try (RandomAccessFile header = new RandomAccessFile(file, "rw"))
+            {
+                header.writeInt(MAGIC);
+                header.writeShort(VERSION);
+                header.writeShort(0);
+                header.writeInt(gameCount);
+                header.writeInt(stringOffsets.length);
+                header.writeLong(dictionaryOffset);
+                header.writeLong(indexOffset);
+            }
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+
+    /**
+     * Appends a string as a dictionary reference, adding it to the dictionary while
+     * there is room, or inline.
+     */
+    private void putString(String s)
+    {
+        Integer id = dictionaryIds.get(s);
+        if (id != null)
+        {
+            putVarint(id << 1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (dictionary.size() < MAX_DICTIONARY_SIZE && bytes.length <= MAX_DICTIONARY_STRING_BYTES)
+        {
+            id = dictionary.size();
+            dictionaryIds.put(s, id);
+            dictionary.add(bytes);
+            putVarint(id << 1);
+            return;
+        }
+        putVarint(bytes.length << 1 | 1);
+        putRaw(bytes);
+    }
+
+    private void putBytes(byte[] bytes)
+    {
+        putVarint(bytes.length);
+        putRaw(bytes);
+    }
+
+    private void putRaw(byte[] bytes)
+    {
+        ensureRecordCapacity(bytes.length);
+        System.arraycopy(bytes, 0, record, recordLength, bytes.length);
+        recordLength += bytes.length;
+    }
+
+    private void putVarint(int value)
+    {
+        ensureRecordCapacity(5);
+        while ((value & ~0x7F) != 0)
+        {
+            record[recordLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        record[recordLength++] = (byte) value;
+    }
+
+    private void ensureRecordCapacity(int extra)
+    {
+        if (recordLength + extra > record.length)
+        {
+            record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + extra));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the games of a multi-game PGN source one at a time.
+ * Only the game being read is held in memory, so files of any size can be processed.
+ * Obtain one from {@link PgnParser#openReader(java.io.File)} and close it when done.
+ *
+ * The text is tokenized by a {@link PgnLexer}. A game ends at its result marker, at
+ * the first tag pair after its movetext, or at the end of the input. Comments, NAGs
+ * and variations are skipped; only the mainline moves are kept.
+ *
+ * As an Iterator, I/O errors are rethrown as UncheckedIOException;
+ * use {@link #readGame()} to get the checked exception.
+ */
+public final class PgnGameReader implements Iterator<PgnParser.ParseResult>, Closeable
+{
+    private final PgnLexer lexer;
+    private final InputStream in;
+
+    private boolean tagPending;   // Tag pair that ended the previous game, not yet consumed
+    private PgnParser.ParseResult lookahead;
+    private long gamesRead;
+
+    PgnGameReader(InputStream in)
+    {
+        this.in = in;
+        this.lexer = new PgnLexer(in);
+    }
+
+    PgnGameReader(byte[] data, int offset, int length)
+    {
+        this.in = null;
+        this.lexer = new PgnLexer(data, offset, length);
+    }
+
+    /**
+     * Reads the next game.
+     * 
+     * @return the game, or null at the end of the input
+     * @throws IOException if an I/O error occurs
+     */
+    public PgnParser.ParseResult readGame() throws IOException
+    {
+        if (lookahead != null)
+        {
+            PgnParser.ParseResult game = lookahead;
+            lookahead = null;
+            return game;
+        }
+
+        PgnGameMetadata meta = new PgnGameMetadata();
+        List<PgnMoveRecord> records = new ArrayList<>();
+        boolean hasTags = false;
+        boolean inMovetext = false;
+        int variationDepth = 0;
+
+        // Moves are grouped like "12. e4 e5": a move number opens a record, the next two moves fill it
+        int moveNumber = 1;
+        String white = null;
+        boolean recordOpen = false;
+        boolean whiteSet = false;
+
+        while (true)
+        {
+            int token = tagPending ? PgnLexer.TAG : lexer.next();
+            tagPending = false;
+            switch (token)
+            {
+                case PgnLexer.TAG:
+                    if (inMovetext)
+                    {
+                        tagPending = true;
+                        return finishGame(meta, records, recordOpen, moveNumber, white);
+                    }
+                    meta.setTag(lexer.tagName(), lexer.tagValue());
+                    hasTags = true;
+                    break;
+                case PgnLexer.MOVE_NUMBER:
+                    if (variationDepth > 0) break;
+                    inMovetext = true;
+                    if (lexer.isEllipsis() && recordOpen && whiteSet && lexer.number() == moveNumber)
+                    {
+                        break;  // "12. e4 {comment} 12... e5": Black continues the same record
+                    }
+                    if (recordOpen)
+                    {
+                        records.add(new PgnMoveRecord(moveNumber, white, null));
+                    }
+                    moveNumber = Math.max(1, lexer.number());
+                    white = null;
+                    recordOpen = true;
+                    whiteSet = lexer.isEllipsis();  // "12... e5" opens a record with Black's move
+                    break;
+                case PgnLexer.SAN:
+                    if (variationDepth > 0) break;
+                    inMovetext = true;
+                    if (!recordOpen)
+                    {
+                        recordOpen = true;
+                        whiteSet = false;
+                        white = null;
+                    }
+                    if (!whiteSet)
+                    {
+                        white = lexer.text();
+                        whiteSet = true;
+                    }
+                    else
+                    {
+                        records.add(new PgnMoveRecord(moveNumber, white, lexer.text()));
+                        moveNumber++;
+                        recordOpen = false;
+                    }
+                    break;
+                case PgnLexer.VARIATION_START:
+                    inMovetext = true;
+                    variationDepth++;
+                    break;
+                case PgnLexer.VARIATION_END:
+                    if (variationDepth > 0) variationDepth--;
+                    break;
+                case PgnLexer.RESULT:
+                    if (variationDepth > 0) break;
+                    return finishGame(meta, records, recordOpen, moveNumber, white);
+                case PgnLexer.EOF:
+                    if (!inMovetext && !hasTags) return null;
+                    return finishGame(meta, records, recordOpen, moveNumber, white);
+                default:
+                    break;  // Comments and NAGs
+            }
+        }
+    }
+
+    private PgnParser.ParseResult finishGame(PgnGameMetadata meta, List<PgnMoveRecord> records,
+                                             boolean recordOpen, int moveNumber, String white)
+    {
+        if (recordOpen)
+        {
+            records.add(new PgnMoveRecord(moveNumber, white, null));
+        }
+        gamesRead++;
+        return new PgnParser.ParseResult(meta, records);
+    }
+
+    /**
+     * Gets the number of games read so far.
+     * 
+     * @return the game count
+     */
+    public long getGamesRead() {return gamesRead;}
+
+    @Override
+    public boolean hasNext()
+    {
+        if (lookahead == null)
+        {
+            try
+            {
+                lookahead = readGame();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return lookahead != null;
+    }
+
+    @Override
+    public PgnParser.ParseResult next()
+    {
+        if (!hasNext()) throw new NoSuchElementException();
+        PgnParser.ParseResult game = lookahead;
+        lookahead = null;
+        return game;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (in != null) in.close();
+    }
+}
@@ -0,0 +1,314 @@
+package chess.pgn;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Imports large PGN files by parsing parts of them in parallel.
+ *
+ * The file is memory-mapped and cut into chunks of roughly {@link #getChunkSize()} bytes,
+ * each ending where a game starts: a "[Event" tag after a blank line. Chunks are parsed
+ * on a fork-join pool while the calling thread hands the games to the consumer in file
+ * order. Only a few chunks per worker are in flight at a time, so memory stays bounded
+ * whatever the file size. A file without such boundaries is parsed as a single chunk.
+ */
+public final class PgnImporter
+{
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    // Bytes mapped at a time when looking for a game boundary
+    private static final int SCAN_WINDOW = 1 << 16;
+    private static final byte[] EVENT_TAG = {'[', 'E', 'v', 'e', 'n', 't'};
+
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * Creates an importer using all available processors.
+     */
+    public PgnImporter()
+    {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an importer.
+     *
+     * @param parallelism the number of worker threads
+     * @param chunkSize the target size of the parts parsed as one task, in bytes
+     * @throws IllegalArgumentException if a value is not positive
+     */
+    public PgnImporter(int parallelism, int chunkSize)
+    {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Gets the number of threads that parse chunks.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {return parallelism;}
+
+    /**
+     * Gets the target size of the chunks the file is cut into.
+     *
+     * @return the chunk size in bytes
+     */
+    public int getChunkSize() {return chunkSize;}
+
+    /**
+     * Parses every game of a PGN file.
+     *
+     * @param file the PGN file
+     * @param consumer receives the games in file order, on the calling thread
+     * @return the throughput report
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public ImportReport importFile(File file, Consumer<? super PgnParser.ParseResult> consumer) throws IOException
+    {
+        if (file == null || consumer == null) throw new IllegalArgumentException("file and consumer must not be null");
+        long start = System.nanoTime();
+        long games = 0;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            ArrayDeque<Future<List<PgnParser.ParseResult>>> inFlight = new ArrayDeque<>();
+            long chunkStart = 0;
+            while (chunkStart < size || !inFlight.isEmpty())
+            {
+                // Keep the workers busy, but never read far ahead of the consumer
+                while (chunkStart < size && inFlight.size() < parallelism * 2)
+                {
+                    long chunkEnd = size - chunkStart <= chunkSize ? size : nextGameStart(channel, chunkStart + chunkSize, size);
+                    long from = chunkStart;
+                    inFlight.add(pool.submit(() -> parseChunk(channel, from, chunkEnd)));
+                    chunkStart = chunkEnd;
+                }
+                for (PgnParser.ParseResult game : await(inFlight.poll()))
+                {
+                    consumer.accept(game);
+                    games++;
+                }
+            }
+            return new ImportReport(games, size, (System.nanoTime() - start) / 1_000_000, parallelism);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<PgnParser.ParseResult> await(Future<List<PgnParser.ParseResult>> chunk) throws IOException
+    {
+        try
+        {
+            return chunk.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing", e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException("Failed to parse chunk: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Maps a chunk and parses its games. The mapped bytes are copied into one heap
+     * array per chunk, which the lexer then scans without further copies.
+     */
+    private static List<PgnParser.ParseResult> parseChunk(FileChannel channel, long start, long end)
+    {
+        try
+        {
+            if (end - start > Integer.MAX_VALUE - 8)
+            {
+                throw new IOException("No game boundary within 2 GB after offset " + start);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            byte[] data = new byte[(int) (end - start)];
+            mapped.get(data);
+            List<PgnParser.ParseResult> games = new ArrayList<>();
+            PgnGameReader reader = new PgnGameReader(data, 0, data.length);
+            PgnParser.ParseResult game;
+            while ((game = reader.readGame()) != null)
+            {
+                games.add(game);
+            }
+            return games;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds the first game start at or after an offset: the '[' of an "[Event" tag that
+     * follows a blank line.
+     *
+     * @return the offset of the game start, or the file size if there is none
+     */
+    static long nextGameStart(FileChannel channel, long from, long size) throws IOException
+    {
+        // Each window also covers a few bytes before its start to see the blank line
+        long windowStart = Math.max(0, from - 4);
+        while (windowStart < size)
+        {
+            int length = (int) Math.min(SCAN_WINDOW, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            for (int i = (int) (from - windowStart); i + EVENT_TAG.length <= length; i++)
+            {
+                if (window.get(i) == '[' && followsBlankLine(window, i) && startsWithEventTag(window, i))
+                {
+                    return windowStart + i;
+                }
+            }
+            if (windowStart + length >= size)
+            {
+                break;
+            }
+            // Overlap so a boundary split by the window edge is still found
+            windowStart += length - EVENT_TAG.length - 4;
+            from = windowStart + 4;
+        }
+        return size;
+    }
+
+    private static boolean followsBlankLine(MappedByteBuffer window, int i)
+    {
+        int j = i - 1;
+        if (j < 0 || window.get(j) != '\n') return false;
+        j--;
+        if (j >= 0 && window.get(j) == '\r') j--;
+        return j >= 0 && window.get(j) == '\n';
+    }
+
+    private static boolean startsWithEventTag(MappedByteBuffer window, int i)
+    {
+        for (int k = 1; k < EVENT_TAG.length; k++)
+        {
+            if (window.get(i + k) != EVENT_TAG[k]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Throughput of one import: how many games and bytes were parsed in how long.
+     */
+    public static final class ImportReport
+    {
+        private final long games;
+        private final long bytes;
+        private final long elapsedMs;
+        private final int parallelism;
+
+        /**
+         * Creates an ImportReport.
+         *
+         * @param games the number of games parsed
+         * @param bytes the size of the file in bytes
+         * @param elapsedMs the wall-clock time taken in milliseconds
+         * @param parallelism the number of worker threads
+         */
+        public ImportReport(long games, long bytes, long elapsedMs, int parallelism)
+        {
+            this.games = games;
+            this.bytes = bytes;
+            this.elapsedMs = elapsedMs;
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * Gets the number of games imported.
+         *
+         * @return the game count
+         */
+        public long getGames() {return games;}
+
+        /**
+         * Gets the size of the imported file.
+         *
+         * @return the number of bytes parsed
+         */
+        public long getBytes() {return bytes;}
+
+        /**
+         * Gets the wall-clock time the import took.
+         *
+         * @return the elapsed milliseconds
+         */
+        public long getElapsedMs() {return elapsedMs;}
+
+        /**
+         * Gets the number of threads the import ran with.
+         *
+         * @return the parallelism
+         */
+        public int getParallelism() {return parallelism;}
+
+        /**
+         * Gets the import speed in games.
+         *
+         * @return games per second (0 if the run was too short to measure)
+         */
+        public long getGamesPerSecond() {return elapsedMs > 0 ? games * 1000 / elapsedMs : 0;}
+
+        /**
+         * Gets the import speed in bytes.
+         *
+         * @return megabytes (10^6 bytes) per second (0 if the run was too short to measure)
+         */
+        public double getMegabytesPerSecond() {return elapsedMs > 0 ? bytes / 1000.0 / elapsedMs : 0;}
+
+        @Override
+        public String toString()
+        {
+            return String.format("%,d games, %.1f MB in %,d ms (%,d games/s, %.1f MB/s) with %d threads",
+                    games, bytes / 1e6, elapsedMs, getGamesPerSecond(), getMegabytesPerSecond(), parallelism);
+        }
+    }
+
+    /**
+     * Imports a PGN file and prints the throughput report.
+     *
+     * @param args the file, optionally followed by the number of threads
+     * @throws IOException if the file cannot be read
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.out.println("Usage: java chess.pgn.PgnImporter <file.pgn> [threads]");
+            System.exit(2);
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long[] moves = new long[1];
+        ImportReport report = new PgnImporter(threads, DEFAULT_CHUNK_SIZE)
+                .importFile(new File(args[0]), game -> moves[0] += game.getMoves().size());
+        System.out.println(report);
+        System.out.printf("%,d move records%n", moves[0]);
+    }
+}
@@ -0,0 +1,455 @@
+package chess.pgn;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Single-pass tokenizer for PGN text, working directly on bytes.
+ * Recognizes tag pairs, move numbers, SAN moves, NAGs, comments, variation
+ * parentheses and game results. Tokens are described by their type and position
+ * in the buffer; a String is only created when the caller asks for the text of a
+ * token it keeps (a SAN move, a tag), so skipped tokens cost no allocation.
+ *
+ * Input is either an in-memory byte range or an InputStream read through a
+ * growable buffer. Tag values and comments are UTF-8; other non-ASCII bytes
+ * are skipped like whitespace.
+ */
+public final class PgnLexer
+{
+    public static final int EOF = 0;
+    public static final int TAG = 1;
+    public static final int MOVE_NUMBER = 2;
+    public static final int SAN = 3;
+    public static final int NAG = 4;
+    public static final int COMMENT = 5;
+    public static final int VARIATION_START = 6;
+    public static final int VARIATION_END = 7;
+    public static final int RESULT = 8;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private byte[] buf;
+    private int pos;
+    private int limit;
+    private int mark;   // Earliest byte still needed when the buffer is refilled
+
+    private int tokenStart;
+    private int tokenEnd;
+    private int nameStart;
+    private int nameEnd;
+    private int number;
+    private boolean ellipsis;
+    private boolean lineStart = true;
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Creates a lexer over a byte range. The bytes must not change while lexing.
+     *
+     * @param data the PGN bytes
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @throws IllegalArgumentException if the range is outside the array
+     */
+    public PgnLexer(byte[] data, int offset, int length)
+    {
+        if (data == null || offset < 0 || length < 0 || offset + length > data.length)
+        {
+            throw new IllegalArgumentException("Invalid byte range");
+        }
+        this.in = null;
+        this.buf = data;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Creates a lexer reading from a stream, which it does not close.
+     *
+     * @param in the PGN input
+     * @throws IllegalArgumentException if in is null
+     */
+    public PgnLexer(InputStream in)
+    {
+        if (in == null) throw new IllegalArgumentException("in must not be null");
+        this.in = in;
+        this.buf = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return the token type (one of the constants of this class), EOF at the end of the input
+     * @throws IOException if reading the stream fails
+     */
+    public int next() throws IOException
+    {
+        mark = pos;
+        while (true)
+        {
+            if (pos >= limit && !fill())
+            {
+                return EOF;
+            }
+            byte c = buf[pos];
+            if (c == '\n')
+            {
+                lineStart = true;
+                pos++;
+                continue;
+            }
+            if (c <= ' ')
+            {
+                pos++;
+                continue;
+            }
+            boolean atLineStart = lineStart;
+            lineStart = false;
+            mark = pos;
+            switch (c)
+            {
+                case '{':
+                    skipPast((byte) '}');
+                    return COMMENT;
+                case ';':
+                    skipLine();
+                    return COMMENT;
+                case '%':
+                    if (atLineStart)
+                    {
+                        skipLine();
+                        continue;  // Escape line, not part of the game
+                    }
+                    pos++;
+                    continue;
+                case '(':
+                    pos++;
+                    return VARIATION_START;
+                case ')':
+                    pos++;
+                    return VARIATION_END;
+                case '$':
+                    pos++;
+                    number = readNumber();
+                    return NAG;
+                case '*':
+                    tokenStart = pos++;
+                    tokenEnd = pos;
+                    return RESULT;
+                case '[':
+                    if (readTag())
+                    {
+                        return TAG;
+                    }
+                    continue;  // Malformed tag pair, skipped
+                default:
+                    if (c >= '0' && c <= '9')
+                    {
+                        return readNumberOrSymbol();
+                    }
+                    if (isSymbolByte(c))
+                    {
+                        readSymbol();
+                        return SAN;
+                    }
+                    pos++;  // Stray punctuation such as '.' or ']'
+            }
+        }
+    }
+
+    /**
+     * Gets the text of the current SAN or RESULT token. Suffix annotations ("!", "?!")
+     * are not part of a SAN token.
+     *
+     * @return the token text
+     */
+    public String text()
+    {
+        return new String(buf, tokenStart, tokenEnd - tokenStart, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Gets the number of the current MOVE_NUMBER or NAG token.
+     *
+     * @return the move number or NAG code
+     */
+    public int number()
+    {
+        return number;
+    }
+
+    /**
+     * Checks whether the current MOVE_NUMBER token is written with an ellipsis ("12..."),
+     * announcing a Black move.
+     *
+     * @return true for a Black move number
+     */
+    public boolean isEllipsis()
+    {
+        return ellipsis;
+    }
+
+    /**
+     * Gets the name of the current TAG token.
+     *
+     * @return the tag name
+     */
+    public String tagName()
+    {
+        return new String(buf, nameStart, nameEnd - nameStart, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Gets the value of the current TAG token, with escapes resolved.
+     *
+     * @return the tag value
+     */
+    public String tagValue()
+    {
+        int length = 0;
+        for (int i = tokenStart; i < tokenEnd; i++)
+        {
+            byte b = buf[i];
+            if (b == '\\' && i + 1 < tokenEnd)
+            {
+                b = buf[++i];
+            }
+            scratch[length++] = b;
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether the current RESULT token or a symbol is a game result.
+     */
+    private boolean isResultToken()
+    {
+        int length = tokenEnd - tokenStart;
+        if (length == 3)
+        {
+            return (buf[tokenStart] == '1' && buf[tokenStart + 1] == '-' && buf[tokenStart + 2] == '0')
+                    || (buf[tokenStart] == '0' && buf[tokenStart + 1] == '-' && buf[tokenStart + 2] == '1');
+        }
+        return length == 7 && buf[tokenStart] == '1' && buf[tokenStart + 1] == '/' && buf[tokenStart + 2] == '2'
+                && buf[tokenStart + 3] == '-' && buf[tokenStart + 4] == '1' && buf[tokenStart + 5] == '/'
+                && buf[tokenStart + 6] == '2';
+    }
+
+    /**
+     * Reads a token starting with a digit: a move number ("12.", "12...", also "12.e4"),
+     * a result ("1-0", "1/2-1/2") or a symbol such as "0-0" castling.
+     */
+    private int readNumberOrSymbol() throws IOException
+    {
+        int value = 0;
+        tokenStart = pos;
+        while ((pos < limit || fill()) && buf[pos] >= '0' && buf[pos] <= '9')
+        {
+            value = value * 10 + (buf[pos++] - '0');
+        }
+        int dots = 0;
+        while ((pos < limit || fill()) && buf[pos] == '.')
+        {
+            pos++;
+            dots++;
+        }
+        if (dots > 0 || pos >= limit || !isSymbolByte(buf[pos]))
+        {
+            number = value;
+            ellipsis = dots > 1;
+            return MOVE_NUMBER;
+        }
+        pos = tokenStart;
+        readSymbol();
+        return isResultToken() ? RESULT : SAN;
+    }
+
+    /**
+     * Reads a SAN-like symbol, leaving suffix annotations out of the token.
+     */
+    private void readSymbol() throws IOException
+    {
+        tokenStart = pos;
+        while ((pos < limit || fill()) && isSymbolByte(buf[pos]))
+        {
+            pos++;
+        }
+        tokenEnd = pos;
+        while (tokenEnd > tokenStart && (buf[tokenEnd - 1] == '!' || buf[tokenEnd - 1] == '?'))
+        {
+            tokenEnd--;
+        }
+    }
+
+    private int readNumber() throws IOException
+    {
+        int value = 0;
+        while ((pos < limit || fill()) && buf[pos] >= '0' && buf[pos] <= '9')
+        {
+            value = value * 10 + (buf[pos++] - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Reads a tag pair [Name "value"]. On return the name is [nameStart, nameEnd) and
+     * the raw value [tokenStart, tokenEnd).
+     *
+     * @return false if the tag pair is malformed; the rest of the line is then skipped
+     */
+    private boolean readTag() throws IOException
+    {
+        pos++;
+        skipBlanks();
+        nameStart = pos;
+        while ((pos < limit || fill()) && isNameByte(buf[pos]))
+        {
+            pos++;
+        }
+        nameEnd = pos;
+        skipBlanks();
+        if (nameEnd == nameStart || pos >= limit || buf[pos] != '"')
+        {
+            skipLine();
+            return false;
+        }
+        tokenStart = ++pos;
+        while (true)
+        {
+            if (pos >= limit && !fill())
+            {
+                return false;
+            }
+            byte b = buf[pos];
+            if (b == '\\')
+            {
+                pos += 2;
+            }
+            else if (b == '"' || b == '\n')
+            {
+                break;
+            }
+            else
+            {
+                pos++;
+            }
+        }
+        tokenEnd = pos;
+        if (buf[pos] == '\n')
+        {
+            return false;
+        }
+        pos++;
+        skipBlanks();
+        if (pos < limit && buf[pos] == ']')
+        {
+            pos++;
+        }
+        if (tokenEnd - tokenStart > scratch.length)
+        {
+            scratch = new byte[tokenEnd - tokenStart];
+        }
+        return true;
+    }
+
+    private void skipBlanks() throws IOException
+    {
+        while ((pos < limit || fill()) && (buf[pos] == ' ' || buf[pos] == '\t'))
+        {
+            pos++;
+        }
+    }
+
+    /**
+     * Skips up to and including a terminator byte, without keeping the skipped bytes.
+     */
+    private void skipPast(byte terminator) throws IOException
+    {
+        while (pos < limit || fill())
+        {
+            mark = pos;
+            if (buf[pos++] == terminator)
+            {
+                return;
+            }
+        }
+    }
+
+    private void skipLine() throws IOException
+    {
+        while (pos < limit || fill())
+        {
+            mark = pos;
+            if (buf[pos] == '\n')
+            {
+                return;  // The newline itself sets lineStart
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Reads more of the stream, first moving the bytes still needed to the front of
+     * the buffer (and growing it if they fill it).
+     *
+     * @return false at the end of the input
+     */
+    private boolean fill() throws IOException
+    {
+        if (in == null)
+        {
+            return false;
+        }
+        int keep = Math.min(mark, pos);
+        if (keep > 0)
+        {
+            System.arraycopy(buf, keep, buf, 0, limit - keep);
+            limit -= keep;
+            pos -= keep;
+            mark -= keep;
+            tokenStart -= keep;
+            tokenEnd -= keep;
+            nameStart -= keep;
+            nameEnd -= keep;
+        }
+        if (limit == buf.length)
+        {
+            byte[] grown = new byte[buf.length * 2];
+            System.arraycopy(buf, 0, grown, 0, limit);
+            buf = grown;
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n <= 0)
+        {
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    private static boolean isNameByte(byte b)
+    {
+        return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9') || b == '_';
+    }
+
+    /**
+     * Checks for a byte that can be part of a SAN move or result: anything but
+     * whitespace, PGN delimiters and non-ASCII.
+     */
+    private static boolean isSymbolByte(byte b)
+    {
+        if (b <= ' ')
+        {
+            return false;
+        }
+        switch (b)
+        {
+            case '{': case '}': case '(': case ')': case '[': case ']':
+            case ';': case '$': case '"': case '.': case '*':
+                return false;
+            default:
+                return true;
+        }
+    }
+}
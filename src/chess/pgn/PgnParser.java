@@ -1,28 +1,30 @@
 package chess.pgn;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Parser for PGN (Portable Game Notation) chess files.
- * Reads PGN files and extracts game metadata and moves.
+ * Reads PGN files and extracts game metadata and moves, either the first game
+ * of a file or, through {@link PgnGameReader}, every game of a multi-game file.
+ * {@link PgnImporter} parses large files in parallel.
  */
 public final class PgnParser {
-    private static final Pattern TAG_PATTERN = Pattern.compile("^\\s*\\[(\\w+)\\s+\"(.*)\"\\]\\s*$");
-    private static final Pattern MOVE_NUMBER_PATTERN = Pattern.compile("^(\\d+)\\.(?:\\.\\.)?$");
-    private static final Pattern RESULT_MARKER_PATTERN = Pattern.compile("^(1-0|0-1|1/2-1/2|\\*)$");
-    
     /**
-     * Parses a PGN file and extracts game metadata and moves.
+     * Parses the first game of a PGN file and extracts its metadata and moves.
+     * Use {@link #openReader(File)} or {@link #stream(File)} to read every game of a multi-game file.
      * 
      * @param file the PGN file to parse
-     * @return a ParseResult containing metadata and move records
+     * @return a ParseResult containing metadata and move records (empty if the file has no game)
      * @throws IOException if an I/O error occurs
      * @throws PgnFormatException if the PGN format is invalid
      * @throws IllegalArgumentException if file is null
@@ -30,193 +32,67 @@ public final class PgnParser {
     public ParseResult parse(File file) throws IOException, PgnFormatException
     {
         if (file == null) throw new IllegalArgumentException("file must not be null");
-        PgnGameMetadata meta = new PgnGameMetadata();
-        List<String> movetextTokens = new ArrayList<>();
-
-        try (BufferedReader r = new BufferedReader(new FileReader(file)))
+        try (PgnGameReader reader = openReader(file))
         {
-            String line;
-            boolean inTagSection = true;
-            StringBuilder movetextBuilder = new StringBuilder();
-
-            while ((line = r.readLine()) != null)
-            {
-                line = line.trim();
-                if (line.isEmpty())
-                {
-                    if (!inTagSection) { }
-                    inTagSection = false;
-                    continue;
-                }
-                Matcher m = TAG_PATTERN.matcher(line);
-                if (m.matches())
-                {
-                    inTagSection = true;
-                    String key = m.group(1);
-                    String val = unescapeTagValue(m.group(2));
-                    meta.setTag(key, val);
-                }
-                else
-                {
-                    inTagSection = false;
-                    movetextBuilder.append(line).append(' ');
-                }
-            }
-
-            String rawMovetext = movetextBuilder.toString().trim();
-            if (!rawMovetext.isEmpty())
-            {
-                rawMovetext = stripCurlyComments(rawMovetext);
-                rawMovetext = stripSemicolonComments(rawMovetext);
-                rawMovetext = rawMovetext.replaceAll("\\$\\d+", " ");
-                rawMovetext = rawMovetext.replaceAll("\\s+", " ").trim();
-                if (!rawMovetext.isEmpty())
-                {
-                    for (String token : rawMovetext.split(" "))
-                    {
-                        if (token.trim().isEmpty()) continue;
-                        if (isResultMarker(token.trim())) continue; // Skip game result markers
-                        movetextTokens.add(token.trim());
-                    }
-                }
-            }
+            ParseResult game = reader.readGame();
+            return game != null ? game : new ParseResult(new PgnGameMetadata(), new ArrayList<>());
         }
-
-        List<PgnMoveRecord> records = tokensToRecords(movetextTokens);
-        return new ParseResult(meta, records);
     }
 
     /**
-     * Unescapes special characters in PGN tag values.
-     * Converts escaped double quotes to normal form.
+     * Opens a PGN file for reading its games one at a time.
      * 
-     * @param v the tag value to unescape
-     * @return the unescaped tag value
+     * @param file the PGN file
+     * @return a reader to close when done
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if file is null
      */
-    private String unescapeTagValue(String v) {
-        return v.replace("\\\"", "\"");
+    public PgnGameReader openReader(File file) throws IOException
+    {
+        if (file == null) throw new IllegalArgumentException("file must not be null");
+        return openReader(new FileInputStream(file));
     }
 
     /**
-     * Removes curly-brace comments from PGN text.
-     * Comments in PGN are enclosed in curly braces: {this is a comment}
+     * Wraps a byte source for reading its games one at a time.
      * 
-     * @param s the string to process
-     * @return the string with curly-brace comments removed
+     * @param in the PGN bytes; closed when the returned reader is closed
+     * @return a reader to close when done
+     * @throws IllegalArgumentException if in is null
      */
-    private String stripCurlyComments(String s)
+    public PgnGameReader openReader(InputStream in)
     {
-        StringBuilder out = new StringBuilder();
-        int depth = 0;
-        for (int i = 0; i < s.length(); i++)
-        {
-            char c = s.charAt(i);
-            if (c == '{') { depth++; continue; }
-            if (c == '}') { if (depth > 0) depth--; continue; }
-            if (depth == 0) out.append(c);
-        }
-        return out.toString();
+        if (in == null) throw new IllegalArgumentException("in must not be null");
+        return new PgnGameReader(in);
     }
 
     /**
-     * Removes semicolon comments from PGN text.
-     * Semicolons to end of line are comments (currently not implemented).
-     * 
-     * @param s the string to process
-     * @return the string with semicolon comments removed
-     */
-    private String stripSemicolonComments(String s) {return s;}
-
-    /**
-     * Converts a list of tokens into PgnMoveRecord objects.
-     * Groups move tokens by move number and separates white/black moves.
+     * Streams the games of a PGN file in file order, reading incrementally.
+     * Close the stream (e.g., with try-with-resources) to release the file.
      * 
-     * @param tokens the list of tokens (move numbers, moves, etc.)
-     * @return a list of PgnMoveRecords
-     * @throws PgnFormatException if move number parsing fails
+     * @param file the PGN file
+     * @return a sequential stream of games
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if file is null
+     * @see PgnGameReader
      */
-    private List<PgnMoveRecord> tokensToRecords(List<String> tokens) throws PgnFormatException
+    public Stream<ParseResult> stream(File file) throws IOException
     {
-        List<PgnMoveRecord> records = new ArrayList<>();
-        int i = 0;
-        int expectedMoveNumber = 1;
-
-        while (i < tokens.size())
-        {
-            String token = tokens.get(i);
-            Matcher mn = MOVE_NUMBER_PATTERN.matcher(token);
-            if (mn.matches())
-            {
-                try
-                {
-                    int n = Integer.parseInt(mn.group(1));
-                    expectedMoveNumber = n;
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new PgnFormatException("Invalid move number: " + token);
-                }
-                i++;
-                String white = null, black = null;
-                if (i < tokens.size())
-                {
-                    String maybe = tokens.get(i);
-                    if (!isMoveNumberToken(maybe))
+        PgnGameReader reader = openReader(file);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try
                     {
-                        white = maybe;
-                        i++;
+                        reader.close();
                     }
-                }
-                if (i < tokens.size())
-                {
-                    String maybe2 = tokens.get(i);
-                    if (!isMoveNumberToken(maybe2))
+                    catch (IOException e)
                     {
-                        black = maybe2;
-                        i++;
+                        throw new UncheckedIOException(e);
                     }
-                }
-                records.add(new PgnMoveRecord(expectedMoveNumber, white, black));
-                expectedMoveNumber++;
-            }
-            else
-            {
-                String white = token;
-                i++;
-                String black = null;
-                if (i < tokens.size())
-                {
-                    String next = tokens.get(i);
-                    if (!isMoveNumberToken(next))
-                    {
-                        black = next;
-                        i++;
-                    }
-                }
-                records.add(new PgnMoveRecord(expectedMoveNumber, white, black));
-                expectedMoveNumber++;
-            }
-        }
-        return records;
+                });
     }
 
-    /**
-     * Checks if a token matches the move number pattern.
-     * 
-     * @param t the token to check
-     * @return true if the token is a move number (e.g., "1.", "2.", "25.")
-     */
-    private boolean isMoveNumberToken(String t) {return MOVE_NUMBER_PATTERN.matcher(t).matches();}
-
-    /**
-     * Checks if a token is a game result marker.
-     * Valid result markers are: 1-0 (white wins), 0-1 (black wins), 1/2-1/2 (draw), * (unknown)
-     * 
-     * @param t the token to check
-     * @return true if the token is a result marker
-     */
-    private boolean isResultMarker(String t) {return RESULT_MARKER_PATTERN.matcher(t).matches();}
-
     /**
      * Inner class representing the result of parsing a PGN file.
      * Encapsulates the extracted metadata and moves.
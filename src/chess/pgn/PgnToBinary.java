@@ -0,0 +1,141 @@
+package chess.pgn;
+
+import chess.core.Board;
+import chess.core.Color;
+import chess.core.PackedMove;
+import chess.core.UndoInfo;
+import chess.engine.FenUtil;
+import chess.rules.MoveGenerator;
+import chess.rules.MoveList;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Converts PGN files to .cgb binary archives (see {@link CgbWriter}).
+ *
+ * Each game is streamed from the PGN file and replayed on a board, so its SAN moves
+ * are checked for legality and stored as packed moves. A game with a move that does
+ * not resolve to exactly one legal move is left out and counted as skipped.
+ */
+public final class PgnToBinary
+{
+    private final MoveList scratch = new MoveList();
+    private final UndoInfo undo = new UndoInfo();
+    private int[] moves = new int[512];
+    private long gamesWritten;
+    private long gamesSkipped;
+
+    /**
+     * Converts a PGN file.
+     *
+     * @param pgn the PGN file to read
+     * @param cgb the archive to write, replaced if it exists
+     * @return the number of games written
+     * @throws IOException if a file cannot be read or written
+     * @throws IllegalArgumentException if a file is null
+     */
+    public long convert(File pgn, File cgb) throws IOException
+    {
+        if (pgn == null || cgb == null) throw new IllegalArgumentException("Files must not be null");
+        gamesWritten = 0;
+        gamesSkipped = 0;
+        try (PgnGameReader reader = new PgnParser().openReader(pgn);
+             CgbWriter writer = new CgbWriter(cgb))
+        {
+            PgnParser.ParseResult game;
+            while ((game = reader.readGame()) != null)
+            {
+                int plies = replay(game);
+                if (plies < 0)
+                {
+                    gamesSkipped++;
+                    continue;
+                }
+                writer.writeGame(game.getMetadata(), moves, plies);
+                gamesWritten++;
+            }
+        }
+        return gamesWritten;
+    }
+
+    /**
+     * Gets the number of games the last conversion wrote.
+     *
+     * @return the game count
+     */
+    public long getGamesWritten() {return gamesWritten;}
+
+    /**
+     * Gets the number of games the last conversion left out because a move or the FEN tag was invalid.
+     *
+     * @return the game count
+     */
+    public long getGamesSkipped() {return gamesSkipped;}
+
+    /**
+     * Resolves the SAN moves of a game into the moves buffer.
+     *
+     * @return the number of plies, or -1 if a move or the FEN tag is invalid
+     */
+    private int replay(PgnParser.ParseResult game)
+    {
+        Board board = new Board();
+        String fen = game.getMetadata().getTag("FEN");
+        if (fen != null)
+        {
+            try
+            {
+                FenUtil.loadFEN(board, fen);
+            }
+            catch (IllegalArgumentException e)
+            {
+                return -1;
+            }
+        }
+        int plies = 0;
+        for (PgnMoveRecord record : game.getMoves())
+        {
+            for (String san : new String[] {record.getWhiteSan(), record.getBlackSan()})
+            {
+                if (san == null) continue;
+                Color side = board.getSideToMove();
+                int move = MoveGenerator.findLegalSanMove(board, side, san, scratch);
+                if (move == PackedMove.NONE) return -1;
+                if (plies == moves.length)
+                {
+                    moves = Arrays.copyOf(moves, plies * 2);
+                }
+                moves[plies++] = move;
+                board.makeMove(move, undo);
+            }
+        }
+        return plies;
+    }
+
+    /**
+     * Converts a PGN file and prints how many games were written and skipped, and
+     * the size of the archive against the PGN.
+     *
+     * @param args the PGN file and the archive to write
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 2)
+        {
+            System.out.println("Usage: java chess.pgn.PgnToBinary <in.pgn> <out.cgb>");
+            System.exit(2);
+        }
+        File pgn = new File(args[0]);
+        File cgb = new File(args[1]);
+        long start = System.nanoTime();
+        PgnToBinary converter = new PgnToBinary();
+        converter.convert(pgn, cgb);
+        System.out.printf("%,d games written, %,d skipped in %,d ms%n", converter.getGamesWritten(),
+                converter.getGamesSkipped(), (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%,d bytes -> %,d bytes (%.1f%%)%n", pgn.length(), cgb.length(),
+                100.0 * cgb.length() / Math.max(1, pgn.length()));
+    }
+}
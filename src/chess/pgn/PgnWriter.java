@@ -1,9 +1,19 @@
 package chess.pgn;
 
+import chess.core.Board;
+import chess.core.Color;
+import chess.core.PackedMove;
+import chess.core.UndoInfo;
+import chess.core.VariationTree;
+import chess.engine.FenUtil;
+import chess.rules.MoveList;
+import chess.rules.MoveGenerator;
+
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,6 +67,164 @@ public final class PgnWriter
         }
     }
 
+    /**
+     * Writes a chess game with all its explored lines to a PGN file.
+     * The mainline is written with each variation in parentheses (RAV) after the move
+     * it replaces, nested as deep as the tree goes. The moves are replayed on a board
+     * to write them in SAN, and a FEN tag is added if the tree does not start from
+     * the standard position.
+     * 
+     * @param file the output PGN file
+     * @param meta the game metadata (Event, Site, Date, etc.)
+     * @param tree the moves of the game
+     * @throws IOException if an I/O error occurs while writing
+     * @throws IllegalArgumentException if the tree holds a move that is not legal in its position
+     */
+    public void write(File file, PgnGameMetadata meta, VariationTree tree) throws IOException
+    {
+        Objects.requireNonNull(file, "file must not be null");
+        Objects.requireNonNull(meta, "meta must not be null");
+        Objects.requireNonNull(tree, "tree must not be null");
+
+        Board board = new Board();
+        if (tree.getStartingFen() != null)
+        {
+            FenUtil.loadFEN(board, tree.getStartingFen());
+        }
+        StringBuilder movetext = new StringBuilder();
+        new VariationWriter(board, movetext).writeLine(tree.getRoot(), true);
+        String result = meta.getTag("Result");
+        if (result != null && !result.isEmpty()) {movetext.append(result);}
+
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file)))
+        {
+            for (Map.Entry<String, String> e : meta.getAllTags().entrySet())
+            {
+                out.write(String.format("[%s \"%s\"]%n", e.getKey(), escapeTagValue(e.getValue())));
+            }
+            if (tree.getStartingFen() != null && !meta.hasTag("FEN"))
+            {
+                out.write(String.format("[SetUp \"1\"]%n[FEN \"%s\"]%n", tree.getStartingFen()));
+            }
+            out.write("\n");
+            writeWrapped(out, movetext);
+            out.write(System.lineSeparator());
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes movetext in lines of at most 79 characters, breaking at spaces.
+     */
+    private void writeWrapped(BufferedWriter out, CharSequence text) throws IOException
+    {
+        int lineStart = 0;
+        int lastSpace = -1;
+        for (int i = 0; i < text.length(); i++)
+        {
+            if (text.charAt(i) == ' ') lastSpace = i;
+            if (i - lineStart >= 79 && lastSpace > lineStart)
+            {
+                out.append(text, lineStart, lastSpace);
+                out.write(System.lineSeparator());
+                lineStart = lastSpace + 1;
+            }
+        }
+        out.append(text, lineStart, text.length());
+    }
+
+    /**
+     * Writes the lines of a variation tree as movetext, replaying the moves on a board.
+     */
+    private static final class VariationWriter
+    {
+        private final Board board;
+        private final StringBuilder out;
+        private final MoveList scratch = new MoveList();
+
+        VariationWriter(Board board, StringBuilder out)
+        {
+            this.board = board;
+            this.out = out;
+        }
+
+        /**
+         * Writes the line that continues from a node: its mainline moves, each followed
+         * by the variations that branch off in its place. The board is back at the
+         * node's position on return.
+         *
+         * @param node the position the line starts from
+         * @param numbered true if the first move needs its number even as a Black move
+         */
+        void writeLine(VariationTree.Node node, boolean numbered)
+        {
+            List<UndoInfo> played = new ArrayList<>();
+            while (!node.getChildren().isEmpty())
+            {
+                List<VariationTree.Node> children = node.getChildren();
+                VariationTree.Node main = children.get(0);
+                int move = PackedMove.fromMove(board, main.getMove());
+                writeMove(move, numbered);
+                numbered = false;
+                for (int i = 1; i < children.size(); i++)
+                {
+                    VariationTree.Node variation = children.get(i);
+                    out.append('(');
+                    int alternative = PackedMove.fromMove(board, variation.getMove());
+                    writeMove(alternative, true);
+                    UndoInfo undo = new UndoInfo();
+                    board.makeMove(alternative, undo);
+                    writeLine(variation, false);
+                    board.unmakeMove(undo);
+                    trimSpace();
+                    out.append(") ");
+                    numbered = true;  // Black's mainline move after a variation needs "12..."
+                }
+                UndoInfo undo = new UndoInfo();
+                board.makeMove(move, undo);
+                played.add(undo);
+                node = main;
+            }
+            for (int i = played.size() - 1; i >= 0; i--)
+            {
+                board.unmakeMove(played.get(i));
+            }
+        }
+
+        private void writeMove(int move, boolean numbered)
+        {
+            Color side = board.getSideToMove();
+            if (!isLegal(move, side))
+            {
+                throw new IllegalArgumentException("Illegal move in variation tree: " + PackedMove.toUci(move));
+            }
+            if (side == Color.WHITE)
+            {
+                out.append(board.getFullmoveNumber()).append(". ");
+            }
+            else if (numbered)
+            {
+                out.append(board.getFullmoveNumber()).append("... ");
+            }
+            out.append(MoveGenerator.toSan(board, side, move, scratch)).append(' ');
+        }
+
+        private boolean isLegal(int move, Color side)
+        {
+            MoveGenerator.generateLegalMoves(board, side, scratch);
+            for (int i = 0; i < scratch.size(); i++)
+            {
+                if (scratch.get(i) == move) return true;
+            }
+            return false;
+        }
+
+        private void trimSpace()
+        {
+            if (out.length() > 0 && out.charAt(out.length() - 1) == ' ') out.setLength(out.length() - 1);
+        }
+    }
+
     /**
      * Escapes special characters in PGN tag values.
      * Converts double quotes to escaped form for PGN format compliance.
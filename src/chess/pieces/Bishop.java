@@ -9,6 +9,12 @@ import java.util.List;
  * Bishops move diagonally any number of squares until blocked.
  */
 public class Bishop extends Piece {
+
+    // Diagonal directions
+    private static final int[][] DIRECTIONS = {
+        {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
+    };
+
     /**
      * Creates a bishop piece.
      * 
@@ -16,7 +22,7 @@ public class Bishop extends Piece {
      * @param position the initial position of the bishop
      */
     public Bishop(Color color, Position position) {
-        super(color, position);
+        super(PieceType.BISHOP, color, position);
     }
 
     /**
@@ -30,12 +36,7 @@ public class Bishop extends Piece {
     public List<Position> getLegalDestinations(Board board) {
         List<Position> destinations = new ArrayList<>();
         
-        // Diagonal directions
-        int[][] directions = {
-            {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
-        };
-
-        for (int[] dir : directions) {
+        for (int[] dir : DIRECTIONS) {
             addDestinationsInDirection(board, destinations, dir[0], dir[1]);
         }
 
@@ -50,7 +51,7 @@ public class Bishop extends Piece {
         int rank = position.getRank() + rankDir;
 
         while (file >= 0 && file <= 7 && rank >= 0 && rank <= 7) {
-            Position pos = new Position(file, rank);
+            Position pos = Position.of(file, rank);
 
             if (board.isEmpty(pos)) {
                 destinations.add(pos);
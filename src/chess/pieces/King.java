@@ -9,6 +9,14 @@ import java.util.List;
  * Kings move one square in any direction and can castle under specific conditions.
  */
 public class King extends Piece {
+
+    // King moves one square in any direction
+    private static final int[][] DIRECTIONS = {
+        {1, 0}, {-1, 0},     // Horizontal
+        {0, 1}, {0, -1},     // Vertical
+        {1, 1}, {1, -1}, {-1, 1}, {-1, -1}  // Diagonal
+    };
+
     /**
      * Creates a king piece.
      * 
@@ -16,7 +24,7 @@ public class King extends Piece {
      * @param position the initial position of the king
      */
     public King(Color color, Position position) {
-        super(color, position);
+        super(PieceType.KING, color, position);
     }
 
     /**
@@ -31,20 +39,13 @@ public class King extends Piece {
     public List<Position> getLegalDestinations(Board board) {
         List<Position> destinations = new ArrayList<>();
         
-        // King moves one square in any direction
-        int[][] directions = {
-            {1, 0}, {-1, 0},     // Horizontal
-            {0, 1}, {0, -1},     // Vertical
-            {1, 1}, {1, -1}, {-1, 1}, {-1, -1}  // Diagonal
-        };
-
-        for (int[] dir : directions) {
+        for (int[] dir : DIRECTIONS) {
             int file = position.getFile() + dir[0];
             int rank = position.getRank() + dir[1];
             
             // Check if position is on the board
             if (file >= 0 && file <= 7 && rank >= 0 && rank <= 7) {
-                Position pos = new Position(file, rank);
+                Position pos = Position.of(file, rank);
                 if (board.isEmpty(pos) || board.isEnemyPiece(pos, color)) {
                     destinations.add(pos);
                 }
@@ -57,11 +58,11 @@ public class King extends Piece {
             int rank = position.getRank();
             // King-side castling (rook at file 7)
             try {
-                Position rookKPos = new Position(7, rank);
+                Position rookKPos = Position.of(7, rank);
                 Piece rookK = board.getPiece(rookKPos);
-                if (rookK != null && rookK.getClass().getSimpleName().equals("Rook") && rookK.getColor() == color && !rookK.hasMoved()) {
-                    Position p1 = new Position(kingFile + 1, rank);
-                    Position p2 = new Position(kingFile + 2, rank);
+                if (rookK != null && rookK.getType() == PieceType.ROOK && rookK.getColor() == color && !rookK.hasMoved()) {
+                    Position p1 = Position.of(kingFile + 1, rank);
+                    Position p2 = Position.of(kingFile + 2, rank);
                     if (board.isEmpty(p1) && board.isEmpty(p2)) {
                         if (!chess.rules.MoveValidator.isPositionAttacked(board, position, color.opposite())
                                 && !chess.rules.MoveValidator.isPositionAttacked(board, p1, color.opposite())
@@ -76,12 +77,13 @@ public class King extends Piece {
 
             // Queen-side castling (rook at file 0)
             try {
-                Position rookQPos = new Position(0, rank);
+                Position rookQPos = Position.of(0, rank);
                 Piece rookQ = board.getPiece(rookQPos);
-                if (rookQ != null && rookQ.getClass().getSimpleName().equals("Rook") && rookQ.getColor() == color && !rookQ.hasMoved()) {
-                    Position q1 = new Position(kingFile - 1, rank);
-                    Position q2 = new Position(kingFile - 2, rank);
-                    if (board.isEmpty(q1) && board.isEmpty(q2)) {
+                if (rookQ != null && rookQ.getType() == PieceType.ROOK && rookQ.getColor() == color && !rookQ.hasMoved()) {
+                    Position q1 = Position.of(kingFile - 1, rank);
+                    Position q2 = Position.of(kingFile - 2, rank);
+                    Position q3 = Position.of(kingFile - 3, rank);
+                    if (board.isEmpty(q1) && board.isEmpty(q2) && board.isEmpty(q3)) {
                         if (!chess.rules.MoveValidator.isPositionAttacked(board, position, color.opposite())
                                 && !chess.rules.MoveValidator.isPositionAttacked(board, q1, color.opposite())
                                 && !chess.rules.MoveValidator.isPositionAttacked(board, q2, color.opposite())) {
@@ -10,6 +10,13 @@ import java.util.List;
  * Knights are the only pieces that can jump over other pieces.
  */
 public class Knight extends Piece {
+
+    // Knight moves in an L-shape: 2 squares in one direction, 1 in the other
+    private static final int[][] OFFSETS = {
+        {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
+        {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
+    };
+
     /**
      * Creates a knight piece.
      * 
@@ -17,7 +24,7 @@ public class Knight extends Piece {
      * @param position the initial position of the knight
      */
     public Knight(Color color, Position position) {
-        super(color, position);
+        super(PieceType.KNIGHT, color, position);
     }
 
     /**
@@ -32,19 +39,13 @@ public class Knight extends Piece {
     public List<Position> getLegalDestinations(Board board) {
         List<Position> destinations = new ArrayList<>();
         
-        // Knight moves in an L-shape: 2 squares in one direction, 1 in the other
-        int[][] offsets = {
-            {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
-            {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
-        };
-
-        for (int[] offset : offsets) {
+        for (int[] offset : OFFSETS) {
             int file = position.getFile() + offset[0];
             int rank = position.getRank() + offset[1];
             
             // Check if position is on the board
             if (file >= 0 && file <= 7 && rank >= 0 && rank <= 7) {
-                Position pos = new Position(file, rank);
+                Position pos = Position.of(file, rank);
                 if (board.isEmpty(pos) || board.isEnemyPiece(pos, color)) {
                     destinations.add(pos);
                 }
@@ -16,7 +16,7 @@ public class Pawn extends Piece {
      * @param position the initial position of the pawn
      */
     public Pawn(Color color, Position position) {
-        super(color, position);
+        super(PieceType.PAWN, color, position);
     }
 
     /**
@@ -36,7 +36,7 @@ public class Pawn extends Piece {
         // Forward move (one square)
         int oneForwardRank = position.getRank() + direction;
         if (oneForwardRank >= 0 && oneForwardRank <= 7) {
-            Position oneForward = new Position(position.getFile(), oneForwardRank);
+            Position oneForward = Position.of(position.getFile(), oneForwardRank);
             if (board.isEmpty(oneForward)) {
                 destinations.add(oneForward);
 
@@ -44,7 +44,7 @@ public class Pawn extends Piece {
                 if (position.getRank() == startRank) {
                     int twoForwardRank = position.getRank() + 2 * direction;
                     if (twoForwardRank >= 0 && twoForwardRank <= 7) {
-                        Position twoForward = new Position(position.getFile(), twoForwardRank);
+                        Position twoForward = Position.of(position.getFile(), twoForwardRank);
                         if (board.isEmpty(twoForward)) {
                             destinations.add(twoForward);
                         }
@@ -56,10 +56,9 @@ public class Pawn extends Piece {
         // Captures (diagonal)
         int captureRank = position.getRank() + direction;
         if (captureRank >= 0 && captureRank <= 7) {
-            int[] captureFiles = {position.getFile() - 1, position.getFile() + 1};
-            for (int file : captureFiles) {
+            for (int file = position.getFile() - 1; file <= position.getFile() + 1; file += 2) {
                 if (file >= 0 && file <= 7) {
-                    Position capPos = new Position(file, captureRank);
+                    Position capPos = Position.of(file, captureRank);
                     if (board.isEnemyPiece(capPos, color)) {
                         destinations.add(capPos);
                     }
@@ -9,6 +9,14 @@ import java.util.List;
  * Queens move like both rooks and bishops: horizontally, vertically, or diagonally any number of squares.
  */
 public class Queen extends Piece {
+
+    // Queen moves like both rook and bishop: horizontal, vertical, and diagonal
+    private static final int[][] DIRECTIONS = {
+        {1, 0}, {-1, 0},   // Horizontal
+        {0, 1}, {0, -1},   // Vertical
+        {1, 1}, {1, -1}, {-1, 1}, {-1, -1}  // Diagonal
+    };
+
     /**
      * Creates a queen piece.
      * 
@@ -16,7 +24,7 @@ public class Queen extends Piece {
      * @param position the initial position of the queen
      */
     public Queen(Color color, Position position) {
-        super(color, position);
+        super(PieceType.QUEEN, color, position);
     }
 
     /**
@@ -31,14 +39,7 @@ public class Queen extends Piece {
     public List<Position> getLegalDestinations(Board board) {
         List<Position> destinations = new ArrayList<>();
         
-        // Queen moves like both rook and bishop: horizontal, vertical, and diagonal
-        int[][] directions = {
-            {1, 0}, {-1, 0},   // Horizontal
-            {0, 1}, {0, -1},   // Vertical
-            {1, 1}, {1, -1}, {-1, 1}, {-1, -1}  // Diagonal
-        };
-
-        for (int[] dir : directions) {
+        for (int[] dir : DIRECTIONS) {
             addDestinationsInDirection(board, destinations, dir[0], dir[1]);
         }
 
@@ -53,7 +54,7 @@ public class Queen extends Piece {
         int rank = position.getRank() + rankDir;
 
         while (file >= 0 && file <= 7 && rank >= 0 && rank <= 7) {
-            Position pos = new Position(file, rank);
+            Position pos = Position.of(file, rank);
 
             if (board.isEmpty(pos)) {
                 destinations.add(pos);
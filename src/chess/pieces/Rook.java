@@ -9,6 +9,13 @@ import java.util.List;
  * Rooks move horizontally or vertically any number of squares until blocked.
  */
 public class Rook extends Piece {
+
+    // Horizontal and vertical directions
+    private static final int[][] DIRECTIONS = {
+        {1, 0}, {-1, 0},   // Horizontal
+        {0, 1}, {0, -1}    // Vertical
+    };
+
     /**
      * Creates a rook piece.
      * 
@@ -16,7 +23,7 @@ public class Rook extends Piece {
      * @param position the initial position of the rook
      */
     public Rook(Color color, Position position) {
-        super(color, position);
+        super(PieceType.ROOK, color, position);
     }
 
     /**
@@ -30,13 +37,7 @@ public class Rook extends Piece {
     public List<Position> getLegalDestinations(Board board) {
         List<Position> destinations = new ArrayList<>();
         
-        // Horizontal and vertical directions
-        int[][] directions = {
-            {1, 0}, {-1, 0},   // Horizontal
-            {0, 1}, {0, -1}    // Vertical
-        };
-
-        for (int[] dir : directions) {
+        for (int[] dir : DIRECTIONS) {
             addDestinationsInDirection(board, destinations, dir[0], dir[1]);
         }
 
@@ -51,7 +52,7 @@ public class Rook extends Piece {
         int rank = position.getRank() + rankDir;
 
         while (file >= 0 && file <= 7 && rank >= 0 && rank <= 7) {
-            Position pos = new Position(file, rank);
+            Position pos = Position.of(file, rank);
 
             if (board.isEmpty(pos)) {
                 destinations.add(pos);
@@ -0,0 +1,295 @@
+package chess.rules;
+
+import chess.core.*;
+
+/**
+ * Bitboard attack helpers shared by move generation and check detection.
+ * Squares use the board's index scheme (rank * 8 + file, a1 = 0, h8 = 63).
+ *
+ * Knight, king and pawn attacks come from per-square tables. Sliding attacks use
+ * fixed-shift magic bitboards: the relevant blockers on a square's rays are multiplied
+ * by a per-square magic number whose top bits index a precomputed attack set.
+ * The magics were found offline by random search and are hardcoded below; the
+ * attack sets themselves are built once when the class loads.
+ */
+public final class Attacks {
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = FILE_A << 7;
+    private static final long NOT_A = ~FILE_A;
+    private static final long NOT_H = ~FILE_H;
+    private static final long NOT_AB = ~(FILE_A | (FILE_A << 1));
+    private static final long NOT_GH = ~(FILE_H | (FILE_H >>> 1));
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    private static final long[] ROOK_MAGICS = {
+        0x1980008028400450L, 0x8440002000441000L, 0x0080100020008008L, 0x0280100008008084L,
+        0x1080080004008002L, 0x0080040002008001L, 0x8200080958820004L, 0x0200004080210402L,
+        0x0013800620400080L, 0x0062404000201000L, 0x1001001504402000L, 0x0800808008001000L,
+        0x0001001100080006L, 0x800A005044080200L, 0x2502000108020004L, 0x8001000052009100L,
+        0x0000818001400020L, 0x0890004040002010L, 0x0520004040100800L, 0x411501000B500020L,
+        0x8A08008008040080L, 0x0A00080110042040L, 0x0260010100020004L, 0x000802000441108CL,
+        0x1040082880004080L, 0x0000400100208102L, 0x0020008180211008L, 0x042A001200204008L,
+        0x0040040080080080L, 0x8402008080020400L, 0x0050010400100802L, 0x002C20860004410CL,
+        0x0124400123800188L, 0x2600400080802010L, 0x2000804202002010L, 0x0110001080800800L,
+        0x8230040080800802L, 0x2040020080800400L, 0x0000109204004821L, 0x00200C048200094BL,
+        0x802180C004248000L, 0x1000408102020022L, 0x0000100020008080L, 0x0405001000090020L,
+        0x5100080004008080L, 0x0882000400808002L, 0x1400428801040010L, 0x0001004100820034L,
+        0x00010242882A0200L, 0x1042008100402200L, 0x3050A00100C21900L, 0x4280081042002200L,
+        0x0268800400080180L, 0x0062040002008080L, 0x0C00020108100400L, 0x0030008044110200L,
+        0xC002244100821202L, 0x0201001040088021L, 0x0004200008430011L, 0x0102200874100101L,
+        0x0022000428201046L, 0x000100040008026DL, 0x0553000082000401L, 0x1000041082442102L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+        0x0004102202040018L, 0x20080810809A0000L, 0x8029040C01808001L, 0x0688204040000100L,
+        0x1102021000000000L, 0x1033112840089603L, 0x4000420804400002L, 0x9021220804140202L,
+        0x1600080204040C02L, 0x1000090818108024L, 0x0008120828410314L, 0x8000C40400904406L,
+        0x0080840420100000L, 0x0000009044200A00L, 0x7200008441084000L, 0x0014044420880800L,
+        0x0815114084188200L, 0x4004101011C60404L, 0x802A000908110100L, 0x8020800802014080L,
+        0x0002000400A20000L, 0x000A000088015800L, 0x0900401208020808L, 0x2000410115009000L,
+        0x0210100004041040L, 0x2104900002101110L, 0x00404C0008002402L, 0x4811080001004100L,
+        0x1001010081704001L, 0x2022048004100080L, 0x2888004003243200L, 0x8804102000848418L,
+        0x0084218410200410L, 0x4108021000090123L, 0x0100104C00080801L, 0x0020528080480200L,
+        0x3230020200102008L, 0x002000A300608041L, 0x0004080448020909L, 0x2204040080004052L,
+        0x2190884410014182L, 0x26008A0803482030L, 0x1000820802002100L, 0x0001004022021020L,
+        0x8400103200902200L, 0x0024009881004204L, 0xCC2B100122088100L, 0x20040082020E0444L,
+        0x2900480208220800L, 0x140040680C104032L, 0x0201002211100860L, 0x00283E0104091110L,
+        0x40C0041002022008L, 0x4080502011410400L, 0x0260021282040002L, 0x0004210401060000L,
+        0x2043008821011000L, 0x000A020104010404L, 0x008A07460201047AL, 0xC102005800840450L,
+        0x8000806020243404L, 0x0C56024011020080L, 0x808710C2084800A0L, 0x0245200803010314L
+    };
+
+    // Blocker masks (rays without the board edge), index shifts and table offsets per square
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final long[] ROOK_TABLE;
+    private static final long[] BISHOP_TABLE;
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            long b = 1L << square;
+            KNIGHT_ATTACKS[square] = ((b << 17) & NOT_A) | ((b << 15) & NOT_H)
+                    | ((b << 10) & NOT_AB) | ((b << 6) & NOT_GH)
+                    | ((b >>> 17) & NOT_H) | ((b >>> 15) & NOT_A)
+                    | ((b >>> 10) & NOT_GH) | ((b >>> 6) & NOT_AB);
+            long sides = ((b << 1) & NOT_A) | ((b >>> 1) & NOT_H);
+            long row = b | sides;
+            KING_ATTACKS[square] = sides | (row << 8) | (row >>> 8);
+            PAWN_ATTACKS[Color.WHITE.ordinal()][square] = ((b << 9) & NOT_A) | ((b << 7) & NOT_H);
+            PAWN_ATTACKS[Color.BLACK.ordinal()][square] = ((b >>> 7) & NOT_A) | ((b >>> 9) & NOT_H);
+        }
+
+        ROOK_TABLE = buildMagicTable(true, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS);
+        BISHOP_TABLE = buildMagicTable(false, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+    }
+
+    // Squares strictly between two aligned squares, and the full line through them (0 if not aligned)
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long bBit = 1L << b;
+                if ((rookAttacks(a, 0L) & bBit) != 0) {
+                    BETWEEN[a][b] = rookAttacks(a, bBit) & rookAttacks(b, 1L << a);
+                    LINE[a][b] = (rookAttacks(a, 0L) & rookAttacks(b, 0L)) | (1L << a) | bBit;
+                } else if ((bishopAttacks(a, 0L) & bBit) != 0) {
+                    BETWEEN[a][b] = bishopAttacks(a, bBit) & bishopAttacks(b, 1L << a);
+                    LINE[a][b] = (bishopAttacks(a, 0L) & bishopAttacks(b, 0L)) | (1L << a) | bBit;
+                }
+            }
+        }
+    }
+
+    private Attacks() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Gets the squares a knight on the given square attacks.
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares a king on the given square attacks.
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares a pawn of the given color on the given square attacks.
+     */
+    public static long pawnAttacks(Color color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    /**
+     * Gets the squares a rook on the given square attacks, stopping at the first
+     * occupied square in each direction (which is included).
+     */
+    public static long rookAttacks(int square, long occupied) {
+        long blockers = occupied & ROOK_MASKS[square];
+        return ROOK_TABLE[ROOK_OFFSETS[square] + (int) ((blockers * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    /**
+     * Gets the squares a bishop on the given square attacks, stopping at the first
+     * occupied square in each direction (which is included).
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        long blockers = occupied & BISHOP_MASKS[square];
+        return BISHOP_TABLE[BISHOP_OFFSETS[square] + (int) ((blockers * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    /**
+     * Gets the squares a queen on the given square attacks.
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * Gets the squares strictly between two squares on a shared rank, file or diagonal.
+     *
+     * @return the in-between mask, or 0 if the squares are not aligned
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * Gets the full board-edge-to-edge line through two aligned squares.
+     *
+     * @return the line mask, or 0 if the squares are not aligned
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    /**
+     * Gets every piece of the given color that attacks a square, using a custom occupancy
+     * (e.g. with the defending king removed to detect squares behind it).
+     *
+     * @param board the board
+     * @param square the target square
+     * @param attacker the attacking color
+     * @param occupied the occupancy to use for sliding pieces
+     * @return the bitboard of attacking pieces
+     */
+    public static long attackersTo(Board board, int square, Color attacker, long occupied) {
+        Bitboards bb = board.getBitboards();
+        long queens = bb.getPieces(Bitboards.QUEEN, attacker);
+        return (pawnAttacks(attacker.opposite(), square) & bb.getPieces(Bitboards.PAWN, attacker))
+                | (knightAttacks(square) & bb.getPieces(Bitboards.KNIGHT, attacker))
+                | (kingAttacks(square) & bb.getPieces(Bitboards.KING, attacker))
+                | (bishopAttacks(square, occupied) & (bb.getPieces(Bitboards.BISHOP, attacker) | queens))
+                | (rookAttacks(square, occupied) & (bb.getPieces(Bitboards.ROOK, attacker) | queens));
+    }
+
+    /**
+     * Checks whether a square is attacked by any piece of the given color.
+     *
+     * @param board the board
+     * @param square the target square
+     * @param attacker the attacking color
+     * @return true if at least one attacker reaches the square
+     */
+    public static boolean isSquareAttacked(Board board, int square, Color attacker) {
+        return attackersTo(board, square, attacker, board.getBitboards().getOccupied()) != 0;
+    }
+
+    /**
+     * Fills the magic lookup table for rooks or bishops: for every square, enumerates each
+     * subset of its blocker mask and stores the attack set at the subset's magic index.
+     */
+    private static long[] buildMagicTable(boolean rook, long[] magics, long[] masks, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int square = 0; square < 64; square++) {
+            masks[square] = blockerMask(square, rook);
+            int bits = Long.bitCount(masks[square]);
+            shifts[square] = 64 - bits;
+            offsets[square] = size;
+            size += 1 << bits;
+        }
+
+        long[] table = new long[size];
+        for (int square = 0; square < 64; square++) {
+            long mask = masks[square];
+            long subset = 0L;
+            do {
+                int index = offsets[square] + (int) ((subset * magics[square]) >>> shifts[square]);
+                table[index] = rook ? slidingAttacks(square, subset, ROOK_DIRECTIONS) : slidingAttacks(square, subset, BISHOP_DIRECTIONS);
+                subset = (subset - mask) & mask; // Carry-Rippler: next subset of the mask
+            } while (subset != 0);
+        }
+        return table;
+    }
+
+    /**
+     * Gets the squares whose occupancy can change a slider's attacks: its rays, minus
+     * the last square of each ray (a piece there cannot block anything further).
+     */
+    private static long blockerMask(int square, boolean rook) {
+        int[][] directions = rook ? ROOK_DIRECTIONS : BISHOP_DIRECTIONS;
+        long mask = 0L;
+        for (int[] direction : directions) {
+            long ray = slide(square, 0L, direction[0], direction[1]);
+            int file = (square & 7) + direction[0] * 7;
+            int rank = (square >>> 3) + direction[1] * 7;
+            // Drop the edge square where the ray ends
+            while (file < 0 || file > 7 || rank < 0 || rank > 7) {
+                file -= direction[0];
+                rank -= direction[1];
+            }
+            mask |= ray & ~(1L << (rank * 8 + file));
+        }
+        return mask;
+    }
+
+    /**
+     * Computes sliding attacks ray by ray (used only to fill the lookup tables).
+     */
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for (int[] direction : directions) {
+            attacks |= slide(square, occupied, direction[0], direction[1]);
+        }
+        return attacks;
+    }
+
+    /**
+     * Walks one ray from a square until it leaves the board or hits an occupied square.
+     */
+    private static long slide(int square, long occupied, int fileStep, int rankStep) {
+        long attacks = 0L;
+        int file = (square & 7) + fileStep;
+        int rank = (square >>> 3) + rankStep;
+        while (file >= 0 && file <= 7 && rank >= 0 && rank <= 7) {
+            long bit = 1L << (rank * 8 + file);
+            attacks |= bit;
+            if ((occupied & bit) != 0) {
+                break;
+            }
+            file += fileStep;
+            rank += rankStep;
+        }
+        return attacks;
+    }
+}
@@ -1,8 +1,6 @@
 package chess.rules;
 
 import chess.core.*;
-import chess.pieces.King;
-import chess.pieces.Rook;
 
 /**
  * Handles castling moves (both king-side and queen-side).
@@ -29,7 +27,7 @@ public class CastlingHandler {
         Piece rookPiece = board.getPiece(targetRookPos);
 
         // Must be king + rook
-        if (!(kingPiece instanceof King) || !(rookPiece instanceof Rook)) {
+        if (kingPiece == null || kingPiece.getType() != PieceType.KING || rookPiece == null || rookPiece.getType() != PieceType.ROOK) {
             return false;
         }
 
@@ -71,8 +69,8 @@ public class CastlingHandler {
         int kingFile = kingPos.getFile();
         int direction = Integer.compare(rookFile, kingFile);
 
-        Position midPos = new Position(kingFile + direction, kingPos.getRank());
-        Position finalPos = new Position(kingFile + 2 * direction, kingPos.getRank());
+        Position midPos = Position.of(kingFile + direction, kingPos.getRank());
+        Position finalPos = Position.of(kingFile + 2 * direction, kingPos.getRank());
 
         if (MoveValidator.isPositionAttacked(board, midPos, opponent)) {
             return false;
@@ -97,7 +95,7 @@ public class CastlingHandler {
         Piece king = board.getPiece(kingPos);
         Piece rook = board.getPiece(targetRookPos);
 
-        if (!(king instanceof King) || !(rook instanceof Rook)) {
+        if (king == null || king.getType() != PieceType.KING || rook == null || rook.getType() != PieceType.ROOK) {
             throw new IllegalArgumentException("King and rook must exist");
         }
 
@@ -108,10 +106,10 @@ public class CastlingHandler {
         int direction = Integer.compare(rookFile, kingFile);
 
         // King goes two squares toward rook
-        Position kingNewPos = new Position(kingFile + 2 * direction, rank);
+        Position kingNewPos = Position.of(kingFile + 2 * direction, rank);
 
         // Rook goes next to king on the inside
-        Position rookNewPos = new Position(kingFile + direction, rank);
+        Position rookNewPos = Position.of(kingFile + direction, rank);
 
         board.movePiece(kingPos, kingNewPos);
         board.movePiece(targetRookPos, rookNewPos);
@@ -137,7 +135,7 @@ public class CastlingHandler {
             if (file < 0 || file > 7 || rank < 0 || rank > 7) {
                 return false;
             }
-            Position pos = new Position(file, rank);
+            Position pos = Position.of(file, rank);
             if (!board.isEmpty(pos)) {
                 return false;
             }
@@ -159,7 +157,7 @@ public class CastlingHandler {
         }
 
         Piece piece = board.getPiece(kingPos);
-        if (!(piece instanceof King) || piece.getColor() != color) {
+        if (piece == null || piece.getType() != PieceType.KING || piece.getColor() != color) {
             return false;
         }
 
@@ -175,14 +173,14 @@ public class CastlingHandler {
             if (kingPos.getFile() != 4) return false;
 
             int direction = Integer.compare(fileDelta, 0);
-            Position rookPos = new Position(direction > 0 ? 7 : 0, startRank);
+            Position rookPos = Position.of(direction > 0 ? 7 : 0, startRank);
             Piece rook = board.getPiece(rookPos);
-            return (rook instanceof Rook) && rook.getColor() == color;
+            return rook != null && rook.getType() == PieceType.ROOK && rook.getColor() == color;
         }
 
         // Legacy style: target square is the rook
         Piece targetPiece = board.getPiece(targetPos);
-        if (targetPiece instanceof Rook && targetPiece.getColor() == color) {
+        if (targetPiece != null && targetPiece.getType() == PieceType.ROOK && targetPiece.getColor() == color) {
             return Math.abs(targetPos.getFile() - kingPos.getFile()) > 1;
         }
 
@@ -214,7 +212,7 @@ public class CastlingHandler {
         }
 
         int direction = Integer.compare(fileDelta, 0);
-        return new Position(direction > 0 ? 7 : 0, startRank);
+        return Position.of(direction > 0 ? 7 : 0, startRank);
     }
 
     /**
@@ -1,13 +1,15 @@
 package chess.rules;
 
 import chess.core.*;
-import java.util.List;
 
 /**
  * Detects check and checkmate conditions.
  */
 public class CheckDetector {
 
+    // Reused workspace for legal move generation
+    private final MoveList scratch = new MoveList();
+
     /**
      * Checks if a king is in check.
      */
@@ -27,33 +29,14 @@ public class CheckDetector {
 
     /**
      * Checks if a player has any legal moves.
+     * Uses the legal move generator and stops at the first move found.
      */
     public boolean hasAnyLegalMove(Board board, Color color) {
         if (board == null || color == null) {
             return false;
         }
 
-        // Check all pieces of the given color
-        for (int file = 0; file < 8; file++) {
-            for (int rank = 0; rank < 8; rank++) {
-                Position piecePos = new Position(file, rank);
-                Piece piece = board.getPiece(piecePos);
-
-                if (piece != null && piece.getColor() == color) {
-                    List<Position> destinations = piece.getLegalDestinations(board);
-                    
-                    // Check if any destination results in a legal move
-                    for (Position dest : destinations) {
-                        Move testMove = new Move.Builder(piecePos, dest, piece).build();
-                        if (MoveValidator.isValidMove(board, testMove, color)) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-
-        return false;
+        return MoveGenerator.hasLegalMove(board, color, scratch);
     }
 
     /**
@@ -1,7 +1,6 @@
 package chess.rules;
 
 import chess.core.*;
-import chess.pieces.Pawn;
 
 /**
  * Handles en passant captures.
@@ -37,7 +36,7 @@ public class EnPassantHandler {
         Piece movedPiece = lastMove.getMovedPiece();
 
         // Check if it's a pawn move
-        if (!(movedPiece instanceof Pawn)) {
+        if (movedPiece == null || movedPiece.getType() != PieceType.PAWN) {
             return null;
         }
 
@@ -52,7 +51,7 @@ public class EnPassantHandler {
 
         // The en passant square is the square the pawn passed over
         int enPassantRank = (fromRank + toRank) / 2;
-        validEnPassantSquare = new Position(lastMove.getTo().getFile(), enPassantRank);
+        validEnPassantSquare = Position.of(lastMove.getTo().getFile(), enPassantRank);
 
         return validEnPassantSquare;
     }
@@ -96,7 +95,7 @@ public class EnPassantHandler {
         Piece piece = board.getPiece(fromPos);
 
         // Check if it's a pawn
-        if (!(piece instanceof Pawn)) {
+        if (piece == null || piece.getType() != PieceType.PAWN) {
             return false;
         }
 
@@ -108,10 +107,10 @@ public class EnPassantHandler {
         // Check if there's an enemy pawn to capture next to the moving pawn
         Color color = piece.getColor();
         int captureRank = fromPos.getRank();
-        Position capturePos = new Position(toPos.getFile(), captureRank);
+        Position capturePos = Position.of(toPos.getFile(), captureRank);
 
         Piece capturedPiece = board.getPiece(capturePos);
-        return capturedPiece instanceof Pawn && capturedPiece.getColor() != color;
+        return capturedPiece != null && capturedPiece.getType() == PieceType.PAWN && capturedPiece.getColor() != color;
     }
 
     /**
@@ -129,7 +128,7 @@ public class EnPassantHandler {
 
         // Remove the captured pawn (it's on the original rank of the attacking pawn)
         int captureRank = fromPos.getRank();
-        Position capturePos = new Position(toPos.getFile(), captureRank);
+        Position capturePos = Position.of(toPos.getFile(), captureRank);
 
         Piece capturedPiece = board.getPiece(capturePos);
         if (capturedPiece == null) {
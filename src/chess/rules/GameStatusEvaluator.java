@@ -0,0 +1,193 @@
+package chess.rules;
+
+import chess.core.*;
+
+/**
+ * Works out the status of a position in one pass: whether the side to move is in
+ * check and whether it has a legal move, and so whether the game is over by
+ * checkmate or stalemate. Check comes from a single bitboard attack lookup on the
+ * king square and the move test from one run of the legal move generator that stops
+ * at the first move found, where asking CheckDetector for checkmate, stalemate and
+ * check in turn repeats both several times. Counting every legal move costs more
+ * than finding one, so the count is a separate call.
+ *
+ * The position is also a draw when neither side has the material to checkmate,
+ * after a hundred plies without a capture or pawn move (the fifty-move rule) or
+ * when it occurs for the third time. These end the game without a claim, as in
+ * engine matches. Material is read from the piece bitboards, which the board keeps
+ * up to date move by move, and the halfmove clock comes from the board; the caller
+ * supplies the repetition count, since only the game knows the earlier positions.
+ *
+ * Game caches the results for its current position (see Game#getStatus).
+ */
+public final class GameStatusEvaluator {
+
+    /** Number of occurrences of a position that draws the game. */
+    public static final int REPETITION_LIMIT = 3;
+
+    /** Plies without a capture or pawn move that draw the game. */
+    public static final int FIFTY_MOVE_PLIES = 100;
+
+    // The light squares: b1, d1, f1, h1, a2, c2, ...
+    private static final long LIGHT_SQUARES = 0x55AA55AA55AA55AAL;
+
+    // Reused workspace for legal move generation
+    private final MoveList scratch = new MoveList();
+
+    /**
+     * Evaluates a position without regard to repetition.
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @return the status of the position
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public Status evaluate(Board board, Color side) {
+        return evaluate(board, side, 1);
+    }
+
+    /**
+     * Evaluates a position.
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @param repetitionCount how many times the position has occurred, counting this one
+     * @return the status of the position
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public Status evaluate(Board board, Color side, int repetitionCount) {
+        if (board == null || side == null) {
+            throw new IllegalArgumentException("Board and side must not be null");
+        }
+        Bitboards bb = board.getBitboards();
+        long king = bb.getPieces(Bitboards.KING, side);
+        boolean check = king != 0 && Attacks.attackersTo(board, Long.numberOfTrailingZeros(king),
+                side.opposite(), bb.getOccupied()) != 0;
+        boolean hasLegalMove = MoveGenerator.hasLegalMove(board, side, scratch);
+
+        GameState draw = null;
+        if (hasLegalMove) {
+            if (isInsufficientMaterial(bb)) {
+                draw = GameState.DRAW_BY_INSUFFICIENT_MATERIAL;
+            } else if (repetitionCount >= REPETITION_LIMIT) {
+                draw = GameState.DRAW_BY_REPETITION;
+            } else if (board.getHalfmoveClock() >= FIFTY_MOVE_PLIES) {
+                draw = GameState.DRAW_BY_FIFTY_MOVE_RULE;
+            }
+        }
+        return new Status(check, hasLegalMove, draw);
+    }
+
+    /**
+     * Checks whether neither side can ever checkmate: only kings are left, plus at
+     * most one knight or bishop, or any number of bishops that all stand on squares
+     * of the same color.
+     *
+     * @param board the board to check
+     * @return true if the position is a dead draw by material
+     * @throws IllegalArgumentException if board is null
+     */
+    public static boolean isInsufficientMaterial(Board board) {
+        if (board == null) {
+            throw new IllegalArgumentException("Board must not be null");
+        }
+        return isInsufficientMaterial(board.getBitboards());
+    }
+
+    private static boolean isInsufficientMaterial(Bitboards bb) {
+        long heavy = 0L;
+        long knights = 0L;
+        long bishops = 0L;
+        for (Color color : Color.values()) {
+            heavy |= bb.getPieces(Bitboards.PAWN, color) | bb.getPieces(Bitboards.ROOK, color)
+                    | bb.getPieces(Bitboards.QUEEN, color);
+            knights |= bb.getPieces(Bitboards.KNIGHT, color);
+            bishops |= bb.getPieces(Bitboards.BISHOP, color);
+        }
+        if (heavy != 0) {
+            return false;
+        }
+        if (Long.bitCount(knights | bishops) <= 1) {
+            return true;
+        }
+        return knights == 0 && ((bishops & LIGHT_SQUARES) == 0 || (bishops & ~LIGHT_SQUARES) == 0);
+    }
+
+    /**
+     * Counts the legal moves in a position.
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @return the number of legal moves, 0 in checkmate or stalemate
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public int countLegalMoves(Board board, Color side) {
+        if (board == null || side == null) {
+            throw new IllegalArgumentException("Board and side must not be null");
+        }
+        return MoveGenerator.generateLegalMoves(board, side, scratch);
+    }
+
+    /**
+     * The status of one position.
+     */
+    public static final class Status {
+        private final boolean check;
+        private final boolean hasLegalMove;
+        private final GameState draw;  // Draw by rule, or null
+
+        Status(boolean check, boolean hasLegalMove, GameState draw) {
+            this.check = check;
+            this.hasLegalMove = hasLegalMove;
+            this.draw = draw;
+        }
+
+        /**
+         * Checks whether the side to move is in check.
+         *
+         * @return true if the king is attacked
+         */
+        public boolean isCheck() {
+            return check;
+        }
+
+        /**
+         * Checks whether the side to move has a legal move.
+         *
+         * @return false in checkmate or stalemate
+         */
+        public boolean hasLegalMove() {
+            return hasLegalMove;
+        }
+
+        /**
+         * Gets the game state the position implies on its own. Checkmate and
+         * stalemate take precedence over the draw rules.
+         *
+         * @return CHECKMATE, STALEMATE, one of the DRAW_BY_ rule states, CHECK or ONGOING
+         */
+        public GameState getState() {
+            if (!hasLegalMove) {
+                return check ? GameState.CHECKMATE : GameState.STALEMATE;
+            }
+            if (draw != null) {
+                return draw;
+            }
+            return check ? GameState.CHECK : GameState.ONGOING;
+        }
+
+        /**
+         * Checks whether the position ends the game.
+         *
+         * @return true for checkmate, stalemate and draws by rule
+         */
+        public boolean isTerminal() {
+            return !hasLegalMove || draw != null;
+        }
+
+        @Override
+        public String toString() {
+            return getState().toString();
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package chess.rules;
+
+import chess.core.*;
+
+/**
+ * Generates every fully legal move for the side to move in a single pass.
+ * Legality comes from check-evasion and pin masks computed up front, so no move
+ * is simulated on the board. Output goes into a caller-supplied MoveList of packed
+ * moves (see PackedMove), so generation allocates nothing.
+ *
+ * Castling follows the board's existing rules: the king and rook must be on their
+ * original squares and must not have moved, the squares between them must be empty,
+ * and the king may not be in check or pass through or land on an attacked square.
+ */
+public final class MoveGenerator {
+    private static final long FILE_A = 0x0101010101010101L;
+
+    private MoveGenerator() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Generates all legal moves for a side.
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @param moves the buffer to fill; it is cleared first
+     * @return the number of legal moves generated
+     */
+    public static int generateLegalMoves(Board board, Color side, MoveList moves) {
+        moves.clear();
+        generate(board, side, moves, true, false);
+        return moves.size();
+    }
+
+    /**
+     * Generates the legal captures and promotions for a side (en passant included,
+     * castling and quiet moves excluded), as needed by a quiescence search.
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @param moves the buffer to fill; it is cleared first
+     * @return the number of moves generated
+     */
+    public static int generateLegalCaptures(Board board, Color side, MoveList moves) {
+        moves.clear();
+        generate(board, side, moves, true, true);
+        return moves.size();
+    }
+
+    /**
+     * Finds the legal move written in UCI coordinate notation (e.g., "e2e4", "a7a8q").
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @param uci the move in UCI notation
+     * @return the packed move, or PackedMove.NONE if it is not a legal move for the side
+     */
+    public static int findLegalMove(Board board, Color side, String uci) {
+        MoveList moves = new MoveList();
+        generateLegalMoves(board, side, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.toUci(moves.get(i)).equals(uci)) {
+                return moves.get(i);
+            }
+        }
+        return PackedMove.NONE;
+    }
+
+    /**
+     * Finds the legal move written in standard algebraic notation (e.g., "Nbd2", "exd5",
+     * "e8=Q", "O-O"). Check, mate and annotation suffixes are ignored, a promotion without
+     * a piece letter means a queen, and a SAN that matches several moves is rejected.
+     * Nothing is allocated, so this is suitable for bulk replay of recorded games.
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @param san the move in SAN
+     * @param moves a buffer the generator may use as workspace
+     * @return the packed move, or PackedMove.NONE if no single legal move matches
+     */
+    public static int findLegalSanMove(Board board, Color side, CharSequence san, MoveList moves) {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (end < 2) {
+            return PackedMove.NONE;
+        }
+        generateLegalMoves(board, side, moves);
+
+        char first = san.charAt(0);
+        if (first == 'O' || first == '0') {
+            int castle = castlingFlags(san, end);
+            for (int i = 0; i < moves.size(); i++) {
+                if (PackedMove.flags(moves.get(i)) == castle) {
+                    return moves.get(i);
+                }
+            }
+            return PackedMove.NONE;
+        }
+
+        int start = 0;
+        int kind = "NBRQK".indexOf(first) + 1;
+        if (kind > 0) {
+            start = 1;
+        }
+        int promotion = -1;
+        if (kind == Bitboards.PAWN && end >= 3) {
+            int promoted = "nbrq".indexOf(Character.toLowerCase(san.charAt(end - 1)));
+            if (promoted >= 0 && (san.charAt(end - 2) == '=' || Character.isDigit(san.charAt(end - 2)))) {
+                promotion = Bitboards.KNIGHT + promoted;
+                end -= san.charAt(end - 2) == '=' ? 2 : 1;
+            }
+        }
+        if (end - start < 2) {
+            return PackedMove.NONE;
+        }
+        int toFile = san.charAt(end - 2) - 'a';
+        int toRank = san.charAt(end - 1) - '1';
+        if (toFile < 0 || toFile > 7 || toRank < 0 || toRank > 7) {
+            return PackedMove.NONE;
+        }
+
+        // Disambiguation ("Nbd2", "R1e2", "Qh4e1"), capture marks and long-algebraic dashes
+        int fromFile = -1;
+        int fromRank = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRank = c - '1';
+            } else if (c != 'x' && c != '-' && c != ':') {
+                return PackedMove.NONE;
+            }
+        }
+
+        int toSquare = Bitboards.square(toFile, toRank);
+        long pieces = board.getBitboards().getPieces(kind, side);
+        int found = PackedMove.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = PackedMove.from(move);
+            if (PackedMove.to(move) != toSquare || (pieces & (1L << from)) == 0
+                    || (fromFile >= 0 && (from & 7) != fromFile) || (fromRank >= 0 && (from >>> 3) != fromRank)) {
+                continue;
+            }
+            if (PackedMove.isPromotion(move)
+                    ? PackedMove.promotionKind(move) != (promotion >= 0 ? promotion : Bitboards.QUEEN)
+                    : promotion >= 0) {
+                continue;
+            }
+            if (found != PackedMove.NONE) {
+                return PackedMove.NONE;  // Ambiguous
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * Writes a legal move in standard algebraic notation, with the file or rank of the
+     * source square added when another piece of the same kind can reach the same square,
+     * and "+" or "#" when the move gives check or mate. The board is left unchanged.
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @param move a legal packed move for the side
+     * @param moves a buffer the generator may use as workspace
+     * @return the SAN, e.g. "Nbd2", "exd5", "e8=Q+", "O-O"
+     */
+    public static String toSan(Board board, Color side, int move, MoveList moves) {
+        StringBuilder san = new StringBuilder(8);
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        if (PackedMove.flags(move) == PackedMove.KING_CASTLE) {
+            san.append("O-O");
+        } else if (PackedMove.flags(move) == PackedMove.QUEEN_CASTLE) {
+            san.append("O-O-O");
+        } else {
+            PieceType type = board.getPiece(from).getType();
+            if (type == PieceType.PAWN) {
+                if (PackedMove.isCapture(move)) {
+                    san.append((char) ('a' + (from & 7)));
+                }
+            } else {
+                san.append(type.getSanSymbol());
+                generateLegalMoves(board, side, moves);
+                long others = 0;
+                long pieces = board.getBitboards().getPieces(type.ordinal(), side);
+                for (int i = 0; i < moves.size(); i++) {
+                    int other = moves.get(i);
+                    int otherFrom = PackedMove.from(other);
+                    if (PackedMove.to(other) == to && otherFrom != from && (pieces & (1L << otherFrom)) != 0) {
+                        others |= 1L << otherFrom;
+                    }
+                }
+                if (others != 0) {
+                    boolean fileTaken = (others & (FILE_A << (from & 7))) != 0;
+                    boolean rankTaken = (others & (0xFFL << (from & ~7))) != 0;
+                    if (!fileTaken || rankTaken) {
+                        san.append((char) ('a' + (from & 7)));
+                    }
+                    if (fileTaken) {
+                        san.append((char) ('1' + (from >>> 3)));
+                    }
+                }
+            }
+            if (PackedMove.isCapture(move)) {
+                san.append('x');
+            }
+            san.append((char) ('a' + (to & 7))).append((char) ('1' + (to >>> 3)));
+            if (PackedMove.isPromotion(move)) {
+                san.append('=').append(PieceType.ofKind(PackedMove.promotionKind(move)).getSanSymbol());
+            }
+        }
+
+        UndoInfo undo = new UndoInfo();
+        board.makeMove(move, undo);
+        Color them = side.opposite();
+        long king = board.getBitboards().getPieces(Bitboards.KING, them);
+        if (king != 0 && Attacks.isSquareAttacked(board, Long.numberOfTrailingZeros(king), side)) {
+            san.append(hasLegalMove(board, them, moves) ? '+' : '#');
+        }
+        board.unmakeMove(undo);
+        return san.toString();
+    }
+
+    private static int castlingFlags(CharSequence san, int end) {
+        if (end != 3 && end != 5) {
+            return -1;
+        }
+        for (int i = 1; i < end; i++) {
+            char expected = (i & 1) == 1 ? '-' : san.charAt(0);
+            if (san.charAt(i) != expected) {
+                return -1;
+            }
+        }
+        return end == 3 ? PackedMove.KING_CASTLE : PackedMove.QUEEN_CASTLE;
+    }
+
+    /**
+     * Checks whether a side has at least one legal move, stopping at the first one found.
+     *
+     * @param board the current board state
+     * @param side the color to move
+     * @param scratch a buffer the generator may use as workspace
+     * @return true if any legal move exists
+     */
+    public static boolean hasLegalMove(Board board, Color side, MoveList scratch) {
+        scratch.clear();
+        generate(board, side, scratch, false, false);
+        return !scratch.isEmpty();
+    }
+
+    /**
+     * Core generator. When {@code all} is false, returns as soon as one move was added.
+     * When {@code capturesOnly} is true, only captures and promotions are generated.
+     */
+    private static void generate(Board board, Color us, MoveList moves, boolean all, boolean capturesOnly) {
+        Bitboards bb = board.getBitboards();
+        Color them = us.opposite();
+        long own = bb.getOccupancy(us);
+        long enemy = bb.getOccupancy(them);
+        long occupied = own | enemy;
+        long targetMask = capturesOnly ? enemy : ~own;
+
+        long kingBits = bb.getPieces(Bitboards.KING, us);
+        if (kingBits == 0) {
+            return;
+        }
+        int kingSquare = Long.numberOfTrailingZeros(kingBits);
+
+        // King moves: never onto a square the enemy attacks once the king has left its square
+        long occupiedWithoutKing = occupied ^ kingBits;
+        long kingTargets = Attacks.kingAttacks(kingSquare) & targetMask;
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if (Attacks.attackersTo(board, to, them, occupiedWithoutKing) == 0) {
+                moves.add(PackedMove.of(kingSquare, to, (enemy & (1L << to)) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET));
+                if (!all) {
+                    return;
+                }
+            }
+        }
+
+        long checkers = Attacks.attackersTo(board, kingSquare, them, occupied);
+        if (Long.bitCount(checkers) > 1) {
+            return; // Double check: only the king may move
+        }
+
+        // Squares that resolve a single check: capture the checker or block its ray
+        long checkMask = -1L;
+        if (checkers != 0) {
+            int checkerSquare = Long.numberOfTrailingZeros(checkers);
+            checkMask = checkers | Attacks.between(kingSquare, checkerSquare);
+        }
+
+        long pinned = pinnedPieces(board, us, kingSquare, own, enemy);
+
+        if (checkers == 0 && !capturesOnly && generateCastling(board, us, kingSquare, occupied, moves) && !all) {
+            return;
+        }
+
+        // Knights (a pinned knight can never move)
+        long knights = bb.getPieces(Bitboards.KNIGHT, us) & ~pinned;
+        while (knights != 0) {
+            int from = Long.numberOfTrailingZeros(knights);
+            knights &= knights - 1;
+            if (addTargets(moves, from, Attacks.knightAttacks(from) & targetMask & checkMask, enemy) && !all) {
+                return;
+            }
+        }
+
+        // Sliders
+        long diagonal = bb.getPieces(Bitboards.BISHOP, us) | bb.getPieces(Bitboards.QUEEN, us);
+        while (diagonal != 0) {
+            int from = Long.numberOfTrailingZeros(diagonal);
+            diagonal &= diagonal - 1;
+            long targets = Attacks.bishopAttacks(from, occupied) & targetMask & checkMask;
+            if ((pinned & (1L << from)) != 0) {
+                targets &= Attacks.line(kingSquare, from);
+            }
+            if (addTargets(moves, from, targets, enemy) && !all) {
+                return;
+            }
+        }
+        long straight = bb.getPieces(Bitboards.ROOK, us) | bb.getPieces(Bitboards.QUEEN, us);
+        while (straight != 0) {
+            int from = Long.numberOfTrailingZeros(straight);
+            straight &= straight - 1;
+            long targets = Attacks.rookAttacks(from, occupied) & targetMask & checkMask;
+            if ((pinned & (1L << from)) != 0) {
+                targets &= Attacks.line(kingSquare, from);
+            }
+            if (addTargets(moves, from, targets, enemy) && !all) {
+                return;
+            }
+        }
+
+        generatePawnMoves(board, us, kingSquare, occupied, enemy, checkMask, pinned, moves, all, capturesOnly);
+    }
+
+    /**
+     * Finds our pieces that are the only blocker between our king and an enemy slider.
+     */
+    private static long pinnedPieces(Board board, Color us, int kingSquare, long own, long enemy) {
+        Bitboards bb = board.getBitboards();
+        Color them = us.opposite();
+        long queens = bb.getPieces(Bitboards.QUEEN, them);
+        long snipers = (Attacks.rookAttacks(kingSquare, enemy) & (bb.getPieces(Bitboards.ROOK, them) | queens))
+                | (Attacks.bishopAttacks(kingSquare, enemy) & (bb.getPieces(Bitboards.BISHOP, them) | queens));
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(kingSquare, sniper) & (own | enemy);
+            if (Long.bitCount(blockers) == 1 && (blockers & own) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * Adds a move for each target square. Returns true if at least one move was added.
+     */
+    private static boolean addTargets(MoveList moves, int from, long targets, long enemy) {
+        boolean added = targets != 0;
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(PackedMove.of(from, to, (enemy & (1L << to)) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET));
+        }
+        return added;
+    }
+
+    /**
+     * Generates pushes, captures, promotions and en passant for our pawns.
+     * When {@code capturesOnly} is true, the only pushes generated are promotions.
+     */
+    private static void generatePawnMoves(Board board, Color us, int kingSquare, long occupied, long enemy,
+                                          long checkMask, long pinned, MoveList moves, boolean all,
+                                          boolean capturesOnly) {
+        Bitboards bb = board.getBitboards();
+        boolean white = us == Color.WHITE;
+        int forward = white ? 8 : -8;
+        int startRank = white ? 1 : 6;
+        int promotionRank = white ? 7 : 0;
+
+        Position epPosition = board.getEnPassantSquare();
+        int epSquare = epPosition == null ? -1 : epPosition.index();
+
+        long pawns = bb.getPieces(Bitboards.PAWN, us);
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+
+            long allowed = checkMask;
+            if ((pinned & (1L << from)) != 0) {
+                allowed &= Attacks.line(kingSquare, from);
+            }
+
+            int size = moves.size();
+
+            // Pushes
+            int one = from + forward;
+            if ((occupied & (1L << one)) == 0 && (!capturesOnly || (one >>> 3) == promotionRank)) {
+                if ((allowed & (1L << one)) != 0) {
+                    addPawnMove(moves, from, one, promotionRank, false);
+                }
+                int two = one + forward;
+                if ((from >>> 3) == startRank && (occupied & (1L << two)) == 0 && (allowed & (1L << two)) != 0) {
+                    moves.add(PackedMove.of(from, two, PackedMove.DOUBLE_PUSH));
+                }
+            }
+
+            // Captures
+            long captures = Attacks.pawnAttacks(us, from) & enemy & allowed;
+            while (captures != 0) {
+                int to = Long.numberOfTrailingZeros(captures);
+                captures &= captures - 1;
+                addPawnMove(moves, from, to, promotionRank, true);
+            }
+
+            // En passant
+            if (epSquare >= 0 && (Attacks.pawnAttacks(us, from) & (1L << epSquare)) != 0
+                    && isLegalEnPassant(board, us, kingSquare, from, epSquare, checkMask)) {
+                moves.add(PackedMove.of(from, epSquare, PackedMove.EN_PASSANT));
+            }
+
+            if (!all && moves.size() > size) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a pawn move, expanding it into the four promotions on the last rank.
+     */
+    private static void addPawnMove(MoveList moves, int from, int to, int promotionRank, boolean capture) {
+        if ((to >>> 3) == promotionRank) {
+            moves.add(PackedMove.promotion(from, to, Bitboards.QUEEN, capture));
+            moves.add(PackedMove.promotion(from, to, Bitboards.ROOK, capture));
+            moves.add(PackedMove.promotion(from, to, Bitboards.BISHOP, capture));
+            moves.add(PackedMove.promotion(from, to, Bitboards.KNIGHT, capture));
+        } else {
+            moves.add(PackedMove.of(from, to, capture ? PackedMove.CAPTURE : PackedMove.QUIET));
+        }
+    }
+
+    /**
+     * Validates an en passant capture. Two pawns leave their rank at once, so pins are
+     * checked directly against the resulting occupancy rather than with the pin mask.
+     */
+    private static boolean isLegalEnPassant(Board board, Color us, int kingSquare, int from, int epSquare, long checkMask) {
+        Bitboards bb = board.getBitboards();
+        int capturedSquare = (from & ~7) | (epSquare & 7);
+        Piece captured = board.getPiece(capturedSquare);
+        if (captured == null || captured.getColor() == us
+                || (bb.getPieces(Bitboards.PAWN, us.opposite()) & (1L << capturedSquare)) == 0) {
+            return false;
+        }
+        // In check: the capture must remove the checker or land on the blocking square
+        if ((checkMask & ((1L << capturedSquare) | (1L << epSquare))) == 0) {
+            return false;
+        }
+        Color them = us.opposite();
+        long occupied = (bb.getOccupied() ^ (1L << from) ^ (1L << capturedSquare)) | (1L << epSquare);
+        long queens = bb.getPieces(Bitboards.QUEEN, them);
+        long rooks = bb.getPieces(Bitboards.ROOK, them) | queens;
+        long bishops = bb.getPieces(Bitboards.BISHOP, them) | queens;
+        return (Attacks.rookAttacks(kingSquare, occupied) & rooks) == 0
+                && (Attacks.bishopAttacks(kingSquare, occupied) & bishops) == 0;
+    }
+
+    /**
+     * Generates castling moves when the king and rook are unmoved on their original squares.
+     * Returns true if any castling move was added.
+     */
+    private static boolean generateCastling(Board board, Color us, int kingSquare, long occupied, MoveList moves) {
+        int rank = us == Color.WHITE ? 0 : 7;
+        int homeSquare = Bitboards.square(4, rank);
+        if (kingSquare != homeSquare) {
+            return false;
+        }
+        Piece king = board.getPiece(kingSquare);
+        if (king == null || king.hasMoved()) {
+            return false;
+        }
+
+        Color them = us.opposite();
+        long rooks = board.getBitboards().getPieces(Bitboards.ROOK, us);
+        boolean added = false;
+
+        // King side: f and g empty, e/f/g not attacked
+        int kingRook = Bitboards.square(7, rank);
+        if ((rooks & (1L << kingRook)) != 0 && !board.getPiece(kingRook).hasMoved()
+                && (occupied & Attacks.between(kingSquare, kingRook)) == 0
+                && !Attacks.isSquareAttacked(board, kingSquare + 1, them)
+                && !Attacks.isSquareAttacked(board, kingSquare + 2, them)) {
+            moves.add(PackedMove.of(kingSquare, kingSquare + 2, PackedMove.KING_CASTLE));
+            added = true;
+        }
+
+        // Queen side: b, c and d empty, e/d/c not attacked
+        int queenRook = Bitboards.square(0, rank);
+        if ((rooks & (1L << queenRook)) != 0 && !board.getPiece(queenRook).hasMoved()
+                && (occupied & Attacks.between(kingSquare, queenRook)) == 0
+                && !Attacks.isSquareAttacked(board, kingSquare - 1, them)
+                && !Attacks.isSquareAttacked(board, kingSquare - 2, them)) {
+            moves.add(PackedMove.of(kingSquare, kingSquare - 2, PackedMove.QUEEN_CASTLE));
+            added = true;
+        }
+        return added;
+    }
+}
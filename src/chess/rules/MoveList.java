@@ -0,0 +1,90 @@
+package chess.rules;
+
+/**
+ * Reusable fixed-capacity buffer of packed moves (see chess.core.PackedMove).
+ * Callers keep one instance per search ply so move generation allocates nothing.
+ */
+public final class MoveList {
+    // No legal chess position has more than 218 moves
+    public static final int CAPACITY = 256;
+
+    private final int[] moves;
+    private int size;
+
+    /**
+     * Creates an empty move list.
+     */
+    public MoveList() {
+        this.moves = new int[CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Appends a packed move.
+     *
+     * @param move the packed move
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * Gets the packed move at an index.
+     *
+     * @param index the index (0 to size - 1)
+     * @return the packed move
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces the packed move at an index (used for in-place move ordering).
+     *
+     * @param index the index (0 to size - 1)
+     * @param move the packed move
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * Gets the number of moves in the list.
+     *
+     * @return the move count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list has no moves.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all moves without releasing the buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Checks whether the list contains a packed move.
+     *
+     * @param move the packed move
+     * @return true if present
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -32,12 +32,12 @@ public class MoveValidator {
         boolean isLegalDestination = piece.getLegalDestinations(board).contains(move.getTo());
         boolean isEnPassant = false;
         
-        if (!isLegalDestination && piece instanceof chess.pieces.Pawn && move.isCapture()) {
+        if (!isLegalDestination && piece.getType() == PieceType.PAWN && move.isCapture()) {
             // Check if this could be en passant
             if (move.getFrom().getFile() != move.getTo().getFile() && 
                 move.getFrom().getRank() != move.getTo().getRank() &&
                 board.isEmpty(move.getTo()) &&
-                move.getCapturedPiece() instanceof chess.pieces.Pawn) {
+                move.getCapturedPiece() != null && move.getCapturedPiece().getType() == PieceType.PAWN) {
                 // This looks like en passant
                 isEnPassant = true;
                 isLegalDestination = true;
@@ -54,37 +54,24 @@ public class MoveValidator {
 
     /**
      * Checks if a move would leave the player's own king in check.
-     * Simulates the move on a board copy and checks if the player's king remains safe.
-     * Handles special cases like en passant captures.
+     * Plays the move on the board with makeMove, tests king safety and takes it back
+     * with unmakeMove, so no board copy is needed. Handles en passant and castling
+     * the same way the move would actually be applied.
      * 
-     * @param board the current board state
+     * @param board the current board state (left unchanged on return)
      * @param move the move to simulate
      * @param playerColor the color of the player making the move
      * @return true if the move would leave own king in check, false if it's safe
      */
     private static boolean wouldLeaveKingInCheck(Board board, Move move, Color playerColor) {
-        Board boardCopy = board.copy();
-        
-        // Apply the move on the copy
-        boardCopy.movePiece(move.getFrom(), move.getTo());
-        
-        // Handle en passant: remove the captured pawn if it's not at the destination
-        if (move.isCapture() && move.getCapturedPiece() instanceof chess.pieces.Pawn) {
-            // Check if this is en passant (pawn moved diagonally but destination is empty in original board)
-            if (move.getFrom().getFile() != move.getTo().getFile() && 
-                move.getFrom().getRank() != move.getTo().getRank()) {
-                // This is a diagonal pawn move - check if captured piece is on a different square
-                Position capturedPos = new Position(move.getTo().getFile(), move.getFrom().getRank());
-                if (boardCopy.getPiece(capturedPos) == move.getCapturedPiece()) {
-                    // This is en passant - remove the pawn at its actual position
-                    boardCopy.removePiece(capturedPos);
-                }
-            }
+        UndoInfo undo = new UndoInfo();
+        board.makeMove(move, undo);
+        try {
+            Position kingPos = board.getKingPosition(playerColor);
+            return kingPos != null && isPositionAttacked(board, kingPos, playerColor.opposite());
+        } finally {
+            board.unmakeMove(undo);
         }
-        
-        // Check if the player's king is in check
-        CheckDetector detector = new CheckDetector();
-        return detector.isKingInCheck(boardCopy, playerColor);
     }
 
     /**
@@ -116,30 +103,17 @@ public class MoveValidator {
             return false;
         }
 
-        int fileDir = Integer.compare(to.getFile(), from.getFile());
-        int rankDir = Integer.compare(to.getRank(), from.getRank());
-
-        int file = from.getFile() + fileDir;
-        int rank = from.getRank() + rankDir;
-
-        while (file != to.getFile() || rank != to.getRank()) {
-            if (file < 0 || file > 7 || rank < 0 || rank > 7) {
-                return false;
-            }
-            Position pos = new Position(file, rank);
-            if (!board.isEmpty(pos)) {
-                return false;
-            }
-            file += fileDir;
-            rank += rankDir;
+        // Squares that share no rank, file or diagonal have no path between them
+        if (Attacks.line(from.index(), to.index()) == 0) {
+            return from.equals(to);
         }
-
-        return true;
+        return (Attacks.between(from.index(), to.index()) & board.getBitboards().getOccupied()) == 0;
     }
 
     /**
      * Checks if a position is attacked by any opponent piece.
-     * Iterates through all opponent pieces and checks if any can legally attack the position.
+     * Looks up attacks from the target square outwards with precomputed tables
+     * (see Attacks), so the cost does not depend on how many pieces are on the board.
      * Used to determine check and validate castling legality.
      * 
      * @param board the current board state
@@ -148,76 +122,9 @@ public class MoveValidator {
      * @return true if the position is attacked by at least one opponent piece, false otherwise
      */
     public static boolean isPositionAttacked(Board board, Position pos, Color opponentColor) {
-        if (board == null || pos == null || opponentColor == null) {
+        if (board == null || pos == null || opponentColor == null || !pos.isValid()) {
             return false;
         }
-
-        // Check all opponent pieces to see if they can attack this position
-        for (int file = 0; file < 8; file++) {
-            for (int rank = 0; rank < 8; rank++) {
-                Position piecePos = new Position(file, rank);
-                Piece piece = board.getPiece(piecePos);
-
-                if (piece != null && piece.getColor() == opponentColor) {
-                    if (isSquareAttackedByPiece(board, piecePos, pos, piece)) {
-                        return true;
-                    }
-                }
-            }
-        }
-
-        return false;
+        return Attacks.isSquareAttacked(board, pos.index(), opponentColor);
     }
-
-    /**
-     * Determines whether a particular piece attacks a target square without
-     * invoking piece.getLegalDestinations (avoids recursion with King).
-     * 
-     * @param board the current board state
-     * @param from the position of the attacking piece
-     * @param target the target position to check
-     * @param piece the piece to check
-     * @return true if the piece attacks the target square, false otherwise
-     */
-    private static boolean isSquareAttackedByPiece(Board board, Position from, Position target, Piece piece) {
-        String className = piece.getClass().getSimpleName();
-
-        switch (className) {
-            case "Pawn": {
-                int dir = piece.getColor() == chess.core.Color.WHITE ? 1 : -1;
-                int df = target.getFile() - from.getFile();
-                int dr = target.getRank() - from.getRank();
-                return dr == dir && Math.abs(df) == 1;
-            }
-            case "Knight": {
-                int df = Math.abs(target.getFile() - from.getFile());
-                int dr = Math.abs(target.getRank() - from.getRank());
-                return (df == 1 && dr == 2) || (df == 2 && dr == 1);
-            }
-            case "Bishop": {
-                int df = target.getFile() - from.getFile();
-                int dr = target.getRank() - from.getRank();
-                if (Math.abs(df) != Math.abs(dr) || df == 0) return false;
-                return isPathClear(board, from, target);
-            }
-            case "Rook": {
-                int df = target.getFile() - from.getFile();
-                int dr = target.getRank() - from.getRank();
-                if (df != 0 && dr != 0) return false;
-                return isPathClear(board, from, target);
-            }
-            case "Queen": {
-                int df = target.getFile() - from.getFile();
-                int dr = target.getRank() - from.getRank();
-                if (df != 0 && dr != 0 && Math.abs(df) != Math.abs(dr)) return false;
-                return isPathClear(board, from, target);
-            }
-            case "King": {
-                int df = Math.abs(target.getFile() - from.getFile());
-                int dr = Math.abs(target.getRank() - from.getRank());
-                return df <= 1 && dr <= 1 && (df + dr > 0);
-            }
-            default:
-                return false;
-        }
-    }}
+}
@@ -0,0 +1,265 @@
+package chess.rules;
+
+import chess.core.*;
+import chess.engine.FenUtil;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance test (perft): counts the leaf nodes of the legal move tree to a fixed depth.
+ * Node counts are compared against published reference values to verify move generation,
+ * and the timing gives a move-generation throughput figure in nodes per second.
+ *
+ * Two generators can be measured: the bitboard MoveGenerator used by the engine, and the
+ * per-piece path used by the game rules (Piece.getLegalDestinations + MoveValidator.isValidMove).
+ *
+ * Headless usage: java chess.rules.Perft "&lt;fen&gt;" &lt;depth&gt; [divide] [legacy]
+ */
+public final class Perft {
+
+    private Perft() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Counts leaf nodes to the given depth using the bitboard MoveGenerator.
+     * The board is restored to its original state on return.
+     *
+     * @param board the position to search
+     * @param side the color to move
+     * @param depth the depth in plies (0 returns 1)
+     * @return the number of leaf nodes
+     */
+    public static long perft(Board board, Color side, int depth) {
+        if (depth <= 0) {
+            return 1;
+        }
+        MoveList[] lists = new MoveList[depth + 1];
+        UndoInfo[] undos = new UndoInfo[depth + 1];
+        for (int i = 0; i <= depth; i++) {
+            lists[i] = new MoveList();
+            undos[i] = new UndoInfo();
+        }
+        return perft(board, side, depth, lists, undos);
+    }
+
+    private static long perft(Board board, Color side, int depth, MoveList[] lists, UndoInfo[] undos) {
+        MoveList moves = lists[depth];
+        int count = MoveGenerator.generateLegalMoves(board, side, moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        UndoInfo undo = undos[depth];
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves.get(i), undo);
+            nodes += perft(board, side.opposite(), depth - 1, lists, undos);
+            board.unmakeMove(undo);
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts leaf nodes below each root move (the "divide" breakdown used to locate
+     * move-generation bugs by comparing against a reference engine).
+     *
+     * @param board the position to search
+     * @param side the color to move
+     * @param depth the depth in plies (at least 1)
+     * @return root moves in UCI notation mapped to their leaf counts, in generation order
+     */
+    public static Map<String, Long> divide(Board board, Color side, int depth) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        MoveList moves = new MoveList();
+        UndoInfo undo = new UndoInfo();
+        int count = MoveGenerator.generateLegalMoves(board, side, moves);
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            board.makeMove(move, undo);
+            result.put(PackedMove.toUci(move), perft(board, side.opposite(), depth - 1));
+            board.unmakeMove(undo);
+        }
+        return result;
+    }
+
+    /**
+     * Counts leaf nodes using the per-piece rules path: Piece.getLegalDestinations for
+     * candidates and MoveValidator.isValidMove for legality, as the game does for user moves.
+     * En passant and promotions are added the same way the game applies them.
+     *
+     * @param board the position to search
+     * @param side the color to move
+     * @param depth the depth in plies (0 returns 1)
+     * @return the number of leaf nodes
+     */
+    public static long perftLegacy(Board board, Color side, int depth) {
+        if (depth <= 0) {
+            return 1;
+        }
+        List<Move> moves = legacyLegalMoves(board, side);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (Move move : moves) {
+            UndoInfo undo = board.makeMove(move);
+            nodes += perftLegacy(board, side.opposite(), depth - 1);
+            board.unmakeMove(undo);
+        }
+        return nodes;
+    }
+
+    /**
+     * Lists legal moves through Piece.getLegalDestinations and MoveValidator.isValidMove.
+     */
+    private static List<Move> legacyLegalMoves(Board board, Color side) {
+        List<Move> moves = new ArrayList<>();
+        Position enPassant = board.getEnPassantSquare();
+        for (int square = 0; square < 64; square++) {
+            Piece piece = board.getPiece(square);
+            if (piece == null || piece.getColor() != side) {
+                continue;
+            }
+            Position from = piece.getPosition();
+            List<Position> destinations = new ArrayList<>(piece.getLegalDestinations(board));
+            if (piece.getType() == PieceType.PAWN && enPassant != null
+                    && Math.abs(enPassant.getFile() - from.getFile()) == 1
+                    && enPassant.getRank() - from.getRank() == (side == Color.WHITE ? 1 : -1)) {
+                destinations.add(enPassant);
+            }
+            for (Position to : destinations) {
+                Piece captured = board.getPiece(to);
+                if (captured == null && piece.getType() == PieceType.PAWN && to.getFile() != from.getFile()) {
+                    captured = board.getPiece(Position.of(to.getFile(), from.getRank()));
+                }
+                if (PromotionHandler.shouldPromote(piece, to)) {
+                    for (char choice : new char[] {'Q', 'R', 'B', 'N'}) {
+                        addIfValid(board, side, moves, new Move.Builder(from, to, piece)
+                                .capturedPiece(captured)
+                                .promotion(PromotionHandler.parsePromotionChoice(choice))
+                                .build());
+                    }
+                } else {
+                    addIfValid(board, side, moves, new Move.Builder(from, to, piece)
+                            .capturedPiece(captured)
+                            .build());
+                }
+            }
+        }
+        return moves;
+    }
+
+    private static void addIfValid(Board board, Color side, List<Move> moves, Move move) {
+        if (MoveValidator.isValidMove(board, move, side)) {
+            moves.add(move);
+        }
+    }
+
+    /**
+     * Runs a timed perft and reports the node count and throughput.
+     *
+     * @param board the position to search
+     * @param side the color to move
+     * @param depth the depth in plies
+     * @param legacy true to measure the per-piece rules path instead of MoveGenerator
+     * @return the node count and timing
+     */
+    public static Result run(Board board, Color side, int depth, boolean legacy) {
+        long start = System.nanoTime();
+        long nodes = legacy ? perftLegacy(board, side, depth) : perft(board, side, depth);
+        return new Result(nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Node count and elapsed time of a perft run.
+     */
+    public static final class Result {
+        private final long nodes;
+        private final long elapsedNanos;
+
+        /**
+         * Creates a Result.
+         *
+         * @param nodes the number of leaf nodes counted
+         * @param elapsedNanos the wall-clock time taken in nanoseconds
+         */
+        public Result(long nodes, long elapsedNanos) {
+            this.nodes = nodes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the number of leaf nodes counted.
+         *
+         * @return the node count
+         */
+        public long getNodes() {return nodes;}
+
+        /**
+         * Gets the elapsed time in nanoseconds.
+         *
+         * @return the elapsed nanoseconds
+         */
+        public long getElapsedNanos() {return elapsedNanos;}
+
+        /**
+         * Gets the elapsed time in milliseconds.
+         *
+         * @return the elapsed milliseconds
+         */
+        public long getElapsedMillis() {return elapsedNanos / 1_000_000;}
+
+        /**
+         * Gets the throughput in leaf nodes per second.
+         *
+         * @return nodes per second (0 if the run was too short to measure)
+         */
+        public long getNodesPerSecond() {
+            return elapsedNanos > 0 ? (long) (nodes * 1_000_000_000.0 / elapsedNanos) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d nodes in %,d ms (%,d nodes/s)", nodes, getElapsedMillis(), getNodesPerSecond());
+        }
+    }
+
+    /**
+     * Headless entry point.
+     * Usage: java chess.rules.Perft "&lt;fen&gt;" &lt;depth&gt; [divide] [legacy]
+     *
+     * @param args the FEN, depth and optional flags
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java chess.rules.Perft \"<fen>\" <depth> [divide] [legacy]");
+            System.exit(2);
+        }
+        boolean divide = false;
+        boolean legacy = false;
+        for (int i = 2; i < args.length; i++) {
+            divide |= args[i].equalsIgnoreCase("divide");
+            legacy |= args[i].equalsIgnoreCase("legacy");
+        }
+
+        Board board = new Board();
+        Color side = FenUtil.loadFEN(board, args[0]);
+        int depth = Integer.parseInt(args[1]);
+
+        if (divide) {
+            long start = System.nanoTime();
+            long total = 0;
+            for (Map.Entry<String, Long> e : divide(board, side, depth).entrySet()) {
+                System.out.println(e.getKey() + ": " + e.getValue());
+                total += e.getValue();
+            }
+            System.out.println();
+            System.out.println(new Result(total, System.nanoTime() - start));
+        } else {
+            System.out.println("perft(" + depth + ") = " + run(board, side, depth, legacy));
+        }
+    }
+}
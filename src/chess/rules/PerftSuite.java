@@ -0,0 +1,74 @@
+package chess.rules;
+
+import chess.core.*;
+import chess.engine.FenUtil;
+
+/**
+ * Regression suite of standard perft positions with published node counts.
+ * Run after any change to move generation or make/unmake; a mismatch means a rules bug.
+ *
+ * Usage: java chess.rules.PerftSuite [legacy]
+ * Exits with status 1 if any position fails.
+ */
+public final class PerftSuite {
+
+    // FEN, depth, expected nodes (reference values from the Chess Programming Wiki perft results)
+    private static final Object[][] POSITIONS = {
+        {"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", 5, 4_865_609L},
+        {"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 4, 4_085_603L},
+        {"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 5, 674_624L},
+        {"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 4, 422_333L},
+        {"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 4, 2_103_487L},
+        {"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 4, 3_894_594L},
+    };
+
+    private PerftSuite() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Runs every reference position and prints node counts and throughput.
+     *
+     * @param legacy true to measure the per-piece rules path instead of MoveGenerator
+     * @return true if every position matched its expected node count
+     */
+    public static boolean runAll(boolean legacy) {
+        boolean allPassed = true;
+        long totalNodes = 0;
+        long totalNanos = 0;
+
+        for (Object[] entry : POSITIONS) {
+            String fen = (String) entry[0];
+            int depth = (Integer) entry[1];
+            long expected = (Long) entry[2];
+
+            Board board = new Board();
+            Color side = FenUtil.loadFEN(board, fen);
+            Perft.Result result = Perft.run(board, side, depth, legacy);
+            boolean passed = result.getNodes() == expected;
+            allPassed &= passed;
+            totalNodes += result.getNodes();
+            totalNanos += result.getElapsedNanos();
+
+            System.out.printf("%s  depth %d  %,13d (expected %,13d)  %,6d ms  %,12d nodes/s  %s%n",
+                    passed ? "OK  " : "FAIL", depth, result.getNodes(), expected,
+                    result.getElapsedMillis(), result.getNodesPerSecond(), fen);
+        }
+
+        System.out.println("Total: " + new Perft.Result(totalNodes, totalNanos));
+        return allPassed;
+    }
+
+    /**
+     * Headless entry point.
+     *
+     * @param args optionally "legacy" to measure the per-piece rules path
+     */
+    public static void main(String[] args) {
+        boolean legacy = args.length > 0 && args[0].equalsIgnoreCase("legacy");
+        System.out.println("Perft suite (" + (legacy ? "piece rules" : "move generator") + ")");
+        if (!runAll(legacy)) {
+            System.exit(1);
+        }
+    }
+}
@@ -23,7 +23,7 @@ public class PromotionHandler {
         }
 
         // Check if it's a pawn
-        if (!(piece instanceof Pawn)) {
+        if (piece.getType() != PieceType.PAWN) {
             return false;
         }
 
@@ -38,16 +38,16 @@ public class PromotionHandler {
      * 
      * @param board the board
      * @param pawnPos the pawn's position
-     * @param promotionType the class of the piece to promote to (Queen, Rook, Bishop, Knight)
+     * @param promotionType the type to promote to (QUEEN, ROOK, BISHOP or KNIGHT)
      * @throws IllegalArgumentException if promotion type is invalid
      */
-    public static void promotePawn(Board board, Position pawnPos, Class<?> promotionType) {
+    public static void promotePawn(Board board, Position pawnPos, PieceType promotionType) {
         if (board == null || pawnPos == null || promotionType == null) {
             throw new IllegalArgumentException("Board, position, and promotion type must not be null");
         }
 
         Piece pawn = board.getPiece(pawnPos);
-        if (!(pawn instanceof Pawn)) {
+        if (pawn == null || pawn.getType() != PieceType.PAWN) {
             throw new IllegalArgumentException("No pawn at position " + pawnPos);
         }
 
@@ -66,80 +66,59 @@ public class PromotionHandler {
     /**
      * Creates a promotion piece of the specified type.
      * 
-     * @param type the class type (Queen, Rook, Bishop, Knight)
+     * @param type the type (QUEEN, ROOK, BISHOP or KNIGHT)
      * @param color the color of the piece
      * @param position the position of the piece
      * @return the created piece, or null if type is invalid
      */
-    public static Piece createPromotionPiece(Class<?> type, Color color, Position position) {
+    public static Piece createPromotionPiece(PieceType type, Color color, Position position) {
         if (type == null || color == null || position == null) {
             return null;
         }
 
-        if (type == Queen.class) {
-            return new Queen(color, position);
-        } else if (type == Rook.class) {
-            return new Rook(color, position);
-        } else if (type == Bishop.class) {
-            return new Bishop(color, position);
-        } else if (type == Knight.class) {
-            return new Knight(color, position);
+        switch (type) {
+            case QUEEN:
+                return new Queen(color, position);
+            case ROOK:
+                return new Rook(color, position);
+            case BISHOP:
+                return new Bishop(color, position);
+            case KNIGHT:
+                return new Knight(color, position);
+            default:
+                return null;
         }
-
-        return null;
     }
 
     /**
-     * Converts a character promotion choice to a piece class.
+     * Converts a character promotion choice to a piece type.
      * Valid choices: Q (Queen), R (Rook), B (Bishop), N (Knight)
      * 
      * @param choice the character choice (case-insensitive)
-     * @return the piece class, or null if invalid
+     * @return the piece type, or null if invalid
      */
-    public static Class<?> parsePromotionChoice(char choice) {
-        choice = Character.toUpperCase(choice);
-
-        switch (choice) {
-            case 'Q':
-                return Queen.class;
-            case 'R':
-                return Rook.class;
-            case 'B':
-                return Bishop.class;
-            case 'N':
-                return Knight.class;
-            default:
-                return null;
-        }
+    public static PieceType parsePromotionChoice(char choice) {
+        PieceType type = PieceType.fromLetter(choice);
+        return type != null && type.isPromotionTarget() ? type : null;
     }
 
     /**
-     * Converts a piece class to a character representation.
+     * Converts a piece type to a character representation.
      * 
-     * @param type the piece class
+     * @param type the piece type
      * @return the character (Q, R, B, N), or '?' if invalid
      */
-    public static char promotionTypeToChar(Class<?> type) {
-        if (type == Queen.class) {
-            return 'Q';
-        } else if (type == Rook.class) {
-            return 'R';
-        } else if (type == Bishop.class) {
-            return 'B';
-        } else if (type == Knight.class) {
-            return 'N';
-        }
-        return '?';
+    public static char promotionTypeToChar(PieceType type) {
+        return isValidPromotionType(type) ? type.getLetter() : '?';
     }
 
     /**
      * Checks if a promotion type is valid.
      * 
-     * @param type the piece class to check
+     * @param type the piece type to check
      * @return true if it's a valid promotion type
      */
-    public static boolean isValidPromotionType(Class<?> type) {
-        return type == Queen.class || type == Rook.class ||
-               type == Bishop.class || type == Knight.class;
+    public static boolean isValidPromotionType(PieceType type) {
+        return type != null && type.isPromotionTarget();
     }
 }
@@ -5,44 +5,39 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Manages undo functionality by storing snapshots of the entire game state.
+ * Manages undo functionality with checkpoints of the game state.
+ * A checkpoint only records how many moves had been played and the game state at
+ * that moment; the board is restored by taking moves back one at a time from the
+ * changes each move recorded when it was made (see Game#undoLastMove), which
+ * costs constant time and memory per ply however long the game is.
  * Supports undoing moves consistently.
  */
 public class UndoManager {
 
+    /**
+     * Represents the game state at a specific point in time.
+     */
+    private static final class Checkpoint {
+        private final int moveCount;
+        private final GameState gameState;
+
+        Checkpoint(Game game) {
+            this.moveCount = game.getMoveCount();
+            this.gameState = game.getGameState();
+        }
+
         /**
-         * Represents a snapshot of the game state at a specific point in time.
+         * Takes back the moves played since this checkpoint and restores its game state.
          */
-        private static class GameSnapshot {
-            private final Board boardState;
-            private final GameState gameState;
-            private final List<Move> moveHistory;
-
-            public GameSnapshot(Game game) {
-                this.boardState = game.getBoard().copy();
-                this.gameState = game.getGameState();
-                this.moveHistory = new ArrayList<>(game.getMoveHistory());
+        void restoreToGame(Game game) {
+            while (game.getMoveCount() > moveCount) {
+                game.undoLastMove();
             }
+            game.setGameState(gameState);
+        }
+    }
 
-            public void restoreToGame(Game game) {
-                // Clear and restore board
-                game.getBoard().clear();
-                for (int file = 0; file < 8; file++) {
-                    for (int rank = 0; rank < 8; rank++) {
-                        Position pos = new Position(file, rank);
-                        Piece piece = boardState.getPiece(pos);
-                        if (piece != null) {
-                            game.getBoard().placePiece(piece.copy(pos), pos);
-                        }
-                    }
-                }
-
-                // Restore game state
-                game.setGameState(gameState);
-                game.getMoveHistory().clear();
-                game.getMoveHistory().addAll(moveHistory);
-            }
-        }    private final List<GameSnapshot> snapshots;
+    private final List<Checkpoint> snapshots;
     private final int maxSnapshots;
 
     /**
@@ -72,7 +67,7 @@ public class UndoManager {
             throw new IllegalArgumentException("Game must not be null");
         }
 
-        snapshots.add(new GameSnapshot(game));
+        snapshots.add(new Checkpoint(game));
 
         // Remove old snapshots if limit is exceeded
         if (maxSnapshots > 0 && snapshots.size() > maxSnapshots) {
@@ -95,7 +90,7 @@ public class UndoManager {
             return false;
         }
 
-        GameSnapshot snapshot = snapshots.remove(snapshots.size() - 1);
+        Checkpoint snapshot = snapshots.remove(snapshots.size() - 1);
         snapshot.restoreToGame(game);
         return true;
     }
@@ -117,18 +112,12 @@ public class UndoManager {
             return false;
         }
 
-        // Remove the most recent snapshot (opponent's last move)
-        snapshots.remove(snapshots.size() - 1);
-        
-        // Remove the next snapshot (player's last move)
+        // Drop the snapshot taken before the opponent's last move
         snapshots.remove(snapshots.size() - 1);
-        
-        // Restore to the last remaining snapshot (state before player's move)
-        if (!snapshots.isEmpty()) {
-            GameSnapshot snapshot = snapshots.get(snapshots.size() - 1);
-            snapshot.restoreToGame(game);
-        }
-        
+
+        // Restore the one taken before the player's last move
+        Checkpoint snapshot = snapshots.remove(snapshots.size() - 1);
+        snapshot.restoreToGame(game);
         return true;
     }
 
@@ -164,4 +153,3 @@ public class UndoManager {
         clear();
     }
 }
-
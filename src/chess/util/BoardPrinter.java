@@ -26,7 +26,7 @@ public class BoardPrinter {
         for (int rank = 7; rank >= 0; rank--) {
             System.out.print((rank + 1) + " │");
             for (int file = 0; file < 8; file++) {
-                Position pos = new Position(file, rank);
+                Position pos = Position.of(file, rank);
                 Piece piece = board.getPiece(pos);
                 
                 char symbol = piece != null ? piece.getSymbol() : '·';
@@ -56,7 +56,7 @@ public class BoardPrinter {
         for (int rank = 7; rank >= 0; rank--) {
             System.out.print((rank + 1) + " ");
             for (int file = 0; file < 8; file++) {
-                Position pos = new Position(file, rank);
+                Position pos = Position.of(file, rank);
                 Piece piece = board.getPiece(pos);
                 
                 char symbol = piece != null ? piece.getSymbol() : '.';
@@ -86,7 +86,7 @@ public class BoardPrinter {
         for (int rank = 7; rank >= 0; rank--) {
             sb.append((rank + 1)).append(" │");
             for (int file = 0; file < 8; file++) {
-                Position pos = new Position(file, rank);
+                Position pos = Position.of(file, rank);
                 Piece piece = board.getPiece(pos);
                 
                 char symbol = piece != null ? piece.getSymbol() : '·';
@@ -121,7 +121,7 @@ public class BoardPrinter {
         for (int rank = 7; rank >= 0; rank--) {
             System.out.print((rank + 1) + " │");
             for (int file = 0; file < 8; file++) {
-                Position pos = new Position(file, rank);
+                Position pos = Position.of(file, rank);
                 Piece piece = board.getPiece(pos);
                 
                 char symbol = piece != null ? piece.getSymbol() : '·';